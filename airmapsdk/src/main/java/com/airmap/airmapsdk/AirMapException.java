@@ -21,6 +21,15 @@ public class AirMapException extends Exception {
         errorMessage = message;
     }
 
+    /**
+     * @param message The message
+     * @param cause   Why there was no response, e.g. the network's IOException
+     */
+    public AirMapException(String message, Throwable cause) {
+        errorMessage = message;
+        initCause(cause);
+    }
+
     public AirMapException(int code, String message) {
         errorCode = code;
         errorMessage = message;
@@ -5,7 +5,6 @@ import android.os.Handler;
 import android.support.v4.util.Pair;
 import android.text.TextUtils;
 
-import com.airmap.airmapsdk.AirMapException;
 import com.airmap.airmapsdk.AirMapLog;
 import com.airmap.airmapsdk.models.Coordinate;
 import com.airmap.airmapsdk.models.rules.AirMapJurisdiction;
@@ -13,10 +12,10 @@ import com.airmap.airmapsdk.models.rules.AirMapRuleset;
 import com.airmap.airmapsdk.models.shapes.AirMapPolygon;
 import com.airmap.airmapsdk.models.status.AirMapAdvisory;
 import com.airmap.airmapsdk.models.status.AirMapAirspaceStatus;
-import com.airmap.airmapsdk.networking.callbacks.AirMapCallback;
-import com.airmap.airmapsdk.networking.services.AirMap;
+import com.airmap.airmapsdk.networking.services.RxAirMap;
 import com.airmap.airmapsdk.ui.views.AirMapMapView;
 import com.airmap.airmapsdk.util.RetryWithDelay;
+import com.airmap.airmapsdk.util.SpatialIndex;
 import com.airmap.airmapsdk.util.ThrottleablePublishSubject;
 import com.google.gson.JsonObject;
 import com.mapbox.mapboxsdk.geometry.LatLngBounds;
@@ -33,23 +32,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-import okhttp3.Call;
 import rx.Observable;
 import rx.Subscriber;
 import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
-import rx.functions.Action0;
 import rx.functions.Action1;
 import rx.functions.Func1;
 import rx.functions.Func2;
 import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
-import rx.subscriptions.Subscriptions;
 
 public class MapDataController {
 
     private static final String TAG = "MapDataController";
 
+    private static final double ADVISORY_INDEX_CELL_METERS = 1000;
+
     protected ThrottleablePublishSubject<AirMapPolygon> jurisdictionsPublishSubject;
     protected PublishSubject<AirMapMapView.Configuration> configurationPublishSubject;
     private Subscription rulesetsSubscription;
@@ -60,6 +58,8 @@ public class MapDataController {
     private List<AirMapRuleset> selectedRulesets;
     private List<AirMapRuleset> availableRulesets;
     private AirMapAirspaceStatus airspaceStatus;
+    private Map<String, AirMapAdvisory> advisoriesById = new HashMap<>();
+    private SpatialIndex<AirMapAdvisory> advisoryIndex = new SpatialIndex<>(ADVISORY_INDEX_CELL_METERS);
 
     private Callback callback;
 
@@ -212,6 +212,7 @@ public class MapDataController {
                     @Override
                     public void call(AirMapAirspaceStatus advisoryStatus) {
                         airspaceStatus = advisoryStatus;
+                        indexAdvisories(advisoryStatus);
                         callback.onAdvisoryStatusUpdated(advisoryStatus);
                     }
                 }, new Action1<Throwable>() {
@@ -322,49 +323,67 @@ public class MapDataController {
     }
 
     private Observable<AirMapAirspaceStatus> getAdvisories(final List<AirMapRuleset> rulesets, final AirMapPolygon polygon) {
-        return Observable.create(new Observable.OnSubscribe<AirMapAirspaceStatus>() {
-            @Override
-            public void call(final Subscriber<? super AirMapAirspaceStatus> subscriber) {
-                Date start = new Date();
-                Date end = new Date(start.getTime() + (4 * 60 * 60 * 1000));
+        Date start = new Date();
+        Date end = new Date(start.getTime() + (4 * 60 * 60 * 1000));
 
-                List<String> rulesetIds = new ArrayList<>();
-                for (AirMapRuleset ruleset : rulesets) {
-                    rulesetIds.add(ruleset.getId());
-                }
+        List<String> rulesetIds = new ArrayList<>();
+        for (AirMapRuleset ruleset : rulesets) {
+            rulesetIds.add(ruleset.getId());
+        }
 
-                final Call statusCall = AirMap.getAirspaceStatus(polygon, rulesetIds, start, end, new AirMapCallback<AirMapAirspaceStatus>() {
-                    @Override
-                    public void onSuccess(final AirMapAirspaceStatus response) {
-                        subscriber.onNext(response);
-                        subscriber.onCompleted();
-                    }
-
-                    @Override
-                    public void onError(AirMapException e) {
-                        if (rulesets == null || rulesets.isEmpty()) {
-                            subscriber.onNext(null);
-                            subscriber.onCompleted();
-                        } else {
-                            subscriber.onError(e);
-                        }
-                    }
-                });
-
-                subscriber.add(Subscriptions.create(new Action0() {
-                    @Override
-                    public void call() {
-                        statusCall.cancel();
-                    }
-                }));
-            }
-        });
+        return RxAirMap.getAirspaceStatus(polygon, rulesetIds, start, end)
+                .retryWhen(RxAirMap.retry());
     }
 
     public List<AirMapAdvisory> getCurrentAdvisories() {
         return airspaceStatus == null || airspaceStatus.getAdvisories() == null ? null : new ArrayList<>(airspaceStatus.getAdvisories());
     }
 
+    /**
+     * @param id The advisory's id, also the airspace id of its map feature
+     * @return the current advisory with the id, or null if there is none
+     */
+    public AirMapAdvisory getAdvisory(String id) {
+        return advisoriesById.get(id);
+    }
+
+    /**
+     * @param coordinate The center of the query
+     * @param meters     The radius of the query
+     * @return the current advisories whose coordinate is within the radius, nearest first
+     */
+    public List<AirMapAdvisory> getAdvisoriesWithin(Coordinate coordinate, double meters) {
+        return advisoryIndex.within(coordinate, meters);
+    }
+
+    /**
+     * @param coordinate The center of the query
+     * @param count      The most advisories to return
+     * @return the current advisories whose coordinate is nearest, nearest first
+     */
+    public List<AirMapAdvisory> getNearestAdvisories(Coordinate coordinate, int count) {
+        return advisoryIndex.nearest(coordinate, count);
+    }
+
+    /**
+     * Indexes the advisories by id for matching map features and by coordinate for proximity
+     * queries. Builds new indexes so lookups never see a half built one
+     */
+    private void indexAdvisories(AirMapAirspaceStatus status) {
+        Map<String, AirMapAdvisory> byId = new HashMap<>();
+        SpatialIndex<AirMapAdvisory> index = new SpatialIndex<>(ADVISORY_INDEX_CELL_METERS);
+        if (status != null && status.getAdvisories() != null) {
+            for (AirMapAdvisory advisory : status.getAdvisories()) {
+                byId.put(advisory.getId(), advisory);
+                if (advisory.getCoordinate() != null) {
+                    index.put(advisory, advisory.getCoordinate());
+                }
+            }
+        }
+        advisoriesById = byId;
+        advisoryIndex = index;
+    }
+
     public AirMapAirspaceStatus getAirspaceStatus() {
         return airspaceStatus;
     }
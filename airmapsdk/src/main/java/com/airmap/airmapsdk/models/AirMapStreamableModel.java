@@ -0,0 +1,20 @@
+package com.airmap.airmapsdk.models;
+
+import android.util.JsonReader;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+
+/**
+ * A model that can be read straight from a JSON stream, without building the whole response as a
+ * JSONObject first. Used for models with large responses
+ */
+public interface AirMapStreamableModel extends AirMapBaseModel {
+
+    /**
+     * @param reader A reader inside the model's JSON object, positioned before its first member.
+     *               All members are consumed, the caller ends the object
+     */
+    AirMapBaseModel constructFromJson(JsonReader reader) throws IOException, JSONException;
+}
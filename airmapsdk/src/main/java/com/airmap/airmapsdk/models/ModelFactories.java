@@ -0,0 +1,417 @@
+package com.airmap.airmapsdk.models;
+
+import com.airmap.airmapsdk.models.aircraft.AirMapAircraft;
+import com.airmap.airmapsdk.models.aircraft.AirMapAircraftManufacturer;
+import com.airmap.airmapsdk.models.aircraft.AirMapAircraftModel;
+import com.airmap.airmapsdk.models.airspace.AirMapAirspace;
+import com.airmap.airmapsdk.models.comm.AirMapComm;
+import com.airmap.airmapsdk.models.flight.AirMapFlight;
+import com.airmap.airmapsdk.models.flight.AirMapFlightBriefing;
+import com.airmap.airmapsdk.models.flight.AirMapFlightFeature;
+import com.airmap.airmapsdk.models.flight.AirMapFlightPlan;
+import com.airmap.airmapsdk.models.flight.AirMapFlightStatus;
+import com.airmap.airmapsdk.models.pilot.AirMapPilot;
+import com.airmap.airmapsdk.models.pilot.AirMapPilotMetaData;
+import com.airmap.airmapsdk.models.pilot.AirMapPilotStats;
+import com.airmap.airmapsdk.models.pilot.AirMapPilotStatsAircraft;
+import com.airmap.airmapsdk.models.pilot.AirMapPilotStatsFlight;
+import com.airmap.airmapsdk.models.pilot.AirMapPilotVerificationStatus;
+import com.airmap.airmapsdk.models.rules.AirMapAuthority;
+import com.airmap.airmapsdk.models.rules.AirMapAuthorization;
+import com.airmap.airmapsdk.models.rules.AirMapJurisdiction;
+import com.airmap.airmapsdk.models.rules.AirMapRule;
+import com.airmap.airmapsdk.models.rules.AirMapRuleset;
+import com.airmap.airmapsdk.models.rules.AirMapValidation;
+import com.airmap.airmapsdk.models.status.AirMapAdvisory;
+import com.airmap.airmapsdk.models.status.AirMapAirspaceStatus;
+import com.airmap.airmapsdk.models.status.AirMapStatus;
+import com.airmap.airmapsdk.models.status.AirMapStatusAdvisory;
+import com.airmap.airmapsdk.models.status.AirMapStatusRequirement;
+import com.airmap.airmapsdk.models.status.AirMapStatusRequirementNotice;
+import com.airmap.airmapsdk.models.status.properties.AirMapAirportProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapAirportRunway;
+import com.airmap.airmapsdk.models.status.properties.AirMapControlledAirspaceProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapEmergencyProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapHeliportProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapNotamProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapOptionalProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapParkProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapPowerPlantProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapSchoolProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapSpecialUseProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapTfrProperties;
+import com.airmap.airmapsdk.models.status.properties.AirMapWildfireProperties;
+import com.airmap.airmapsdk.models.traffic.AirMapTraffic;
+import com.airmap.airmapsdk.models.traffic.AirMapTrafficProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the factories used to create models from API responses, so models are created with
+ * direct constructor calls instead of reflection. Every model in this package is registered, other
+ * models can be added with {@link #register(Class, ModelFactory)}.
+ */
+@SuppressWarnings("unused")
+public class ModelFactories {
+
+    private static final Map<Class<?>, ModelFactory<?>> factories = new ConcurrentHashMap<>();
+
+    static {
+        register(AirMapToken.class, new ModelFactory<AirMapToken>() {
+            @Override
+            public AirMapToken create() {
+                return new AirMapToken();
+            }
+        });
+
+        register(AirMapWeather.class, new ModelFactory<AirMapWeather>() {
+            @Override
+            public AirMapWeather create() {
+                return new AirMapWeather();
+            }
+        });
+
+        register(AirMapWeatherUpdate.class, new ModelFactory<AirMapWeatherUpdate>() {
+            @Override
+            public AirMapWeatherUpdate create() {
+                return new AirMapWeatherUpdate();
+            }
+        });
+
+        register(AirMapAircraft.class, new ModelFactory<AirMapAircraft>() {
+            @Override
+            public AirMapAircraft create() {
+                return new AirMapAircraft();
+            }
+        });
+
+        register(AirMapAircraftManufacturer.class, new ModelFactory<AirMapAircraftManufacturer>() {
+            @Override
+            public AirMapAircraftManufacturer create() {
+                return new AirMapAircraftManufacturer();
+            }
+        });
+
+        register(AirMapAircraftModel.class, new ModelFactory<AirMapAircraftModel>() {
+            @Override
+            public AirMapAircraftModel create() {
+                return new AirMapAircraftModel();
+            }
+        });
+
+        register(AirMapAirspace.class, new ModelFactory<AirMapAirspace>() {
+            @Override
+            public AirMapAirspace create() {
+                return new AirMapAirspace();
+            }
+        });
+
+        register(AirMapComm.class, new ModelFactory<AirMapComm>() {
+            @Override
+            public AirMapComm create() {
+                return new AirMapComm();
+            }
+        });
+
+        register(AirMapFlight.class, new ModelFactory<AirMapFlight>() {
+            @Override
+            public AirMapFlight create() {
+                return new AirMapFlight();
+            }
+        });
+
+        register(AirMapFlightBriefing.class, new ModelFactory<AirMapFlightBriefing>() {
+            @Override
+            public AirMapFlightBriefing create() {
+                return new AirMapFlightBriefing();
+            }
+        });
+
+        register(AirMapFlightFeature.class, new ModelFactory<AirMapFlightFeature>() {
+            @Override
+            public AirMapFlightFeature create() {
+                return new AirMapFlightFeature();
+            }
+        });
+
+        register(AirMapFlightPlan.class, new ModelFactory<AirMapFlightPlan>() {
+            @Override
+            public AirMapFlightPlan create() {
+                return new AirMapFlightPlan();
+            }
+        });
+
+        register(AirMapFlightStatus.class, new ModelFactory<AirMapFlightStatus>() {
+            @Override
+            public AirMapFlightStatus create() {
+                return new AirMapFlightStatus();
+            }
+        });
+
+        register(AirMapPilot.class, new ModelFactory<AirMapPilot>() {
+            @Override
+            public AirMapPilot create() {
+                return new AirMapPilot();
+            }
+        });
+
+        register(AirMapPilotMetaData.class, new ModelFactory<AirMapPilotMetaData>() {
+            @Override
+            public AirMapPilotMetaData create() {
+                return new AirMapPilotMetaData();
+            }
+        });
+
+        register(AirMapPilotStats.class, new ModelFactory<AirMapPilotStats>() {
+            @Override
+            public AirMapPilotStats create() {
+                return new AirMapPilotStats();
+            }
+        });
+
+        register(AirMapPilotStatsAircraft.class, new ModelFactory<AirMapPilotStatsAircraft>() {
+            @Override
+            public AirMapPilotStatsAircraft create() {
+                return new AirMapPilotStatsAircraft();
+            }
+        });
+
+        register(AirMapPilotStatsFlight.class, new ModelFactory<AirMapPilotStatsFlight>() {
+            @Override
+            public AirMapPilotStatsFlight create() {
+                return new AirMapPilotStatsFlight();
+            }
+        });
+
+        register(AirMapPilotVerificationStatus.class, new ModelFactory<AirMapPilotVerificationStatus>() {
+            @Override
+            public AirMapPilotVerificationStatus create() {
+                return new AirMapPilotVerificationStatus();
+            }
+        });
+
+        register(AirMapAuthority.class, new ModelFactory<AirMapAuthority>() {
+            @Override
+            public AirMapAuthority create() {
+                return new AirMapAuthority();
+            }
+        });
+
+        register(AirMapAuthorization.class, new ModelFactory<AirMapAuthorization>() {
+            @Override
+            public AirMapAuthorization create() {
+                return new AirMapAuthorization();
+            }
+        });
+
+        register(AirMapJurisdiction.class, new ModelFactory<AirMapJurisdiction>() {
+            @Override
+            public AirMapJurisdiction create() {
+                return new AirMapJurisdiction();
+            }
+        });
+
+        register(AirMapRule.class, new ModelFactory<AirMapRule>() {
+            @Override
+            public AirMapRule create() {
+                return new AirMapRule();
+            }
+        });
+
+        register(AirMapRuleset.class, new ModelFactory<AirMapRuleset>() {
+            @Override
+            public AirMapRuleset create() {
+                return new AirMapRuleset();
+            }
+        });
+
+        register(AirMapValidation.class, new ModelFactory<AirMapValidation>() {
+            @Override
+            public AirMapValidation create() {
+                return new AirMapValidation();
+            }
+        });
+
+        register(AirMapAdvisory.class, new ModelFactory<AirMapAdvisory>() {
+            @Override
+            public AirMapAdvisory create() {
+                return new AirMapAdvisory();
+            }
+        });
+
+        register(AirMapAirspaceStatus.class, new ModelFactory<AirMapAirspaceStatus>() {
+            @Override
+            public AirMapAirspaceStatus create() {
+                return new AirMapAirspaceStatus();
+            }
+        });
+
+        register(AirMapStatus.class, new ModelFactory<AirMapStatus>() {
+            @Override
+            public AirMapStatus create() {
+                return new AirMapStatus();
+            }
+        });
+
+        register(AirMapStatusAdvisory.class, new ModelFactory<AirMapStatusAdvisory>() {
+            @Override
+            public AirMapStatusAdvisory create() {
+                return new AirMapStatusAdvisory();
+            }
+        });
+
+        register(AirMapStatusRequirement.class, new ModelFactory<AirMapStatusRequirement>() {
+            @Override
+            public AirMapStatusRequirement create() {
+                return new AirMapStatusRequirement();
+            }
+        });
+
+        register(AirMapStatusRequirementNotice.class, new ModelFactory<AirMapStatusRequirementNotice>() {
+            @Override
+            public AirMapStatusRequirementNotice create() {
+                return new AirMapStatusRequirementNotice();
+            }
+        });
+
+        register(AirMapAirportProperties.class, new ModelFactory<AirMapAirportProperties>() {
+            @Override
+            public AirMapAirportProperties create() {
+                return new AirMapAirportProperties();
+            }
+        });
+
+        register(AirMapAirportRunway.class, new ModelFactory<AirMapAirportRunway>() {
+            @Override
+            public AirMapAirportRunway create() {
+                return new AirMapAirportRunway();
+            }
+        });
+
+        register(AirMapControlledAirspaceProperties.class, new ModelFactory<AirMapControlledAirspaceProperties>() {
+            @Override
+            public AirMapControlledAirspaceProperties create() {
+                return new AirMapControlledAirspaceProperties();
+            }
+        });
+
+        register(AirMapEmergencyProperties.class, new ModelFactory<AirMapEmergencyProperties>() {
+            @Override
+            public AirMapEmergencyProperties create() {
+                return new AirMapEmergencyProperties();
+            }
+        });
+
+        register(AirMapHeliportProperties.class, new ModelFactory<AirMapHeliportProperties>() {
+            @Override
+            public AirMapHeliportProperties create() {
+                return new AirMapHeliportProperties();
+            }
+        });
+
+        register(AirMapNotamProperties.class, new ModelFactory<AirMapNotamProperties>() {
+            @Override
+            public AirMapNotamProperties create() {
+                return new AirMapNotamProperties();
+            }
+        });
+
+        register(AirMapOptionalProperties.class, new ModelFactory<AirMapOptionalProperties>() {
+            @Override
+            public AirMapOptionalProperties create() {
+                return new AirMapOptionalProperties();
+            }
+        });
+
+        register(AirMapParkProperties.class, new ModelFactory<AirMapParkProperties>() {
+            @Override
+            public AirMapParkProperties create() {
+                return new AirMapParkProperties();
+            }
+        });
+
+        register(AirMapPowerPlantProperties.class, new ModelFactory<AirMapPowerPlantProperties>() {
+            @Override
+            public AirMapPowerPlantProperties create() {
+                return new AirMapPowerPlantProperties();
+            }
+        });
+
+        register(AirMapSchoolProperties.class, new ModelFactory<AirMapSchoolProperties>() {
+            @Override
+            public AirMapSchoolProperties create() {
+                return new AirMapSchoolProperties();
+            }
+        });
+
+        register(AirMapSpecialUseProperties.class, new ModelFactory<AirMapSpecialUseProperties>() {
+            @Override
+            public AirMapSpecialUseProperties create() {
+                return new AirMapSpecialUseProperties();
+            }
+        });
+
+        register(AirMapTfrProperties.class, new ModelFactory<AirMapTfrProperties>() {
+            @Override
+            public AirMapTfrProperties create() {
+                return new AirMapTfrProperties();
+            }
+        });
+
+        register(AirMapWildfireProperties.class, new ModelFactory<AirMapWildfireProperties>() {
+            @Override
+            public AirMapWildfireProperties create() {
+                return new AirMapWildfireProperties();
+            }
+        });
+
+        register(AirMapTraffic.class, new ModelFactory<AirMapTraffic>() {
+            @Override
+            public AirMapTraffic create() {
+                return new AirMapTraffic();
+            }
+        });
+
+        register(AirMapTrafficProperties.class, new ModelFactory<AirMapTrafficProperties>() {
+            @Override
+            public AirMapTrafficProperties create() {
+                return new AirMapTrafficProperties();
+            }
+        });
+    }
+
+    private ModelFactories() {
+    }
+
+    /**
+     * @param modelClass The model's class
+     * @param factory    Creates empty instances of the model
+     */
+    public static <T extends AirMapBaseModel> void register(Class<T> modelClass, ModelFactory<T> factory) {
+        factories.put(modelClass, factory);
+    }
+
+    /**
+     * @param modelClass The model's class
+     * @return the model's factory
+     * @throws IllegalArgumentException if no factory is registered for the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends AirMapBaseModel> ModelFactory<T> get(Class<T> modelClass) {
+        ModelFactory<T> factory = (ModelFactory<T>) factories.get(modelClass);
+        if (factory == null) {
+            throw new IllegalArgumentException("No model factory registered for " + modelClass.getName());
+        }
+        return factory;
+    }
+
+    /**
+     * @param modelClass The model's class
+     * @return a new, empty instance of the model
+     * @throws IllegalArgumentException if no factory is registered for the class
+     */
+    public static <T extends AirMapBaseModel> T create(Class<T> modelClass) {
+        return get(modelClass).create();
+    }
+}
@@ -0,0 +1,9 @@
+package com.airmap.airmapsdk.models;
+
+/**
+ * Creates empty instances of a model, to be filled in with
+ * {@link AirMapBaseModel#constructFromJson(org.json.JSONObject)}
+ */
+public interface ModelFactory<T extends AirMapBaseModel> {
+    T create();
+}
@@ -2856,6 +2856,2227 @@ public final class Telemetry {
 
   }
 
+  public interface CompactPositionsOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:airmap.telemetry.CompactPositions)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * UNIX time in Milliseconds of the first position
+     * </pre>
+     *
+     * <code>optional uint64 timestamp = 1;</code>
+     */
+    long getTimestamp();
+
+    /**
+     * <pre>
+     * The first latitude, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>optional sint32 latitude = 2;</code>
+     */
+    int getLatitude();
+
+    /**
+     * <pre>
+     * The first longitude, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>optional sint32 longitude = 3;</code>
+     */
+    int getLongitude();
+
+    /**
+     * <pre>
+     * The first altitude above ground level, centimeters
+     * </pre>
+     *
+     * <code>optional sint32 altitude_agl = 4;</code>
+     */
+    int getAltitudeAgl();
+
+    /**
+     * <pre>
+     * The first altitude above mean sea level, centimeters
+     * </pre>
+     *
+     * <code>optional sint32 altitude_msl = 5;</code>
+     */
+    int getAltitudeMsl();
+
+    /**
+     * <pre>
+     * The first horizontal dilution of precision, in centimeters
+     * </pre>
+     *
+     * <code>optional sint32 horizontal_accuracy = 6;</code>
+     */
+    int getHorizontalAccuracy();
+
+    /**
+     * <pre>
+     * Milliseconds since the previous position, one per later position
+     * </pre>
+     *
+     * <code>repeated sint64 timestamp_delta = 7;</code>
+     */
+    java.util.List<java.lang.Long> getTimestampDeltaList();
+    /**
+     * <pre>
+     * Milliseconds since the previous position, one per later position
+     * </pre>
+     *
+     * <code>repeated sint64 timestamp_delta = 7;</code>
+     */
+    int getTimestampDeltaCount();
+    /**
+     * <pre>
+     * Milliseconds since the previous position, one per later position
+     * </pre>
+     *
+     * <code>repeated sint64 timestamp_delta = 7;</code>
+     */
+    long getTimestampDelta(int index);
+
+    /**
+     * <pre>
+     * Change in latitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 latitude_delta = 8;</code>
+     */
+    java.util.List<java.lang.Integer> getLatitudeDeltaList();
+    /**
+     * <pre>
+     * Change in latitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 latitude_delta = 8;</code>
+     */
+    int getLatitudeDeltaCount();
+    /**
+     * <pre>
+     * Change in latitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 latitude_delta = 8;</code>
+     */
+    int getLatitudeDelta(int index);
+
+    /**
+     * <pre>
+     * Change in longitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 longitude_delta = 9;</code>
+     */
+    java.util.List<java.lang.Integer> getLongitudeDeltaList();
+    /**
+     * <pre>
+     * Change in longitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 longitude_delta = 9;</code>
+     */
+    int getLongitudeDeltaCount();
+    /**
+     * <pre>
+     * Change in longitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 longitude_delta = 9;</code>
+     */
+    int getLongitudeDelta(int index);
+
+    /**
+     * <pre>
+     * Change in altitude above ground level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_agl_delta = 10;</code>
+     */
+    java.util.List<java.lang.Integer> getAltitudeAglDeltaList();
+    /**
+     * <pre>
+     * Change in altitude above ground level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_agl_delta = 10;</code>
+     */
+    int getAltitudeAglDeltaCount();
+    /**
+     * <pre>
+     * Change in altitude above ground level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_agl_delta = 10;</code>
+     */
+    int getAltitudeAglDelta(int index);
+
+    /**
+     * <pre>
+     * Change in altitude above mean sea level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_msl_delta = 11;</code>
+     */
+    java.util.List<java.lang.Integer> getAltitudeMslDeltaList();
+    /**
+     * <pre>
+     * Change in altitude above mean sea level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_msl_delta = 11;</code>
+     */
+    int getAltitudeMslDeltaCount();
+    /**
+     * <pre>
+     * Change in altitude above mean sea level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_msl_delta = 11;</code>
+     */
+    int getAltitudeMslDelta(int index);
+
+    /**
+     * <pre>
+     * Change in horizontal dilution of precision since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+     */
+    java.util.List<java.lang.Integer> getHorizontalAccuracyDeltaList();
+    /**
+     * <pre>
+     * Change in horizontal dilution of precision since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+     */
+    int getHorizontalAccuracyDeltaCount();
+    /**
+     * <pre>
+     * Change in horizontal dilution of precision since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+     */
+    int getHorizontalAccuracyDelta(int index);
+  }
+  /**
+   * <pre>
+   * A run of positions in compact form. The first position is absolute and every other one is the
+   * difference to the position before it, so a slow moving aircraft takes a few bytes per position.
+   * Coordinates are fixed-point integers, deltas wrap around on overflow.
+   * </pre>
+   *
+   * Protobuf type {@code airmap.telemetry.CompactPositions}
+   */
+  public  static final class CompactPositions extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:airmap.telemetry.CompactPositions)
+      CompactPositionsOrBuilder {
+    // Use CompactPositions.newBuilder() to construct.
+    private CompactPositions(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private CompactPositions() {
+      timestamp_ = 0L;
+      latitude_ = 0;
+      longitude_ = 0;
+      altitudeAgl_ = 0;
+      altitudeMsl_ = 0;
+      horizontalAccuracy_ = 0;
+      timestampDelta_ = java.util.Collections.emptyList();
+      latitudeDelta_ = java.util.Collections.emptyList();
+      longitudeDelta_ = java.util.Collections.emptyList();
+      altitudeAglDelta_ = java.util.Collections.emptyList();
+      altitudeMslDelta_ = java.util.Collections.emptyList();
+      horizontalAccuracyDelta_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private CompactPositions(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+
+              timestamp_ = input.readUInt64();
+              break;
+            }
+            case 16: {
+
+              latitude_ = input.readSInt32();
+              break;
+            }
+            case 24: {
+
+              longitude_ = input.readSInt32();
+              break;
+            }
+            case 32: {
+
+              altitudeAgl_ = input.readSInt32();
+              break;
+            }
+            case 40: {
+
+              altitudeMsl_ = input.readSInt32();
+              break;
+            }
+            case 48: {
+
+              horizontalAccuracy_ = input.readSInt32();
+              break;
+            }
+            case 56: {
+              if (!((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+                timestampDelta_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000040;
+              }
+              timestampDelta_.add(input.readSInt64());
+              break;
+            }
+            case 58: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000040) == 0x00000040) && input.getBytesUntilLimit() > 0) {
+                timestampDelta_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000040;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                timestampDelta_.add(input.readSInt64());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 64: {
+              if (!((mutable_bitField0_ & 0x00000080) == 0x00000080)) {
+                latitudeDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000080;
+              }
+              latitudeDelta_.add(input.readSInt32());
+              break;
+            }
+            case 66: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000080) == 0x00000080) && input.getBytesUntilLimit() > 0) {
+                latitudeDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000080;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                latitudeDelta_.add(input.readSInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 72: {
+              if (!((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+                longitudeDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000100;
+              }
+              longitudeDelta_.add(input.readSInt32());
+              break;
+            }
+            case 74: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000100) == 0x00000100) && input.getBytesUntilLimit() > 0) {
+                longitudeDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000100;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                longitudeDelta_.add(input.readSInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 80: {
+              if (!((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
+                altitudeAglDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000200;
+              }
+              altitudeAglDelta_.add(input.readSInt32());
+              break;
+            }
+            case 82: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000200) == 0x00000200) && input.getBytesUntilLimit() > 0) {
+                altitudeAglDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000200;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                altitudeAglDelta_.add(input.readSInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 88: {
+              if (!((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+                altitudeMslDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000400;
+              }
+              altitudeMslDelta_.add(input.readSInt32());
+              break;
+            }
+            case 90: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000400) == 0x00000400) && input.getBytesUntilLimit() > 0) {
+                altitudeMslDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000400;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                altitudeMslDelta_.add(input.readSInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 96: {
+              if (!((mutable_bitField0_ & 0x00000800) == 0x00000800)) {
+                horizontalAccuracyDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000800;
+              }
+              horizontalAccuracyDelta_.add(input.readSInt32());
+              break;
+            }
+            case 98: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000800) == 0x00000800) && input.getBytesUntilLimit() > 0) {
+                horizontalAccuracyDelta_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000800;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                horizontalAccuracyDelta_.add(input.readSInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+          timestampDelta_ = java.util.Collections.unmodifiableList(timestampDelta_);
+        }
+        if (((mutable_bitField0_ & 0x00000080) == 0x00000080)) {
+          latitudeDelta_ = java.util.Collections.unmodifiableList(latitudeDelta_);
+        }
+        if (((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+          longitudeDelta_ = java.util.Collections.unmodifiableList(longitudeDelta_);
+        }
+        if (((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
+          altitudeAglDelta_ = java.util.Collections.unmodifiableList(altitudeAglDelta_);
+        }
+        if (((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+          altitudeMslDelta_ = java.util.Collections.unmodifiableList(altitudeMslDelta_);
+        }
+        if (((mutable_bitField0_ & 0x00000800) == 0x00000800)) {
+          horizontalAccuracyDelta_ = java.util.Collections.unmodifiableList(horizontalAccuracyDelta_);
+        }
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.airmap.airmapsdk.models.Telemetry.internal_static_airmap_telemetry_CompactPositions_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.airmap.airmapsdk.models.Telemetry.internal_static_airmap_telemetry_CompactPositions_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.airmap.airmapsdk.models.Telemetry.CompactPositions.class, com.airmap.airmapsdk.models.Telemetry.CompactPositions.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int TIMESTAMP_FIELD_NUMBER = 1;
+    private long timestamp_;
+    /**
+     * <pre>
+     * UNIX time in Milliseconds of the first position
+     * </pre>
+     *
+     * <code>optional uint64 timestamp = 1;</code>
+     */
+    public long getTimestamp() {
+      return timestamp_;
+    }
+
+    public static final int LATITUDE_FIELD_NUMBER = 2;
+    private int latitude_;
+    /**
+     * <pre>
+     * The first latitude, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>optional sint32 latitude = 2;</code>
+     */
+    public int getLatitude() {
+      return latitude_;
+    }
+
+    public static final int LONGITUDE_FIELD_NUMBER = 3;
+    private int longitude_;
+    /**
+     * <pre>
+     * The first longitude, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>optional sint32 longitude = 3;</code>
+     */
+    public int getLongitude() {
+      return longitude_;
+    }
+
+    public static final int ALTITUDE_AGL_FIELD_NUMBER = 4;
+    private int altitudeAgl_;
+    /**
+     * <pre>
+     * The first altitude above ground level, centimeters
+     * </pre>
+     *
+     * <code>optional sint32 altitude_agl = 4;</code>
+     */
+    public int getAltitudeAgl() {
+      return altitudeAgl_;
+    }
+
+    public static final int ALTITUDE_MSL_FIELD_NUMBER = 5;
+    private int altitudeMsl_;
+    /**
+     * <pre>
+     * The first altitude above mean sea level, centimeters
+     * </pre>
+     *
+     * <code>optional sint32 altitude_msl = 5;</code>
+     */
+    public int getAltitudeMsl() {
+      return altitudeMsl_;
+    }
+
+    public static final int HORIZONTAL_ACCURACY_FIELD_NUMBER = 6;
+    private int horizontalAccuracy_;
+    /**
+     * <pre>
+     * The first horizontal dilution of precision, in centimeters
+     * </pre>
+     *
+     * <code>optional sint32 horizontal_accuracy = 6;</code>
+     */
+    public int getHorizontalAccuracy() {
+      return horizontalAccuracy_;
+    }
+
+    public static final int TIMESTAMP_DELTA_FIELD_NUMBER = 7;
+    private java.util.List<java.lang.Long> timestampDelta_;
+    /**
+     * <pre>
+     * Milliseconds since the previous position, one per later position
+     * </pre>
+     *
+     * <code>repeated sint64 timestamp_delta = 7;</code>
+     */
+    public java.util.List<java.lang.Long>
+        getTimestampDeltaList() {
+      return timestampDelta_;
+    }
+    /**
+     * <pre>
+     * Milliseconds since the previous position, one per later position
+     * </pre>
+     *
+     * <code>repeated sint64 timestamp_delta = 7;</code>
+     */
+    public int getTimestampDeltaCount() {
+      return timestampDelta_.size();
+    }
+    /**
+     * <pre>
+     * Milliseconds since the previous position, one per later position
+     * </pre>
+     *
+     * <code>repeated sint64 timestamp_delta = 7;</code>
+     */
+    public long getTimestampDelta(int index) {
+      return timestampDelta_.get(index);
+    }
+    private int timestampDeltaMemoizedSerializedSize = -1;
+
+    public static final int LATITUDE_DELTA_FIELD_NUMBER = 8;
+    private java.util.List<java.lang.Integer> latitudeDelta_;
+    /**
+     * <pre>
+     * Change in latitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 latitude_delta = 8;</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getLatitudeDeltaList() {
+      return latitudeDelta_;
+    }
+    /**
+     * <pre>
+     * Change in latitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 latitude_delta = 8;</code>
+     */
+    public int getLatitudeDeltaCount() {
+      return latitudeDelta_.size();
+    }
+    /**
+     * <pre>
+     * Change in latitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 latitude_delta = 8;</code>
+     */
+    public int getLatitudeDelta(int index) {
+      return latitudeDelta_.get(index);
+    }
+    private int latitudeDeltaMemoizedSerializedSize = -1;
+
+    public static final int LONGITUDE_DELTA_FIELD_NUMBER = 9;
+    private java.util.List<java.lang.Integer> longitudeDelta_;
+    /**
+     * <pre>
+     * Change in longitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 longitude_delta = 9;</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getLongitudeDeltaList() {
+      return longitudeDelta_;
+    }
+    /**
+     * <pre>
+     * Change in longitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 longitude_delta = 9;</code>
+     */
+    public int getLongitudeDeltaCount() {
+      return longitudeDelta_.size();
+    }
+    /**
+     * <pre>
+     * Change in longitude since the previous position, in 1e-7 degrees
+     * </pre>
+     *
+     * <code>repeated sint32 longitude_delta = 9;</code>
+     */
+    public int getLongitudeDelta(int index) {
+      return longitudeDelta_.get(index);
+    }
+    private int longitudeDeltaMemoizedSerializedSize = -1;
+
+    public static final int ALTITUDE_AGL_DELTA_FIELD_NUMBER = 10;
+    private java.util.List<java.lang.Integer> altitudeAglDelta_;
+    /**
+     * <pre>
+     * Change in altitude above ground level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_agl_delta = 10;</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getAltitudeAglDeltaList() {
+      return altitudeAglDelta_;
+    }
+    /**
+     * <pre>
+     * Change in altitude above ground level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_agl_delta = 10;</code>
+     */
+    public int getAltitudeAglDeltaCount() {
+      return altitudeAglDelta_.size();
+    }
+    /**
+     * <pre>
+     * Change in altitude above ground level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_agl_delta = 10;</code>
+     */
+    public int getAltitudeAglDelta(int index) {
+      return altitudeAglDelta_.get(index);
+    }
+    private int altitudeAglDeltaMemoizedSerializedSize = -1;
+
+    public static final int ALTITUDE_MSL_DELTA_FIELD_NUMBER = 11;
+    private java.util.List<java.lang.Integer> altitudeMslDelta_;
+    /**
+     * <pre>
+     * Change in altitude above mean sea level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_msl_delta = 11;</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getAltitudeMslDeltaList() {
+      return altitudeMslDelta_;
+    }
+    /**
+     * <pre>
+     * Change in altitude above mean sea level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_msl_delta = 11;</code>
+     */
+    public int getAltitudeMslDeltaCount() {
+      return altitudeMslDelta_.size();
+    }
+    /**
+     * <pre>
+     * Change in altitude above mean sea level since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 altitude_msl_delta = 11;</code>
+     */
+    public int getAltitudeMslDelta(int index) {
+      return altitudeMslDelta_.get(index);
+    }
+    private int altitudeMslDeltaMemoizedSerializedSize = -1;
+
+    public static final int HORIZONTAL_ACCURACY_DELTA_FIELD_NUMBER = 12;
+    private java.util.List<java.lang.Integer> horizontalAccuracyDelta_;
+    /**
+     * <pre>
+     * Change in horizontal dilution of precision since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getHorizontalAccuracyDeltaList() {
+      return horizontalAccuracyDelta_;
+    }
+    /**
+     * <pre>
+     * Change in horizontal dilution of precision since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+     */
+    public int getHorizontalAccuracyDeltaCount() {
+      return horizontalAccuracyDelta_.size();
+    }
+    /**
+     * <pre>
+     * Change in horizontal dilution of precision since the previous position, centimeters
+     * </pre>
+     *
+     * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+     */
+    public int getHorizontalAccuracyDelta(int index) {
+      return horizontalAccuracyDelta_.get(index);
+    }
+    private int horizontalAccuracyDeltaMemoizedSerializedSize = -1;
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (timestamp_ != 0L) {
+        output.writeUInt64(1, timestamp_);
+      }
+      if (latitude_ != 0) {
+        output.writeSInt32(2, latitude_);
+      }
+      if (longitude_ != 0) {
+        output.writeSInt32(3, longitude_);
+      }
+      if (altitudeAgl_ != 0) {
+        output.writeSInt32(4, altitudeAgl_);
+      }
+      if (altitudeMsl_ != 0) {
+        output.writeSInt32(5, altitudeMsl_);
+      }
+      if (horizontalAccuracy_ != 0) {
+        output.writeSInt32(6, horizontalAccuracy_);
+      }
+      if (getTimestampDeltaList().size() > 0) {
+        output.writeUInt32NoTag(58);
+        output.writeUInt32NoTag(timestampDeltaMemoizedSerializedSize);
+      }
+      for (int i = 0; i < timestampDelta_.size(); i++) {
+        output.writeSInt64NoTag(timestampDelta_.get(i));
+      }
+      if (getLatitudeDeltaList().size() > 0) {
+        output.writeUInt32NoTag(66);
+        output.writeUInt32NoTag(latitudeDeltaMemoizedSerializedSize);
+      }
+      for (int i = 0; i < latitudeDelta_.size(); i++) {
+        output.writeSInt32NoTag(latitudeDelta_.get(i));
+      }
+      if (getLongitudeDeltaList().size() > 0) {
+        output.writeUInt32NoTag(74);
+        output.writeUInt32NoTag(longitudeDeltaMemoizedSerializedSize);
+      }
+      for (int i = 0; i < longitudeDelta_.size(); i++) {
+        output.writeSInt32NoTag(longitudeDelta_.get(i));
+      }
+      if (getAltitudeAglDeltaList().size() > 0) {
+        output.writeUInt32NoTag(82);
+        output.writeUInt32NoTag(altitudeAglDeltaMemoizedSerializedSize);
+      }
+      for (int i = 0; i < altitudeAglDelta_.size(); i++) {
+        output.writeSInt32NoTag(altitudeAglDelta_.get(i));
+      }
+      if (getAltitudeMslDeltaList().size() > 0) {
+        output.writeUInt32NoTag(90);
+        output.writeUInt32NoTag(altitudeMslDeltaMemoizedSerializedSize);
+      }
+      for (int i = 0; i < altitudeMslDelta_.size(); i++) {
+        output.writeSInt32NoTag(altitudeMslDelta_.get(i));
+      }
+      if (getHorizontalAccuracyDeltaList().size() > 0) {
+        output.writeUInt32NoTag(98);
+        output.writeUInt32NoTag(horizontalAccuracyDeltaMemoizedSerializedSize);
+      }
+      for (int i = 0; i < horizontalAccuracyDelta_.size(); i++) {
+        output.writeSInt32NoTag(horizontalAccuracyDelta_.get(i));
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (timestamp_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(1, timestamp_);
+      }
+      if (latitude_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt32Size(2, latitude_);
+      }
+      if (longitude_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt32Size(3, longitude_);
+      }
+      if (altitudeAgl_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt32Size(4, altitudeAgl_);
+      }
+      if (altitudeMsl_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt32Size(5, altitudeMsl_);
+      }
+      if (horizontalAccuracy_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt32Size(6, horizontalAccuracy_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < timestampDelta_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt64SizeNoTag(timestampDelta_.get(i));
+        }
+        size += dataSize;
+        if (!getTimestampDeltaList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        timestampDeltaMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < latitudeDelta_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt32SizeNoTag(latitudeDelta_.get(i));
+        }
+        size += dataSize;
+        if (!getLatitudeDeltaList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        latitudeDeltaMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < longitudeDelta_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt32SizeNoTag(longitudeDelta_.get(i));
+        }
+        size += dataSize;
+        if (!getLongitudeDeltaList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        longitudeDeltaMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < altitudeAglDelta_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt32SizeNoTag(altitudeAglDelta_.get(i));
+        }
+        size += dataSize;
+        if (!getAltitudeAglDeltaList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        altitudeAglDeltaMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < altitudeMslDelta_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt32SizeNoTag(altitudeMslDelta_.get(i));
+        }
+        size += dataSize;
+        if (!getAltitudeMslDeltaList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        altitudeMslDeltaMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < horizontalAccuracyDelta_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt32SizeNoTag(horizontalAccuracyDelta_.get(i));
+        }
+        size += dataSize;
+        if (!getHorizontalAccuracyDeltaList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        horizontalAccuracyDeltaMemoizedSerializedSize = dataSize;
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.airmap.airmapsdk.models.Telemetry.CompactPositions)) {
+        return super.equals(obj);
+      }
+      com.airmap.airmapsdk.models.Telemetry.CompactPositions other = (com.airmap.airmapsdk.models.Telemetry.CompactPositions) obj;
+
+      boolean result = true;
+      result = result && (getTimestamp()
+          == other.getTimestamp());
+      result = result && (getLatitude()
+          == other.getLatitude());
+      result = result && (getLongitude()
+          == other.getLongitude());
+      result = result && (getAltitudeAgl()
+          == other.getAltitudeAgl());
+      result = result && (getAltitudeMsl()
+          == other.getAltitudeMsl());
+      result = result && (getHorizontalAccuracy()
+          == other.getHorizontalAccuracy());
+      result = result && getTimestampDeltaList()
+          .equals(other.getTimestampDeltaList());
+      result = result && getLatitudeDeltaList()
+          .equals(other.getLatitudeDeltaList());
+      result = result && getLongitudeDeltaList()
+          .equals(other.getLongitudeDeltaList());
+      result = result && getAltitudeAglDeltaList()
+          .equals(other.getAltitudeAglDeltaList());
+      result = result && getAltitudeMslDeltaList()
+          .equals(other.getAltitudeMslDeltaList());
+      result = result && getHorizontalAccuracyDeltaList()
+          .equals(other.getHorizontalAccuracyDeltaList());
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      hash = (37 * hash) + TIMESTAMP_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getTimestamp());
+      hash = (37 * hash) + LATITUDE_FIELD_NUMBER;
+      hash = (53 * hash) + getLatitude();
+      hash = (37 * hash) + LONGITUDE_FIELD_NUMBER;
+      hash = (53 * hash) + getLongitude();
+      hash = (37 * hash) + ALTITUDE_AGL_FIELD_NUMBER;
+      hash = (53 * hash) + getAltitudeAgl();
+      hash = (37 * hash) + ALTITUDE_MSL_FIELD_NUMBER;
+      hash = (53 * hash) + getAltitudeMsl();
+      hash = (37 * hash) + HORIZONTAL_ACCURACY_FIELD_NUMBER;
+      hash = (53 * hash) + getHorizontalAccuracy();
+      if (getTimestampDeltaCount() > 0) {
+        hash = (37 * hash) + TIMESTAMP_DELTA_FIELD_NUMBER;
+        hash = (53 * hash) + getTimestampDeltaList().hashCode();
+      }
+      if (getLatitudeDeltaCount() > 0) {
+        hash = (37 * hash) + LATITUDE_DELTA_FIELD_NUMBER;
+        hash = (53 * hash) + getLatitudeDeltaList().hashCode();
+      }
+      if (getLongitudeDeltaCount() > 0) {
+        hash = (37 * hash) + LONGITUDE_DELTA_FIELD_NUMBER;
+        hash = (53 * hash) + getLongitudeDeltaList().hashCode();
+      }
+      if (getAltitudeAglDeltaCount() > 0) {
+        hash = (37 * hash) + ALTITUDE_AGL_DELTA_FIELD_NUMBER;
+        hash = (53 * hash) + getAltitudeAglDeltaList().hashCode();
+      }
+      if (getAltitudeMslDeltaCount() > 0) {
+        hash = (37 * hash) + ALTITUDE_MSL_DELTA_FIELD_NUMBER;
+        hash = (53 * hash) + getAltitudeMslDeltaList().hashCode();
+      }
+      if (getHorizontalAccuracyDeltaCount() > 0) {
+        hash = (37 * hash) + HORIZONTAL_ACCURACY_DELTA_FIELD_NUMBER;
+        hash = (53 * hash) + getHorizontalAccuracyDeltaList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.airmap.airmapsdk.models.Telemetry.CompactPositions prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * A run of positions in compact form. The first position is absolute and every other one is the
+     * difference to the position before it, so a slow moving aircraft takes a few bytes per position.
+     * Coordinates are fixed-point integers, deltas wrap around on overflow.
+     * </pre>
+     *
+     * Protobuf type {@code airmap.telemetry.CompactPositions}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:airmap.telemetry.CompactPositions)
+        com.airmap.airmapsdk.models.Telemetry.CompactPositionsOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.airmap.airmapsdk.models.Telemetry.internal_static_airmap_telemetry_CompactPositions_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.airmap.airmapsdk.models.Telemetry.internal_static_airmap_telemetry_CompactPositions_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.airmap.airmapsdk.models.Telemetry.CompactPositions.class, com.airmap.airmapsdk.models.Telemetry.CompactPositions.Builder.class);
+      }
+
+      // Construct using com.airmap.airmapsdk.models.Telemetry.CompactPositions.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        timestamp_ = 0L;
+
+        latitude_ = 0;
+
+        longitude_ = 0;
+
+        altitudeAgl_ = 0;
+
+        altitudeMsl_ = 0;
+
+        horizontalAccuracy_ = 0;
+
+        timestampDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        latitudeDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000080);
+        longitudeDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000100);
+        altitudeAglDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000200);
+        altitudeMslDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000400);
+        horizontalAccuracyDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000800);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.airmap.airmapsdk.models.Telemetry.internal_static_airmap_telemetry_CompactPositions_descriptor;
+      }
+
+      public com.airmap.airmapsdk.models.Telemetry.CompactPositions getDefaultInstanceForType() {
+        return com.airmap.airmapsdk.models.Telemetry.CompactPositions.getDefaultInstance();
+      }
+
+      public com.airmap.airmapsdk.models.Telemetry.CompactPositions build() {
+        com.airmap.airmapsdk.models.Telemetry.CompactPositions result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.airmap.airmapsdk.models.Telemetry.CompactPositions buildPartial() {
+        com.airmap.airmapsdk.models.Telemetry.CompactPositions result = new com.airmap.airmapsdk.models.Telemetry.CompactPositions(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        result.timestamp_ = timestamp_;
+        result.latitude_ = latitude_;
+        result.longitude_ = longitude_;
+        result.altitudeAgl_ = altitudeAgl_;
+        result.altitudeMsl_ = altitudeMsl_;
+        result.horizontalAccuracy_ = horizontalAccuracy_;
+        if (((bitField0_ & 0x00000040) == 0x00000040)) {
+          timestampDelta_ = java.util.Collections.unmodifiableList(timestampDelta_);
+          bitField0_ = (bitField0_ & ~0x00000040);
+        }
+        result.timestampDelta_ = timestampDelta_;
+        if (((bitField0_ & 0x00000080) == 0x00000080)) {
+          latitudeDelta_ = java.util.Collections.unmodifiableList(latitudeDelta_);
+          bitField0_ = (bitField0_ & ~0x00000080);
+        }
+        result.latitudeDelta_ = latitudeDelta_;
+        if (((bitField0_ & 0x00000100) == 0x00000100)) {
+          longitudeDelta_ = java.util.Collections.unmodifiableList(longitudeDelta_);
+          bitField0_ = (bitField0_ & ~0x00000100);
+        }
+        result.longitudeDelta_ = longitudeDelta_;
+        if (((bitField0_ & 0x00000200) == 0x00000200)) {
+          altitudeAglDelta_ = java.util.Collections.unmodifiableList(altitudeAglDelta_);
+          bitField0_ = (bitField0_ & ~0x00000200);
+        }
+        result.altitudeAglDelta_ = altitudeAglDelta_;
+        if (((bitField0_ & 0x00000400) == 0x00000400)) {
+          altitudeMslDelta_ = java.util.Collections.unmodifiableList(altitudeMslDelta_);
+          bitField0_ = (bitField0_ & ~0x00000400);
+        }
+        result.altitudeMslDelta_ = altitudeMslDelta_;
+        if (((bitField0_ & 0x00000800) == 0x00000800)) {
+          horizontalAccuracyDelta_ = java.util.Collections.unmodifiableList(horizontalAccuracyDelta_);
+          bitField0_ = (bitField0_ & ~0x00000800);
+        }
+        result.horizontalAccuracyDelta_ = horizontalAccuracyDelta_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.airmap.airmapsdk.models.Telemetry.CompactPositions) {
+          return mergeFrom((com.airmap.airmapsdk.models.Telemetry.CompactPositions)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.airmap.airmapsdk.models.Telemetry.CompactPositions other) {
+        if (other == com.airmap.airmapsdk.models.Telemetry.CompactPositions.getDefaultInstance()) return this;
+        if (other.getTimestamp() != 0L) {
+          setTimestamp(other.getTimestamp());
+        }
+        if (other.getLatitude() != 0) {
+          setLatitude(other.getLatitude());
+        }
+        if (other.getLongitude() != 0) {
+          setLongitude(other.getLongitude());
+        }
+        if (other.getAltitudeAgl() != 0) {
+          setAltitudeAgl(other.getAltitudeAgl());
+        }
+        if (other.getAltitudeMsl() != 0) {
+          setAltitudeMsl(other.getAltitudeMsl());
+        }
+        if (other.getHorizontalAccuracy() != 0) {
+          setHorizontalAccuracy(other.getHorizontalAccuracy());
+        }
+        if (!other.timestampDelta_.isEmpty()) {
+          if (timestampDelta_.isEmpty()) {
+            timestampDelta_ = other.timestampDelta_;
+            bitField0_ = (bitField0_ & ~0x00000040);
+          } else {
+            ensureTimestampDeltaIsMutable();
+            timestampDelta_.addAll(other.timestampDelta_);
+          }
+          onChanged();
+        }
+        if (!other.latitudeDelta_.isEmpty()) {
+          if (latitudeDelta_.isEmpty()) {
+            latitudeDelta_ = other.latitudeDelta_;
+            bitField0_ = (bitField0_ & ~0x00000080);
+          } else {
+            ensureLatitudeDeltaIsMutable();
+            latitudeDelta_.addAll(other.latitudeDelta_);
+          }
+          onChanged();
+        }
+        if (!other.longitudeDelta_.isEmpty()) {
+          if (longitudeDelta_.isEmpty()) {
+            longitudeDelta_ = other.longitudeDelta_;
+            bitField0_ = (bitField0_ & ~0x00000100);
+          } else {
+            ensureLongitudeDeltaIsMutable();
+            longitudeDelta_.addAll(other.longitudeDelta_);
+          }
+          onChanged();
+        }
+        if (!other.altitudeAglDelta_.isEmpty()) {
+          if (altitudeAglDelta_.isEmpty()) {
+            altitudeAglDelta_ = other.altitudeAglDelta_;
+            bitField0_ = (bitField0_ & ~0x00000200);
+          } else {
+            ensureAltitudeAglDeltaIsMutable();
+            altitudeAglDelta_.addAll(other.altitudeAglDelta_);
+          }
+          onChanged();
+        }
+        if (!other.altitudeMslDelta_.isEmpty()) {
+          if (altitudeMslDelta_.isEmpty()) {
+            altitudeMslDelta_ = other.altitudeMslDelta_;
+            bitField0_ = (bitField0_ & ~0x00000400);
+          } else {
+            ensureAltitudeMslDeltaIsMutable();
+            altitudeMslDelta_.addAll(other.altitudeMslDelta_);
+          }
+          onChanged();
+        }
+        if (!other.horizontalAccuracyDelta_.isEmpty()) {
+          if (horizontalAccuracyDelta_.isEmpty()) {
+            horizontalAccuracyDelta_ = other.horizontalAccuracyDelta_;
+            bitField0_ = (bitField0_ & ~0x00000800);
+          } else {
+            ensureHorizontalAccuracyDeltaIsMutable();
+            horizontalAccuracyDelta_.addAll(other.horizontalAccuracyDelta_);
+          }
+          onChanged();
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.airmap.airmapsdk.models.Telemetry.CompactPositions parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.airmap.airmapsdk.models.Telemetry.CompactPositions) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private long timestamp_ ;
+      /**
+       * <pre>
+       * UNIX time in Milliseconds of the first position
+       * </pre>
+       *
+       * <code>optional uint64 timestamp = 1;</code>
+       */
+      public long getTimestamp() {
+        return timestamp_;
+      }
+      /**
+       * <pre>
+       * UNIX time in Milliseconds of the first position
+       * </pre>
+       *
+       * <code>optional uint64 timestamp = 1;</code>
+       */
+      public Builder setTimestamp(long value) {
+        
+        timestamp_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * UNIX time in Milliseconds of the first position
+       * </pre>
+       *
+       * <code>optional uint64 timestamp = 1;</code>
+       */
+      public Builder clearTimestamp() {
+        
+        timestamp_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int latitude_ ;
+      /**
+       * <pre>
+       * The first latitude, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>optional sint32 latitude = 2;</code>
+       */
+      public int getLatitude() {
+        return latitude_;
+      }
+      /**
+       * <pre>
+       * The first latitude, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>optional sint32 latitude = 2;</code>
+       */
+      public Builder setLatitude(int value) {
+        
+        latitude_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The first latitude, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>optional sint32 latitude = 2;</code>
+       */
+      public Builder clearLatitude() {
+        
+        latitude_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int longitude_ ;
+      /**
+       * <pre>
+       * The first longitude, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>optional sint32 longitude = 3;</code>
+       */
+      public int getLongitude() {
+        return longitude_;
+      }
+      /**
+       * <pre>
+       * The first longitude, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>optional sint32 longitude = 3;</code>
+       */
+      public Builder setLongitude(int value) {
+        
+        longitude_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The first longitude, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>optional sint32 longitude = 3;</code>
+       */
+      public Builder clearLongitude() {
+        
+        longitude_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int altitudeAgl_ ;
+      /**
+       * <pre>
+       * The first altitude above ground level, centimeters
+       * </pre>
+       *
+       * <code>optional sint32 altitude_agl = 4;</code>
+       */
+      public int getAltitudeAgl() {
+        return altitudeAgl_;
+      }
+      /**
+       * <pre>
+       * The first altitude above ground level, centimeters
+       * </pre>
+       *
+       * <code>optional sint32 altitude_agl = 4;</code>
+       */
+      public Builder setAltitudeAgl(int value) {
+        
+        altitudeAgl_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The first altitude above ground level, centimeters
+       * </pre>
+       *
+       * <code>optional sint32 altitude_agl = 4;</code>
+       */
+      public Builder clearAltitudeAgl() {
+        
+        altitudeAgl_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int altitudeMsl_ ;
+      /**
+       * <pre>
+       * The first altitude above mean sea level, centimeters
+       * </pre>
+       *
+       * <code>optional sint32 altitude_msl = 5;</code>
+       */
+      public int getAltitudeMsl() {
+        return altitudeMsl_;
+      }
+      /**
+       * <pre>
+       * The first altitude above mean sea level, centimeters
+       * </pre>
+       *
+       * <code>optional sint32 altitude_msl = 5;</code>
+       */
+      public Builder setAltitudeMsl(int value) {
+        
+        altitudeMsl_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The first altitude above mean sea level, centimeters
+       * </pre>
+       *
+       * <code>optional sint32 altitude_msl = 5;</code>
+       */
+      public Builder clearAltitudeMsl() {
+        
+        altitudeMsl_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int horizontalAccuracy_ ;
+      /**
+       * <pre>
+       * The first horizontal dilution of precision, in centimeters
+       * </pre>
+       *
+       * <code>optional sint32 horizontal_accuracy = 6;</code>
+       */
+      public int getHorizontalAccuracy() {
+        return horizontalAccuracy_;
+      }
+      /**
+       * <pre>
+       * The first horizontal dilution of precision, in centimeters
+       * </pre>
+       *
+       * <code>optional sint32 horizontal_accuracy = 6;</code>
+       */
+      public Builder setHorizontalAccuracy(int value) {
+        
+        horizontalAccuracy_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The first horizontal dilution of precision, in centimeters
+       * </pre>
+       *
+       * <code>optional sint32 horizontal_accuracy = 6;</code>
+       */
+      public Builder clearHorizontalAccuracy() {
+        
+        horizontalAccuracy_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Long> timestampDelta_ = java.util.Collections.emptyList();
+      private void ensureTimestampDeltaIsMutable() {
+        if (!((bitField0_ & 0x00000040) == 0x00000040)) {
+          timestampDelta_ = new java.util.ArrayList<java.lang.Long>(timestampDelta_);
+          bitField0_ |= 0x00000040;
+         }
+      }
+      /**
+       * <pre>
+       * Milliseconds since the previous position, one per later position
+       * </pre>
+       *
+       * <code>repeated sint64 timestamp_delta = 7;</code>
+       */
+      public java.util.List<java.lang.Long>
+          getTimestampDeltaList() {
+        return java.util.Collections.unmodifiableList(timestampDelta_);
+      }
+      /**
+       * <pre>
+       * Milliseconds since the previous position, one per later position
+       * </pre>
+       *
+       * <code>repeated sint64 timestamp_delta = 7;</code>
+       */
+      public int getTimestampDeltaCount() {
+        return timestampDelta_.size();
+      }
+      /**
+       * <pre>
+       * Milliseconds since the previous position, one per later position
+       * </pre>
+       *
+       * <code>repeated sint64 timestamp_delta = 7;</code>
+       */
+      public long getTimestampDelta(int index) {
+        return timestampDelta_.get(index);
+      }
+      /**
+       * <pre>
+       * Milliseconds since the previous position, one per later position
+       * </pre>
+       *
+       * <code>repeated sint64 timestamp_delta = 7;</code>
+       */
+      public Builder setTimestampDelta(
+          int index, long value) {
+        ensureTimestampDeltaIsMutable();
+        timestampDelta_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Milliseconds since the previous position, one per later position
+       * </pre>
+       *
+       * <code>repeated sint64 timestamp_delta = 7;</code>
+       */
+      public Builder addTimestampDelta(long value) {
+        ensureTimestampDeltaIsMutable();
+        timestampDelta_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Milliseconds since the previous position, one per later position
+       * </pre>
+       *
+       * <code>repeated sint64 timestamp_delta = 7;</code>
+       */
+      public Builder addAllTimestampDelta(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureTimestampDeltaIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, timestampDelta_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Milliseconds since the previous position, one per later position
+       * </pre>
+       *
+       * <code>repeated sint64 timestamp_delta = 7;</code>
+       */
+      public Builder clearTimestampDelta() {
+        timestampDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> latitudeDelta_ = java.util.Collections.emptyList();
+      private void ensureLatitudeDeltaIsMutable() {
+        if (!((bitField0_ & 0x00000080) == 0x00000080)) {
+          latitudeDelta_ = new java.util.ArrayList<java.lang.Integer>(latitudeDelta_);
+          bitField0_ |= 0x00000080;
+         }
+      }
+      /**
+       * <pre>
+       * Change in latitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 latitude_delta = 8;</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getLatitudeDeltaList() {
+        return java.util.Collections.unmodifiableList(latitudeDelta_);
+      }
+      /**
+       * <pre>
+       * Change in latitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 latitude_delta = 8;</code>
+       */
+      public int getLatitudeDeltaCount() {
+        return latitudeDelta_.size();
+      }
+      /**
+       * <pre>
+       * Change in latitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 latitude_delta = 8;</code>
+       */
+      public int getLatitudeDelta(int index) {
+        return latitudeDelta_.get(index);
+      }
+      /**
+       * <pre>
+       * Change in latitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 latitude_delta = 8;</code>
+       */
+      public Builder setLatitudeDelta(
+          int index, int value) {
+        ensureLatitudeDeltaIsMutable();
+        latitudeDelta_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in latitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 latitude_delta = 8;</code>
+       */
+      public Builder addLatitudeDelta(int value) {
+        ensureLatitudeDeltaIsMutable();
+        latitudeDelta_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in latitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 latitude_delta = 8;</code>
+       */
+      public Builder addAllLatitudeDelta(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureLatitudeDeltaIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, latitudeDelta_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in latitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 latitude_delta = 8;</code>
+       */
+      public Builder clearLatitudeDelta() {
+        latitudeDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000080);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> longitudeDelta_ = java.util.Collections.emptyList();
+      private void ensureLongitudeDeltaIsMutable() {
+        if (!((bitField0_ & 0x00000100) == 0x00000100)) {
+          longitudeDelta_ = new java.util.ArrayList<java.lang.Integer>(longitudeDelta_);
+          bitField0_ |= 0x00000100;
+         }
+      }
+      /**
+       * <pre>
+       * Change in longitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 longitude_delta = 9;</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getLongitudeDeltaList() {
+        return java.util.Collections.unmodifiableList(longitudeDelta_);
+      }
+      /**
+       * <pre>
+       * Change in longitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 longitude_delta = 9;</code>
+       */
+      public int getLongitudeDeltaCount() {
+        return longitudeDelta_.size();
+      }
+      /**
+       * <pre>
+       * Change in longitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 longitude_delta = 9;</code>
+       */
+      public int getLongitudeDelta(int index) {
+        return longitudeDelta_.get(index);
+      }
+      /**
+       * <pre>
+       * Change in longitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 longitude_delta = 9;</code>
+       */
+      public Builder setLongitudeDelta(
+          int index, int value) {
+        ensureLongitudeDeltaIsMutable();
+        longitudeDelta_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in longitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 longitude_delta = 9;</code>
+       */
+      public Builder addLongitudeDelta(int value) {
+        ensureLongitudeDeltaIsMutable();
+        longitudeDelta_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in longitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 longitude_delta = 9;</code>
+       */
+      public Builder addAllLongitudeDelta(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureLongitudeDeltaIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, longitudeDelta_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in longitude since the previous position, in 1e-7 degrees
+       * </pre>
+       *
+       * <code>repeated sint32 longitude_delta = 9;</code>
+       */
+      public Builder clearLongitudeDelta() {
+        longitudeDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000100);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> altitudeAglDelta_ = java.util.Collections.emptyList();
+      private void ensureAltitudeAglDeltaIsMutable() {
+        if (!((bitField0_ & 0x00000200) == 0x00000200)) {
+          altitudeAglDelta_ = new java.util.ArrayList<java.lang.Integer>(altitudeAglDelta_);
+          bitField0_ |= 0x00000200;
+         }
+      }
+      /**
+       * <pre>
+       * Change in altitude above ground level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_agl_delta = 10;</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getAltitudeAglDeltaList() {
+        return java.util.Collections.unmodifiableList(altitudeAglDelta_);
+      }
+      /**
+       * <pre>
+       * Change in altitude above ground level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_agl_delta = 10;</code>
+       */
+      public int getAltitudeAglDeltaCount() {
+        return altitudeAglDelta_.size();
+      }
+      /**
+       * <pre>
+       * Change in altitude above ground level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_agl_delta = 10;</code>
+       */
+      public int getAltitudeAglDelta(int index) {
+        return altitudeAglDelta_.get(index);
+      }
+      /**
+       * <pre>
+       * Change in altitude above ground level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_agl_delta = 10;</code>
+       */
+      public Builder setAltitudeAglDelta(
+          int index, int value) {
+        ensureAltitudeAglDeltaIsMutable();
+        altitudeAglDelta_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in altitude above ground level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_agl_delta = 10;</code>
+       */
+      public Builder addAltitudeAglDelta(int value) {
+        ensureAltitudeAglDeltaIsMutable();
+        altitudeAglDelta_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in altitude above ground level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_agl_delta = 10;</code>
+       */
+      public Builder addAllAltitudeAglDelta(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureAltitudeAglDeltaIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, altitudeAglDelta_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in altitude above ground level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_agl_delta = 10;</code>
+       */
+      public Builder clearAltitudeAglDelta() {
+        altitudeAglDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000200);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> altitudeMslDelta_ = java.util.Collections.emptyList();
+      private void ensureAltitudeMslDeltaIsMutable() {
+        if (!((bitField0_ & 0x00000400) == 0x00000400)) {
+          altitudeMslDelta_ = new java.util.ArrayList<java.lang.Integer>(altitudeMslDelta_);
+          bitField0_ |= 0x00000400;
+         }
+      }
+      /**
+       * <pre>
+       * Change in altitude above mean sea level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_msl_delta = 11;</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getAltitudeMslDeltaList() {
+        return java.util.Collections.unmodifiableList(altitudeMslDelta_);
+      }
+      /**
+       * <pre>
+       * Change in altitude above mean sea level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_msl_delta = 11;</code>
+       */
+      public int getAltitudeMslDeltaCount() {
+        return altitudeMslDelta_.size();
+      }
+      /**
+       * <pre>
+       * Change in altitude above mean sea level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_msl_delta = 11;</code>
+       */
+      public int getAltitudeMslDelta(int index) {
+        return altitudeMslDelta_.get(index);
+      }
+      /**
+       * <pre>
+       * Change in altitude above mean sea level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_msl_delta = 11;</code>
+       */
+      public Builder setAltitudeMslDelta(
+          int index, int value) {
+        ensureAltitudeMslDeltaIsMutable();
+        altitudeMslDelta_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in altitude above mean sea level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_msl_delta = 11;</code>
+       */
+      public Builder addAltitudeMslDelta(int value) {
+        ensureAltitudeMslDeltaIsMutable();
+        altitudeMslDelta_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in altitude above mean sea level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_msl_delta = 11;</code>
+       */
+      public Builder addAllAltitudeMslDelta(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureAltitudeMslDeltaIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, altitudeMslDelta_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in altitude above mean sea level since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 altitude_msl_delta = 11;</code>
+       */
+      public Builder clearAltitudeMslDelta() {
+        altitudeMslDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000400);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> horizontalAccuracyDelta_ = java.util.Collections.emptyList();
+      private void ensureHorizontalAccuracyDeltaIsMutable() {
+        if (!((bitField0_ & 0x00000800) == 0x00000800)) {
+          horizontalAccuracyDelta_ = new java.util.ArrayList<java.lang.Integer>(horizontalAccuracyDelta_);
+          bitField0_ |= 0x00000800;
+         }
+      }
+      /**
+       * <pre>
+       * Change in horizontal dilution of precision since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getHorizontalAccuracyDeltaList() {
+        return java.util.Collections.unmodifiableList(horizontalAccuracyDelta_);
+      }
+      /**
+       * <pre>
+       * Change in horizontal dilution of precision since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+       */
+      public int getHorizontalAccuracyDeltaCount() {
+        return horizontalAccuracyDelta_.size();
+      }
+      /**
+       * <pre>
+       * Change in horizontal dilution of precision since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+       */
+      public int getHorizontalAccuracyDelta(int index) {
+        return horizontalAccuracyDelta_.get(index);
+      }
+      /**
+       * <pre>
+       * Change in horizontal dilution of precision since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+       */
+      public Builder setHorizontalAccuracyDelta(
+          int index, int value) {
+        ensureHorizontalAccuracyDeltaIsMutable();
+        horizontalAccuracyDelta_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in horizontal dilution of precision since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+       */
+      public Builder addHorizontalAccuracyDelta(int value) {
+        ensureHorizontalAccuracyDeltaIsMutable();
+        horizontalAccuracyDelta_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in horizontal dilution of precision since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+       */
+      public Builder addAllHorizontalAccuracyDelta(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureHorizontalAccuracyDeltaIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, horizontalAccuracyDelta_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Change in horizontal dilution of precision since the previous position, centimeters
+       * </pre>
+       *
+       * <code>repeated sint32 horizontal_accuracy_delta = 12;</code>
+       */
+      public Builder clearHorizontalAccuracyDelta() {
+        horizontalAccuracyDelta_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000800);
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:airmap.telemetry.CompactPositions)
+    }
+
+    // @@protoc_insertion_point(class_scope:airmap.telemetry.CompactPositions)
+    private static final com.airmap.airmapsdk.models.Telemetry.CompactPositions DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.airmap.airmapsdk.models.Telemetry.CompactPositions();
+    }
+
+    public static com.airmap.airmapsdk.models.Telemetry.CompactPositions getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<CompactPositions>
+        PARSER = new com.google.protobuf.AbstractParser<CompactPositions>() {
+      public CompactPositions parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new CompactPositions(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<CompactPositions> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<CompactPositions> getParserForType() {
+      return PARSER;
+    }
+
+    public com.airmap.airmapsdk.models.Telemetry.CompactPositions getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_airmap_telemetry_Position_descriptor;
   private static final 
@@ -2876,6 +5097,11 @@ public final class Telemetry {
   private static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_airmap_telemetry_Barometer_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_airmap_telemetry_CompactPositions_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_airmap_telemetry_CompactPositions_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -2894,8 +5120,16 @@ public final class Telemetry {
       "\001(\002\022\014\n\004roll\030\004 \001(\002\"V\n\005Speed\022\021\n\ttimestamp\030" +
       "\001 \001(\004\022\022\n\nvelocity_x\030\002 \001(\002\022\022\n\nvelocity_y\030" +
       "\003 \001(\002\022\022\n\nvelocity_z\030\004 \001(\002\"0\n\tBarometer\022\021" +
-      "\n\ttimestamp\030\001 \001(\004\022\020\n\010pressure\030\002 \001(\002B\035\n\033c",
-      "om.airmap.airmapsdk.modelsb\006proto3"
+      "\n\ttimestamp\030\001 \001(\004\022\020\n\010pressure\030\002 \001(\002\"\270\002\n\020",
+      "CompactPositions\022\021\n\ttimestamp\030\001 \001(\004\022\020\n\010l" +
+      "atitude\030\002 \001(\021\022\021\n\tlongitude\030\003 \001(\021\022\024\n\014alti" +
+      "tude_agl\030\004 \001(\021\022\024\n\014altitude_msl\030\005 \001(\021\022\033\n\023" +
+      "horizontal_accuracy\030\006 \001(\021\022\027\n\017timestamp_d" +
+      "elta\030\007 \003(\022\022\026\n\016latitude_delta\030\010 \003(\021\022\027\n\017lo" +
+      "ngitude_delta\030\t \003(\021\022\032\n\022altitude_agl_delt" +
+      "a\030\n \003(\021\022\032\n\022altitude_msl_delta\030\013 \003(\021\022!\n\031h" +
+      "orizontal_accuracy_delta\030\014 \003(\021B\035\n\033com.ai" +
+      "rmap.airmapsdk.modelsb\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -2933,6 +5167,12 @@ public final class Telemetry {
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_airmap_telemetry_Barometer_descriptor,
         new java.lang.String[] { "Timestamp", "Pressure", });
+    internal_static_airmap_telemetry_CompactPositions_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_airmap_telemetry_CompactPositions_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_airmap_telemetry_CompactPositions_descriptor,
+        new java.lang.String[] { "Timestamp", "Latitude", "Longitude", "AltitudeAgl", "AltitudeMsl", "HorizontalAccuracy", "TimestampDelta", "LatitudeDelta", "LongitudeDelta", "AltitudeAglDelta", "AltitudeMslDelta", "HorizontalAccuracyDelta", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -111,6 +111,9 @@ public class AirMapFlightFeature implements Serializable, AirMapBaseModel {
     private MeasurementUnit measurementUnit;
     private boolean isCalculated;
 
+    public AirMapFlightFeature() {
+    }
+
     public AirMapFlightFeature(String flightFeature) {
         setFlightFeature(flightFeature);
     }
@@ -43,6 +43,9 @@ public class AirMapAuthorization implements AirMapBaseModel, Serializable{
     private String description;
     private String message;
 
+    public AirMapAuthorization() {
+    }
+
     public AirMapAuthorization(JSONObject jsonObject) {
         constructFromJson(jsonObject);
     }
@@ -68,6 +68,9 @@ public class AirMapJurisdiction implements Serializable, AirMapBaseModel {
     private AirMapJurisdiction.RegionCategory region;
     private Set<AirMapRuleset> rulesets;
 
+    public AirMapJurisdiction() {
+    }
+
     public AirMapJurisdiction(JSONObject resultJson) {
         constructFromJson(resultJson);
     }
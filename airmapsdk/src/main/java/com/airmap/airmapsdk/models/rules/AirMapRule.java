@@ -55,6 +55,9 @@ public class AirMapRule implements Serializable, AirMapBaseModel {
     private int displayOrder;
     private List<AirMapFlightFeature> flightFeatures;
 
+    public AirMapRule() {
+    }
+
     public AirMapRule(JSONObject resultJson) {
         constructFromJson(resultJson);
     }
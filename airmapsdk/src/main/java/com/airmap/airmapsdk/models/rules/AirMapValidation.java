@@ -58,6 +58,9 @@ public class AirMapValidation implements AirMapBaseModel, Serializable {
     private Feature feature;
     private AirMapAuthority authority;
 
+    public AirMapValidation() {
+    }
+
     public AirMapValidation(JSONObject jsonObject) {
         constructFromJson(jsonObject);
     }
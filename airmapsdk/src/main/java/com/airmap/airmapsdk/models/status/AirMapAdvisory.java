@@ -391,6 +391,11 @@ public class AirMapAdvisory implements Serializable, AirMapBaseModel {
         return o instanceof AirMapAdvisory && getId().equals(((AirMapAdvisory) o).getId());
     }
 
+    @Override
+    public int hashCode() {
+        return getId() != null ? getId().hashCode() : 0;
+    }
+
     @Override
     public String toString() {
         return getName();
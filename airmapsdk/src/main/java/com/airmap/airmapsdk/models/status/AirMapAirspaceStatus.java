@@ -1,19 +1,24 @@
 package com.airmap.airmapsdk.models.status;
 
 import android.support.annotation.ColorRes;
+import android.util.JsonReader;
+import android.util.JsonToken;
 
 import com.airmap.airmapsdk.R;
-import com.airmap.airmapsdk.models.AirMapBaseModel;
+import com.airmap.airmapsdk.models.AirMapStreamableModel;
+import com.airmap.airmapsdk.util.JsonStreamUtils;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 @SuppressWarnings("unused")
-public class AirMapAirspaceStatus implements Serializable, AirMapBaseModel {
+public class AirMapAirspaceStatus implements Serializable, AirMapStreamableModel {
     public enum StatusColor {
         Red("red"), Yellow("yellow"), Green("green"), Orange("orange");
 
@@ -92,6 +97,39 @@ public class AirMapAirspaceStatus implements Serializable, AirMapBaseModel {
         return this;
     }
 
+    /**
+     * Reads the status one advisory at a time, so a large response is never held as a single
+     * JSONObject
+     */
+    @Override
+    public AirMapAirspaceStatus constructFromJson(JsonReader reader) throws IOException, JSONException {
+        List<AirMapAdvisory> advisories = new ArrayList<>();
+        String color = "";
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("advisories") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        advisories.add(new AirMapAdvisory(JsonStreamUtils.readObject(reader)));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            } else if (name.equals("color") && reader.peek() == JsonToken.STRING) {
+                color = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        setAdvisories(advisories);
+        setAdvisoryColor(StatusColor.fromString(color));
+        return this;
+    }
+
     public StatusColor getAdvisoryColor() {
         return advisoryColor;
     }
@@ -14,6 +14,12 @@ public class AirMapControlledAirspaceProperties implements Serializable, AirMapB
     private boolean laanc;
     private boolean authorization;
 
+    /**
+     * Initialize an AirMapControlledAirspaceProperties with default values
+     */
+    public AirMapControlledAirspaceProperties() {
+    }
+
     /**
      * Initialize an AirMapControlledAirspaceProperties from JSON
      *
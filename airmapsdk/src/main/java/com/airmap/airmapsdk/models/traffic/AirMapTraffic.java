@@ -44,10 +44,35 @@ public class AirMapTraffic implements Serializable, AirMapBaseModel {
         return incomingTime;
     }
 
+    public AirMapTraffic setIncomingTime(Date incomingTime) {
+        this.incomingTime = incomingTime;
+        return this;
+    }
+
     public AirMapTraffic() {
 
     }
 
+    /**
+     * Copies the traffic, the coordinates and properties are shared with the original
+     */
+    public AirMapTraffic(AirMapTraffic traffic) {
+        id = traffic.id;
+        direction = traffic.direction;
+        altitude = traffic.altitude;
+        groundSpeedKt = traffic.groundSpeedKt;
+        trueHeading = traffic.trueHeading;
+        coordinate = traffic.coordinate;
+        initialCoordinate = traffic.initialCoordinate;
+        showAlert = traffic.showAlert;
+        properties = traffic.properties;
+        trafficType = traffic.trafficType;
+        timestamp = traffic.timestamp;
+        recordedTime = traffic.recordedTime;
+        createdAt = traffic.createdAt;
+        incomingTime = traffic.incomingTime;
+    }
+
     @Override
     public AirMapTraffic constructFromJson(JSONObject json) {
         if (json != null) {
@@ -199,4 +224,9 @@ public class AirMapTraffic implements Serializable, AirMapBaseModel {
     public boolean equals(Object o) {
         return o instanceof AirMapTraffic && ((AirMapTraffic) o).getId().equals(getId());
     }
+
+    @Override
+    public int hashCode() {
+        return getId() != null ? getId().hashCode() : 0;
+    }
 }
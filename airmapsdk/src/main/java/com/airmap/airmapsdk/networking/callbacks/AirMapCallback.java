@@ -8,6 +8,11 @@ import com.airmap.airmapsdk.AirMapException;
 public abstract class AirMapCallback<T> {
 
     public final void success(final T response) {
+        if (!isPostedToMainThread()) {
+            onSuccess(response);
+            return;
+        }
+
         new Handler(Looper.getMainLooper()).post(new Runnable() {
             @Override
             public void run() {
@@ -17,6 +22,11 @@ public abstract class AirMapCallback<T> {
     }
 
     public final void error(final AirMapException e) {
+        if (!isPostedToMainThread()) {
+            onError(e);
+            return;
+        }
+
         new Handler(Looper.getMainLooper()).post(new Runnable() {
             @Override
             public void run() {
@@ -25,6 +35,14 @@ public abstract class AirMapCallback<T> {
         });
     }
 
+    /**
+     * @return whether results are delivered on the main thread, otherwise they are delivered on
+     * the thread that completed the request
+     */
+    protected boolean isPostedToMainThread() {
+        return true;
+    }
+
     /**
      * Called when the request was successful
      * @param response The object response
@@ -1,13 +1,18 @@
 package com.airmap.airmapsdk.networking.callbacks;
 
-import android.os.Handler;
-import android.os.Looper;
+import android.util.JsonReader;
+import android.util.MalformedJsonException;
 
 import com.airmap.airmapsdk.models.AirMapBaseModel;
+import com.airmap.airmapsdk.models.ModelFactories;
+import com.airmap.airmapsdk.models.ModelFactory;
+import com.airmap.airmapsdk.util.JsonStreamUtils;
 import com.airmap.airmapsdk.util.Utils;
 
+import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.EOFException;
 import java.io.IOException;
 
 import okhttp3.Call;
@@ -17,10 +22,15 @@ abstract class GenericBaseOkHttpCallback implements okhttp3.Callback {
 
     final AirMapCallback listener;
     final Class<? extends AirMapBaseModel> classToInstantiate;
+    final ModelFactory<? extends AirMapBaseModel> modelFactory;
 
+    /**
+     * @throws IllegalArgumentException if the model has no registered {@link ModelFactory}
+     */
     GenericBaseOkHttpCallback(AirMapCallback listener, Class<? extends AirMapBaseModel> classToInstantiate) {
         this.listener = listener;
         this.classToInstantiate = classToInstantiate;
+        this.modelFactory = classToInstantiate != null ? ModelFactories.get(classToInstantiate) : null;
     }
 
     @Override
@@ -31,30 +41,62 @@ abstract class GenericBaseOkHttpCallback implements okhttp3.Callback {
     @Override
     public abstract void onResponse(Call call, Response response);
 
-    protected void success(final Object response) {
-        new Handler(Looper.getMainLooper()).post(new Runnable() {
-            @Override
-            public void run() {
-                listener.onSuccess(response);
+    /**
+     * Streams the response envelope straight from the body. For a successful response the "data"
+     * member is handed to {@link #readData(JsonReader)} as soon as it is reached, every other
+     * member is read into the returned object, which is what error callbacks receive
+     *
+     * @return the envelope, or null if the body is empty or isn't valid JSON
+     */
+    JSONObject readEnvelope(Response response) throws IOException {
+        JsonReader reader = new JsonReader(response.body().charStream());
+        try {
+            JSONObject result = new JSONObject();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("data") && response.isSuccessful()) {
+                    result.put("data", readData(reader));
+                } else {
+                    result.put(name, JsonStreamUtils.readValue(reader));
+                }
             }
-        });
+            reader.endObject();
+            return result;
+        } catch (JSONException | IllegalStateException | MalformedJsonException | EOFException e) {
+            // e.g. an error status without a body, reported by its code
+            return null;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads the envelope's "data" member
+     *
+     * @param reader A reader positioned before the value
+     * @return the value to put in the envelope, either the parsed models or the raw JSON if the
+     * value isn't what was expected
+     */
+    Object readData(JsonReader reader) throws IOException, JSONException {
+        return JsonStreamUtils.readValue(reader);
+    }
+
+    AirMapBaseModel newModel() {
+        return modelFactory.create();
+    }
+
+    // the listener posts to the main thread, unless it wants results on the network thread
+    @SuppressWarnings("unchecked")
+    protected void success(final Object response) {
+        listener.success(response);
     }
 
     protected void failed(final Exception e) {
-        new Handler(Looper.getMainLooper()).post(new Runnable() {
-            @Override
-            public void run() {
-                Utils.error(listener, e);
-            }
-        });
+        Utils.error(listener, e);
     }
 
     protected void failed(final int code, final JSONObject jsonObject) {
-        new Handler(Looper.getMainLooper()).post(new Runnable() {
-            @Override
-            public void run() {
-                Utils.error(listener, code, jsonObject);
-            }
-        });
+        Utils.error(listener, code, jsonObject);
     }
 }
@@ -1,9 +1,13 @@
 package com.airmap.airmapsdk.networking.callbacks;
 
+import android.util.JsonReader;
+import android.util.JsonToken;
+
 import com.airmap.airmapsdk.models.AirMapBaseModel;
+import com.airmap.airmapsdk.models.AirMapStreamableModel;
+import com.airmap.airmapsdk.util.JsonStreamUtils;
 import com.airmap.airmapsdk.util.Utils;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -25,12 +29,13 @@ public class GenericListOkHttpCallback extends GenericBaseOkHttpCallback {
     @Override
     public void onResponse(Call call, Response response) {
         if (listener == null) {
+            response.body().close();
             return; //Don't need to do anything if no listener was provided
         }
 
-        String jsonString;
+        JSONObject result;
         try {
-            jsonString = response.body().string();
+            result = readEnvelope(response);
         } catch (IOException e) {
             failed(e);
             return;
@@ -38,37 +43,45 @@ public class GenericListOkHttpCallback extends GenericBaseOkHttpCallback {
             response.body().close();
         }
 
-        JSONObject result = null;
-        try {
-            result = new JSONObject(jsonString);
-        } catch (JSONException e) {
-            e.printStackTrace();
-        }
-
         if (!response.isSuccessful() || !Utils.statusSuccessful(result)) {
             failed(response.code(), result);
             return;
         }
 
-        JSONArray jsonArray = result.optJSONArray("data");
-        if (jsonArray == null && result.isNull("data")) {
+        Object data = result.opt("data");
+        if (data == null || data == JSONObject.NULL) {
             success(new ArrayList<>());
-        } else if (jsonArray == null) {
-            failed(response.code(), result); //There was a parsing exception most likely
+        } else if (data instanceof List) {
+            success(data);
         } else {
-            List<AirMapBaseModel> models = new ArrayList<>(jsonArray.length());
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.optJSONObject(i);
-                try {
-                    AirMapBaseModel model = classToInstantiate.newInstance().constructFromJson(jsonObject);
-                    models.add(model);
-                } catch (InstantiationException e) {
-                    e.printStackTrace();
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
+            failed(response.code(), result); //There was a parsing exception most likely
+        }
+    }
+
+    // Models are created one element at a time, so only one element is ever held as a JSONObject
+    @Override
+    Object readData(JsonReader reader) throws IOException, JSONException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            return JsonStreamUtils.readValue(reader);
+        }
+
+        List<AirMapBaseModel> models = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            AirMapBaseModel model = newModel();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                model.constructFromJson(null);
+            } else if (model instanceof AirMapStreamableModel) {
+                reader.beginObject();
+                ((AirMapStreamableModel) model).constructFromJson(reader);
+                reader.endObject();
+            } else {
+                model.constructFromJson(JsonStreamUtils.readObject(reader));
             }
-            success(models);
+            models.add(model);
         }
+        reader.endArray();
+        return models;
     }
 }
@@ -1,7 +1,12 @@
 package com.airmap.airmapsdk.networking.callbacks;
 
+import android.util.JsonReader;
+import android.util.JsonToken;
+
 import com.airmap.airmapsdk.AirMapLog;
 import com.airmap.airmapsdk.models.AirMapBaseModel;
+import com.airmap.airmapsdk.models.AirMapStreamableModel;
+import com.airmap.airmapsdk.util.JsonStreamUtils;
 import com.airmap.airmapsdk.util.Utils;
 
 import org.json.JSONException;
@@ -23,12 +28,13 @@ public class GenericOkHttpCallback extends GenericBaseOkHttpCallback {
     @Override
     public void onResponse(Call call, Response response) {
         if (listener == null) {
+            response.body().close();
             return; //Don't need to do anything if no listener was provided
         }
 
-        String jsonString;
+        JSONObject result;
         try {
-            jsonString = response.body().string();
+            result = readEnvelope(response);
         } catch (IOException e) {
             failed(e);
             return;
@@ -36,11 +42,8 @@ public class GenericOkHttpCallback extends GenericBaseOkHttpCallback {
             response.body().close();
         }
 
-        JSONObject result = null;
-        try {
-            result = new JSONObject(jsonString);
-        } catch (JSONException e) {
-            AirMapLog.e("AirMapCallback", jsonString);
+        if (result == null) {
+            AirMapLog.e(TAG, "Unable to parse response");
         }
 
         if (!response.isSuccessful() || !Utils.statusSuccessful(result)) {
@@ -48,20 +51,32 @@ public class GenericOkHttpCallback extends GenericBaseOkHttpCallback {
             return;
         }
 
-        JSONObject jsonObject = result.optJSONObject("data");
-        if (jsonObject == null && !result.isNull("data")) {
-            failed(response.code(), result);
-        } else if (jsonObject == null || result.isNull("data") || jsonObject.length() == 0) {
+        Object data = result.opt("data");
+        if (data instanceof AirMapBaseModel) {
+            success(data);
+        } else if (data == null || data == JSONObject.NULL) {
             success(null);
         } else {
-            try {
-                AirMapBaseModel model = classToInstantiate.newInstance().constructFromJson(jsonObject);
-                success(model);
-            } catch (InstantiationException e) {
-                failed(e);
-            } catch (IllegalAccessException e) {
-                failed(e);
-            }
+            failed(response.code(), result);
+        }
+    }
+
+    // An empty object is no model at all, anything that isn't an object is returned as is
+    @Override
+    Object readData(JsonReader reader) throws IOException, JSONException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return JsonStreamUtils.readValue(reader);
         }
+
+        AirMapBaseModel model = newModel();
+        if (model instanceof AirMapStreamableModel) {
+            reader.beginObject();
+            Object data = reader.hasNext() ? ((AirMapStreamableModel) model).constructFromJson(reader) : JSONObject.NULL;
+            reader.endObject();
+            return data;
+        }
+
+        JSONObject jsonObject = JsonStreamUtils.readObject(reader);
+        return jsonObject.length() == 0 ? JSONObject.NULL : model.constructFromJson(jsonObject);
     }
-}
\ No newline at end of file
+}
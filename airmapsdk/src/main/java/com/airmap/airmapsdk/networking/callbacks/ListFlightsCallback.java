@@ -56,14 +56,7 @@ public class ListFlightsCallback extends GenericListOkHttpCallback {
             List<AirMapBaseModel> models = new ArrayList<>(jsonArray.length());
             for (int i = 0; i < jsonArray.length(); i++) {
                 JSONObject jsonObject = jsonArray.optJSONObject(i);
-                try {
-                    AirMapBaseModel model = classToInstantiate.newInstance().constructFromJson(jsonObject);
-                    models.add(model);
-                } catch (InstantiationException e) {
-                    e.printStackTrace();
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
+                models.add(newModel().constructFromJson(jsonObject));
             }
             listener.onSuccess(models);
         }
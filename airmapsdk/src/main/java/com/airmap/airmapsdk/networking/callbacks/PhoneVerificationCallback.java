@@ -1,8 +1,5 @@
 package com.airmap.airmapsdk.networking.callbacks;
 
-import android.os.Handler;
-import android.os.Looper;
-
 import com.airmap.airmapsdk.util.Utils;
 
 import org.json.JSONException;
@@ -27,12 +24,7 @@ public class PhoneVerificationCallback extends GenericBaseOkHttpCallback {
         try {
             jsonString = response.body().string();
         } catch (final IOException e) {
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                    Utils.error(listener, e);
-                }
-            });
+            failed(e);
             return;
         }
         response.body().close();
@@ -43,13 +35,7 @@ public class PhoneVerificationCallback extends GenericBaseOkHttpCallback {
             e.printStackTrace();
         }
         if (!response.isSuccessful() || !Utils.statusSuccessful(result)) {
-            final JSONObject resultJSON = result;
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                    Utils.error(listener, response.code(), resultJSON);
-                }
-            });
+            failed(response.code(), result);
         } else {
             JSONObject data = null;
             try {
@@ -60,13 +46,7 @@ public class PhoneVerificationCallback extends GenericBaseOkHttpCallback {
 
             final boolean verified = data != null && data.optBoolean("verified", false);
 
-            //noinspection unchecked
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                    listener.onSuccess(verified);
-                }
-            });
+            success(verified);
         }
     }
 }
\ No newline at end of file
@@ -1,8 +1,5 @@
 package com.airmap.airmapsdk.networking.callbacks;
 
-import android.os.Handler;
-import android.os.Looper;
-
 import com.airmap.airmapsdk.util.Utils;
 
 import org.json.JSONException;
@@ -27,12 +24,7 @@ public class VoidCallback extends GenericBaseOkHttpCallback {
         try {
             jsonString = response.body().string();
         } catch (final IOException e) {
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                    Utils.error(listener, e);
-                }
-            });
+            failed(e);
             return;
         }
         response.body().close();
@@ -43,21 +35,9 @@ public class VoidCallback extends GenericBaseOkHttpCallback {
             e.printStackTrace();
         }
         if (!response.isSuccessful() || !Utils.statusSuccessful(result)) {
-            final JSONObject resultJSON = result;
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                    Utils.error(listener, response.code(), resultJSON);
-                }
-            });
+            failed(response.code(), result);
         } else {
-            //noinspection unchecked
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                    listener.onSuccess(null);
-                }
-            });
+            success(null);
         }
     }
 }
\ No newline at end of file
@@ -159,7 +159,7 @@ public final class AirMap {
         } catch (IOException | JSONException | NullPointerException e) {
             throw new RuntimeException("Please ensure you have your airmap.config.json file in your /assets directory");
         }
-        client = new AirMapClient();
+        client = new AirMapClient(context);
     }
 
     /**
@@ -358,6 +358,22 @@ public final class AirMap {
         getClient().resetClient();
     }
 
+    /**
+     * Sets how many requests run at once, connection pooling, timeouts and HTTP/2
+     *
+     * @param config The connection settings
+     */
+    public static void setClientConfig(AirMapClientConfig config) {
+        getClient().setConfig(config);
+    }
+
+    /**
+     * @return the latency and size of the SDK's network calls, per endpoint
+     */
+    public static AirMapNetworkMetrics getNetworkMetrics() {
+        return getClient().getMetrics();
+    }
+
     /**
      * Enables logging from the network requests for debugging purposes
      *
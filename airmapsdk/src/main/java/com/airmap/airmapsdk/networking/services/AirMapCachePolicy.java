@@ -0,0 +1,65 @@
+package com.airmap.airmapsdk.networking.services;
+
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+
+/**
+ * How long responses of mostly static endpoints are cached. A rule applies to every GET whose url
+ * starts with its prefix: responses are fresh for the rule's max age, then revalidated with their
+ * ETag. If the network is down or the server fails, a cached response up to max stale old is used
+ * instead.
+ */
+@SuppressWarnings("unused")
+public class AirMapCachePolicy {
+
+    public static final long DEFAULT_CACHE_SIZE = 20 * 1024 * 1024;
+
+    private final List<Rule> rules;
+
+    public AirMapCachePolicy() {
+        rules = new ArrayList<>();
+    }
+
+    /**
+     * @param urlPrefix The start of the urls the rule applies to
+     * @param maxAge    How long a response is fresh
+     * @param maxStale  How old a response may be when it's only used because the request failed
+     * @param unit      The unit of max age and max stale
+     */
+    public AirMapCachePolicy add(String urlPrefix, long maxAge, long maxStale, TimeUnit unit) {
+        rules.add(new Rule(urlPrefix, unit.toSeconds(maxAge), unit.toSeconds(maxStale)));
+        return this;
+    }
+
+    /**
+     * @param url A request url
+     * @return the first rule that applies to the url, or null if it isn't cached
+     */
+    @Nullable
+    Rule find(HttpUrl url) {
+        String urlString = url.toString();
+        for (Rule rule : rules) {
+            if (urlString.startsWith(rule.urlPrefix)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    static class Rule {
+        final String urlPrefix;
+        final long maxAgeSeconds;
+        final long maxStaleSeconds;
+
+        Rule(String urlPrefix, long maxAgeSeconds, long maxStaleSeconds) {
+            this.urlPrefix = urlPrefix;
+            this.maxAgeSeconds = maxAgeSeconds;
+            this.maxStaleSeconds = maxStaleSeconds;
+        }
+    }
+}
@@ -1,26 +1,38 @@
 package com.airmap.airmapsdk.networking.services;
 
+import android.content.Context;
 import android.os.Build;
+import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
 import com.airmap.airmapsdk.AirMapException;
-import com.airmap.airmapsdk.Auth;
+import com.airmap.airmapsdk.AirMapLog;
 import com.airmap.airmapsdk.models.AirMapBaseModel;
+import com.airmap.airmapsdk.models.ModelFactories;
+import com.airmap.airmapsdk.util.AirMapConfig;
 import com.airmap.airmapsdk.util.Utils;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
+import okhttp3.CacheControl;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.CertificatePinner;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.FormBody;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
@@ -38,13 +50,91 @@ public class AirMapClient {
 
     private static final String TAG = "AirMapClient";
 
+    private static final String CACHE_DIRECTORY = "airmap-http";
+
+    // reads sent as POST with the query in the body
+    private static final Set<String> QUERY_POST_URLS = new HashSet<>(Arrays.asList(
+            BaseService.rulesetBaseUrl, BaseService.advisoriesUrl, BaseService.evaluationUrl));
+
     private OkHttpClient client;
+    private final CoalescedCalls coalescedCalls = new CoalescedCalls();
+    private final AuthTokenRefresher tokenRefresher = new AuthTokenRefresher();
+    private final Cache cache;
+    private final AirMapCachePolicy cachePolicy;
+    private final AirMapNetworkMetrics metrics = new AirMapNetworkMetrics();
+
+    // outlive resetClient so running calls and warm connections are kept
+    private final Dispatcher dispatcher = new Dispatcher();
+    private ConnectionPool connectionPool;
+    private int poolMaxIdleConnections;
+    private long poolKeepAliveMillis;
+    private volatile AirMapClientConfig config;
 
     /**
-     * Initialize the client
+     * Initialize the client without a response cache
      */
     public AirMapClient() {
-        resetClient(); //Will initialize OkHttpClient client, add cert pinning, and interceptors
+        this(null);
+    }
+
+    /**
+     * Initialize the client with a disk cache for static endpoints
+     *
+     * @param context A context to find the cache directory, or null to not cache responses
+     */
+    public AirMapClient(@Nullable Context context) {
+        this(context, new AirMapClientConfig());
+    }
+
+    /**
+     * @param context A context to find the cache directory, or null to not cache responses
+     * @param config  The connection settings
+     */
+    public AirMapClient(@Nullable Context context, AirMapClientConfig config) {
+        cache = context != null ? new Cache(new File(context.getCacheDir(), CACHE_DIRECTORY), AirMapCachePolicy.DEFAULT_CACHE_SIZE) : null;
+        cachePolicy = cache != null ? getDefaultCachePolicy() : null;
+        setConfig(config); //Will initialize OkHttpClient client, add cert pinning, and interceptors
+    }
+
+    /**
+     * Applies new connection settings. Running calls finish with the old settings, the connection
+     * pool is only replaced if its size or keep alive changed
+     *
+     * @param config The connection settings
+     */
+    public void setConfig(AirMapClientConfig config) {
+        this.config = config;
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        if (connectionPool == null || poolMaxIdleConnections != config.getMaxIdleConnections() || poolKeepAliveMillis != config.getKeepAliveMillis()) {
+            ConnectionPool oldPool = connectionPool;
+            poolMaxIdleConnections = config.getMaxIdleConnections();
+            poolKeepAliveMillis = config.getKeepAliveMillis();
+            connectionPool = new ConnectionPool(poolMaxIdleConnections, poolKeepAliveMillis, TimeUnit.MILLISECONDS);
+            if (oldPool != null) {
+                // only closes idle connections. Ones in use go back to the old pool when released
+                // and are closed by it once they outlive its keep alive
+                oldPool.evictAll();
+            }
+        }
+
+        resetClient();
+    }
+
+    public AirMapClientConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the latency and size of the calls made, per endpoint
+     */
+    public AirMapNetworkMetrics getMetrics() {
+        return metrics;
+    }
+
+    OkHttpClient getOkHttpClient() {
+        return client;
     }
 
     /**
@@ -56,9 +146,7 @@ public class AirMapClient {
      */
     public Call get(String url, Map<String, String> params, Callback callback) {
         Request request = new Builder().url(urlBodyFromMap(url, params)).get().tag(url).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -69,9 +157,7 @@ public class AirMapClient {
      */
     public Call get(String url, Callback callback) {
         Request request = new Builder().url(url).get().tag(url).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -98,9 +184,7 @@ public class AirMapClient {
      */
     public Call post(String url, Map<String, String> params, Callback callback) {
         Request request = new Builder().url(url).post(bodyFromMap(params)).tag(url).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -134,7 +218,7 @@ public class AirMapClient {
                     T model = parseResponse(response, classToInstantiate);
 
                     return Observable.just(model);
-                } catch (IOException | IllegalAccessException | InstantiationException | JSONException | AirMapException e) {
+                } catch (IOException | JSONException | AirMapException e) {
                     return Observable.error(e);
                 }
             }
@@ -142,7 +226,7 @@ public class AirMapClient {
     }
 
     private <T extends AirMapBaseModel> T parseResponse(Response response, Class<T> classToInstantiate) throws IOException, JSONException,
-            IllegalAccessException, InstantiationException, AirMapException {
+            AirMapException {
 
         String jsonString = response.body().string();
         response.body().close();
@@ -153,7 +237,7 @@ public class AirMapClient {
         }
 
         JSONObject jsonObject = result.optJSONObject("data");
-        T model = classToInstantiate.newInstance();
+        T model = ModelFactories.create(classToInstantiate);
         model.constructFromJson(jsonObject);
         return model;
     }
@@ -169,9 +253,7 @@ public class AirMapClient {
         MediaType JSON = MediaType.parse("application/json; charset=utf-8");
         RequestBody body = RequestBody.create(JSON, params.toString());
         Request request = new Builder().url(url).post(body).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -194,9 +276,7 @@ public class AirMapClient {
         MediaType JSON = MediaType.parse("application/json; charset=utf-8");
         RequestBody body = RequestBody.create(JSON, jsonObject.toString());
         Request request = new Builder().url(url).post(body).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -210,9 +290,7 @@ public class AirMapClient {
         MediaType JSON = MediaType.parse("application/json; charset=utf-8");
         RequestBody body = RequestBody.create(JSON, params.toString());
         Request request = new Builder().url(url).patch(body).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -234,9 +312,7 @@ public class AirMapClient {
      */
     public Call patch(String url, Map<String, String> params, Callback callback) {
         Request request = new Builder().url(url).patch(bodyFromMap(params)).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -250,9 +326,7 @@ public class AirMapClient {
         MediaType JSON = MediaType.parse("application/json; charset=utf-8");
         RequestBody body = RequestBody.create(JSON, params.toString());
         Request request = new Builder().url(url).patch(body).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -264,9 +338,7 @@ public class AirMapClient {
      */
     public Call put(String url, Map<String, String> params, Callback callback) {
         Request request = new Builder().url(url).put(bodyFromMap(params)).build();
-        Call call = client.newCall(request);
-        call.enqueue(callback);
-        return call;
+        return enqueue(request, callback);
     }
 
     /**
@@ -287,35 +359,116 @@ public class AirMapClient {
      */
     public Call delete(String url, Callback callback) {
         Request request = new Builder().url(url).delete().build();
+        return enqueue(request, callback);
+    }
+
+    /**
+     * Sends the request asynchronously. Reads join an identical request that is already in flight
+     * instead of hitting the network again.
+     */
+    private Call enqueue(Request request, Callback callback) {
+        if (isCoalesced(request)) {
+            return coalescedCalls.enqueue(client, request, callback);
+        }
+
         Call call = client.newCall(request);
         call.enqueue(callback);
         return call;
     }
 
+    private static boolean isCoalesced(Request request) {
+        switch (request.method()) {
+            case "GET":
+                return true;
+            case "POST":
+                return QUERY_POST_URLS.contains(request.url().toString());
+            default:
+                return false;
+        }
+    }
+
     /**
-     * Clears Interceptor Headers and adds Authorization + x-Api-Key
+     * Rebuilds the interceptors and certificate pinning. The api key and auth token are read on
+     * every request, so a new token needs no reset. The dispatcher and connection pool are shared
+     * with the previous client, so in flight calls and warm connections survive a reset
      */
     public void resetClient() {
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        AirMapClientConfig.Timeouts timeouts = config.getTimeouts();
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .protocols(config.getProtocols())
+                .connectTimeout(timeouts.connectMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(timeouts.readMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeouts.writeMillis, TimeUnit.MILLISECONDS)
+                .eventListenerFactory(metrics.getEventListenerFactory());
         if (AirMap.isCertificatePinningEnabled()) {
             builder.certificatePinner(getCertificatePinner());
         }
 
+        if (cache != null) {
+            builder.cache(cache);
+
+            // This interceptor falls back to a stale cached response if the network or server fails
+            builder.addInterceptor(new Interceptor() {
+                @Override
+                public Response intercept(Chain chain) throws IOException {
+                    AirMapCachePolicy.Rule rule = findCacheRule(chain.request());
+                    if (rule == null) {
+                        return chain.proceed(chain.request());
+                    }
+
+                    Response response;
+                    try {
+                        response = chain.proceed(chain.request());
+                    } catch (IOException e) {
+                        Response stale = proceedWithStale(chain, rule);
+                        if (stale == null) {
+                            throw e;
+                        }
+                        return stale;
+                    }
+
+                    if (response.code() >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                        Response stale = proceedWithStale(chain, rule);
+                        if (stale != null) {
+                            response.close();
+                            return stale;
+                        }
+                    }
+                    return response;
+                }
+            });
+
+            // This network interceptor applies our cache lifetimes, the ETag is kept for revalidation
+            builder.addNetworkInterceptor(new Interceptor() {
+                @Override
+                public Response intercept(Chain chain) throws IOException {
+                    Response response = chain.proceed(chain.request());
+                    AirMapCachePolicy.Rule rule = findCacheRule(chain.request());
+                    if (rule == null || !response.isSuccessful()) {
+                        return response;
+                    }
+
+                    return response.newBuilder()
+                            .removeHeader("Pragma")
+                            .header("Cache-Control", "public, max-age=" + rule.maxAgeSeconds)
+                            .build();
+                }
+            });
+        }
+
         // This interceptor refreshes the access token if needed
         builder.addInterceptor(new Interceptor() {
             @Override
             public Response intercept(Chain chain) throws IOException {
-                // Don't intercept if refresh token not yet expired or for actual refresh token request
-                if (!Auth.isTokenExpired() || chain.request().url().toString().startsWith(BaseService.loginUrl)) {
+                // Don't intercept the actual refresh token request
+                if (chain.request().url().toString().startsWith(BaseService.loginUrl)) {
                     return chain.proceed(chain.request());
                 }
-                AirMap.refreshAccessToken();
-                Builder newRequest = chain.request().newBuilder();
-                String authToken = AirMap.getAuthToken();
-                if (!TextUtils.isEmpty(authToken)) {
-                    newRequest.header("Authorization", "Bearer " + authToken);
-                }
-                return chain.proceed(newRequest.build());
+                // Only blocks if the token expired, and then only one request refreshes it
+                tokenRefresher.getFreshToken();
+                return chain.proceed(chain.request());
             }
         });
 
@@ -350,7 +503,7 @@ public class AirMapClient {
             @Override
             public Response intercept(Chain chain) throws IOException {
                 Response response = chain.proceed(chain.request());
-                if (response.code() == HttpURLConnection.HTTP_UNAUTHORIZED && AirMap.hasValidAuthenticatedUser()) {
+                if (response.code() == HttpURLConnection.HTTP_UNAUTHORIZED && tokenRefresher.isValid(AirMap.getAuthToken())) {
                     // clear the saved refresh token then present login
                     AirMap.clearAuthToken();
 
@@ -361,8 +514,72 @@ public class AirMapClient {
                 return response;
             }
         });
-        //TODO: Check for active connections before reassigning client
-        client = builder.connectTimeout(60, TimeUnit.SECONDS).readTimeout(60, TimeUnit.SECONDS).writeTimeout(60, TimeUnit.SECONDS).build();
+        // This interceptor retries idempotent requests that failed but may succeed later
+        final AirMapRetryPolicy retryPolicy = config.getRetryPolicy();
+        builder.addInterceptor(new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                return retryPolicy.proceed(chain);
+            }
+        });
+
+        if (config.hasEndpointTimeouts()) {
+            // This interceptor applies the timeouts configured for specific endpoints
+            builder.addInterceptor(new Interceptor() {
+                @Override
+                public Response intercept(Chain chain) throws IOException {
+                    AirMapClientConfig.Timeouts timeouts = config.findTimeouts(chain.request().url());
+                    if (timeouts == null) {
+                        return chain.proceed(chain.request());
+                    }
+                    return chain.withConnectTimeout(timeouts.connectMillis, TimeUnit.MILLISECONDS)
+                            .withReadTimeout(timeouts.readMillis, TimeUnit.MILLISECONDS)
+                            .withWriteTimeout(timeouts.writeMillis, TimeUnit.MILLISECONDS)
+                            .proceed(chain.request());
+                }
+            });
+        }
+
+        client = builder.build();
+    }
+
+    private AirMapCachePolicy.Rule findCacheRule(Request request) {
+        return request.method().equals("GET") ? cachePolicy.find(request.url()) : null;
+    }
+
+    // Returns null if there is no usable cached response
+    private Response proceedWithStale(Interceptor.Chain chain, AirMapCachePolicy.Rule rule) throws IOException {
+        Request request = chain.request().newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale((int) rule.maxStaleSeconds, TimeUnit.SECONDS)
+                        .build())
+                .build();
+
+        Response response = chain.proceed(request);
+        if (response.code() == HttpURLConnection.HTTP_GATEWAY_TIMEOUT) {
+            response.close();
+            return null;
+        }
+        AirMapLog.i(TAG, "Using stale cached response for " + request.url());
+        return response;
+    }
+
+    /**
+     * Map styles, aircraft and rules rarely change, everything else isn't cached
+     */
+    private static AirMapCachePolicy getDefaultCachePolicy() {
+        AirMapCachePolicy policy = new AirMapCachePolicy()
+                .add("https://cdn.airmap.com/static/map-styles/", 1, 30, TimeUnit.DAYS)
+                .add(BaseService.aircraftManufacturersUrl, 1, 30, TimeUnit.DAYS)
+                .add(BaseService.aircraftModelsUrl, 1, 30, TimeUnit.DAYS)
+                .add(BaseService.rulesetBaseUrl, 60, 7 * 24 * 60, TimeUnit.MINUTES);
+
+        String stylesUrl = AirMapConfig.getMapStyleUrl();
+        if (!TextUtils.isEmpty(stylesUrl)) {
+            policy.add(stylesUrl, 1, 30, TimeUnit.DAYS);
+        }
+        return policy;
     }
 
     /**
@@ -0,0 +1,157 @@
+package com.airmap.airmapsdk.networking.services;
+
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+
+/**
+ * Connection settings of the {@link AirMapClient}: how many requests run at once, how many idle
+ * connections are kept warm and for how long, timeouts, retries, and whether HTTP/2 is used. Timeouts can
+ * be overridden for urls starting with a prefix, e.g. to give slow uploads more time.
+ *
+ * The defaults match OkHttp's, with 60 second timeouts.
+ */
+@SuppressWarnings("unused")
+public class AirMapClientConfig {
+
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 5;
+    private int maxIdleConnections = 5;
+    private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+    private Timeouts timeouts = new Timeouts(null, 60, 60, 60, TimeUnit.SECONDS);
+    private final List<Timeouts> endpointTimeouts = new ArrayList<>();
+    private boolean http2 = true;
+    private AirMapRetryPolicy retryPolicy = new AirMapRetryPolicy();
+
+    /**
+     * @param maxRequests The most requests executed at once
+     */
+    public AirMapClientConfig setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+        return this;
+    }
+
+    /**
+     * @param maxRequestsPerHost The most requests executed at once to a single host, HTTP/2 calls
+     *                           share one connection but still count
+     */
+    public AirMapClientConfig setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        return this;
+    }
+
+    /**
+     * @param maxIdleConnections The most idle connections kept open
+     * @param keepAlive          How long an idle connection is kept open
+     * @param unit               The unit of keep alive
+     */
+    public AirMapClientConfig setConnectionPool(int maxIdleConnections, long keepAlive, TimeUnit unit) {
+        this.maxIdleConnections = maxIdleConnections;
+        this.keepAliveMillis = unit.toMillis(keepAlive);
+        return this;
+    }
+
+    /**
+     * Sets the timeouts of every request
+     */
+    public AirMapClientConfig setTimeouts(long connect, long read, long write, TimeUnit unit) {
+        this.timeouts = new Timeouts(null, connect, read, write, unit);
+        return this;
+    }
+
+    /**
+     * Overrides the timeouts of requests whose url starts with the prefix. The first matching
+     * prefix wins
+     */
+    public AirMapClientConfig setTimeouts(String urlPrefix, long connect, long read, long write, TimeUnit unit) {
+        endpointTimeouts.add(new Timeouts(urlPrefix, connect, read, write, unit));
+        return this;
+    }
+
+    /**
+     * @param http2 Whether to use HTTP/2 with servers that support it, otherwise HTTP/1.1 only
+     */
+    public AirMapClientConfig setHttp2Enabled(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    /**
+     * @param retryPolicy How failed requests are retried
+     */
+    public AirMapClientConfig setRetryPolicy(AirMapRetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2;
+    }
+
+    public AirMapRetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    Timeouts getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return the timeouts for the url, or null if it uses the default ones
+     */
+    @Nullable
+    Timeouts findTimeouts(HttpUrl url) {
+        String urlString = url.toString();
+        for (Timeouts endpoint : endpointTimeouts) {
+            if (urlString.startsWith(endpoint.urlPrefix)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    boolean hasEndpointTimeouts() {
+        return !endpointTimeouts.isEmpty();
+    }
+
+    List<Protocol> getProtocols() {
+        return http2 ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1) : Collections.singletonList(Protocol.HTTP_1_1);
+    }
+
+    static class Timeouts {
+        final String urlPrefix;
+        final int connectMillis;
+        final int readMillis;
+        final int writeMillis;
+
+        Timeouts(String urlPrefix, long connect, long read, long write, TimeUnit unit) {
+            this.urlPrefix = urlPrefix;
+            this.connectMillis = (int) unit.toMillis(connect);
+            this.readMillis = (int) unit.toMillis(read);
+            this.writeMillis = (int) unit.toMillis(write);
+        }
+    }
+}
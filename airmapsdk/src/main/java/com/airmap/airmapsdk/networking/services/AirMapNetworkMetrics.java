@@ -0,0 +1,389 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.AirMapLog;
+import com.airmap.airmapsdk.util.Histogram;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Action1;
+import rx.functions.Func1;
+
+/**
+ * Timings and sizes of the {@link AirMapClient}'s calls, per endpoint. Recorded by an OkHttp
+ * {@link EventListener}, so they cover every attempt of a call including redirects and retries.
+ * Poll {@link #getSnapshot()}, subscribe to {@link #observe(long, TimeUnit)} or log a summary
+ * periodically with {@link #logPeriodically(long, TimeUnit)}.
+ *
+ * All timings are in milliseconds. DNS, connect and TLS are only recorded when a new connection is
+ * made, calls on a pooled connection skip them.
+ */
+@SuppressWarnings("unused")
+public class AirMapNetworkMetrics {
+
+    private static final String TAG = "AirMapNetworkMetrics";
+
+    public enum Endpoint {
+        STATUS,
+        // rulesets, advisories and evaluations
+        RULES,
+        FLIGHT,
+        AIRSPACE,
+        AIRCRAFT,
+        PILOT,
+        AUTH,
+        // tile json, vector tiles and map styles
+        TILES,
+        OTHER
+    }
+
+    private final Map<Endpoint, EndpointMetrics> endpoints = new EnumMap<>(Endpoint.class);
+
+    public AirMapNetworkMetrics() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint, new EndpointMetrics());
+        }
+    }
+
+    /**
+     * @return the endpoint the url belongs to
+     */
+    public static Endpoint getEndpoint(HttpUrl url) {
+        String urlString = url.toString();
+        if (urlString.startsWith(BaseService.statusBaseUrl)) {
+            return Endpoint.STATUS;
+        } else if (urlString.startsWith(BaseService.rulesetBaseUrl) || urlString.startsWith(BaseService.advisoriesUrl)) {
+            return Endpoint.RULES;
+        } else if (urlString.startsWith(BaseService.flightBaseUrl)) {
+            return Endpoint.FLIGHT;
+        } else if (urlString.startsWith(BaseService.airspaceBaseUrl)) {
+            return Endpoint.AIRSPACE;
+        } else if (urlString.startsWith(BaseService.aircraftBaseUrl)) {
+            return Endpoint.AIRCRAFT;
+        } else if (urlString.startsWith(BaseService.pilotBaseUrl)) {
+            return Endpoint.PILOT;
+        } else if (urlString.startsWith(BaseService.authBaseUrl) || urlString.startsWith(BaseService.loginUrl)) {
+            return Endpoint.AUTH;
+        } else if (urlString.startsWith(BaseService.mapTilesBaseUrl) || urlString.startsWith(BaseService.mapTilesRulesUrl)
+                || url.host().startsWith("cdn.")) {
+            return Endpoint.TILES;
+        }
+        return Endpoint.OTHER;
+    }
+
+    /**
+     * @return a factory for the listener that records a call
+     */
+    EventListener.Factory getEventListenerFactory() {
+        return new EventListener.Factory() {
+            @Override
+            public EventListener create(Call call) {
+                return new CallListener(endpoints.get(getEndpoint(call.request().url())));
+            }
+        };
+    }
+
+    /**
+     * @return the current values of all metrics
+     */
+    public Snapshot getSnapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * @param interval How often to take a snapshot
+     * @param unit     The unit of the interval
+     * @return snapshots of the metrics, emitted periodically on the computation scheduler
+     */
+    public Observable<Snapshot> observe(long interval, TimeUnit unit) {
+        return Observable.interval(0, interval, unit)
+                .map(new Func1<Long, Snapshot>() {
+                    @Override
+                    public Snapshot call(Long tick) {
+                        return getSnapshot();
+                    }
+                });
+    }
+
+    /**
+     * Logs a summary of every endpoint that was called
+     *
+     * @return the subscription to unsubscribe to stop logging
+     */
+    public Subscription logPeriodically(long interval, TimeUnit unit) {
+        return observe(interval, unit).subscribe(new Action1<Snapshot>() {
+            @Override
+            public void call(Snapshot snapshot) {
+                AirMapLog.i(TAG, snapshot.toString());
+            }
+        });
+    }
+
+    private static class EndpointMetrics {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong httpErrors = new AtomicLong();
+        // 1ms to 16s
+        final Histogram dns = new Histogram(1, 15);
+        final Histogram connect = new Histogram(1, 15);
+        final Histogram tls = new Histogram(1, 15);
+        final Histogram timeToFirstByte = new Histogram(1, 15);
+        final Histogram body = new Histogram(1, 15);
+        final Histogram total = new Histogram(1, 15);
+        // 64 bytes to 16MB
+        final Histogram requestBytes = new Histogram(64, 19);
+        final Histogram responseBytes = new Histogram(64, 19);
+    }
+
+    /**
+     * Records one call. OkHttp calls the listener from the call's thread only
+     */
+    private static class CallListener extends EventListener {
+        private final EndpointMetrics metrics;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long tlsStart;
+        private long requestStart;
+        private long bodyStart;
+        private long requestBytes;
+
+        CallListener(EndpointMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+            metrics.calls.incrementAndGet();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            metrics.dns.record(millisSince(dnsStart));
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            tlsStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            metrics.tls.record(millisSince(tlsStart));
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            metrics.connect.record(millisSince(connectStart));
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            requestBytes += byteCount;
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            metrics.timeToFirstByte.record(millisSince(requestStart));
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            if (response.code() >= 400) {
+                metrics.httpErrors.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            bodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            metrics.body.record(millisSince(bodyStart));
+            metrics.responseBytes.record(byteCount);
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            metrics.total.record(millisSince(callStart));
+            metrics.requestBytes.record(requestBytes);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            metrics.total.record(millisSince(callStart));
+            metrics.failures.incrementAndGet();
+        }
+
+        private static long millisSince(long start) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Immutable copy of the metrics at one point in time
+     */
+    public static class Snapshot {
+        private final Map<Endpoint, EndpointSnapshot> endpoints;
+
+        private Snapshot(AirMapNetworkMetrics metrics) {
+            Map<Endpoint, EndpointSnapshot> endpoints = new EnumMap<>(Endpoint.class);
+            for (Map.Entry<Endpoint, EndpointMetrics> entry : metrics.endpoints.entrySet()) {
+                endpoints.put(entry.getKey(), new EndpointSnapshot(entry.getValue()));
+            }
+            this.endpoints = Collections.unmodifiableMap(endpoints);
+        }
+
+        public EndpointSnapshot get(Endpoint endpoint) {
+            return endpoints.get(endpoint);
+        }
+
+        /**
+         * @return one line per endpoint that was called, with the median and 95th percentile
+         */
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("Network metrics");
+            for (Map.Entry<Endpoint, EndpointSnapshot> entry : endpoints.entrySet()) {
+                EndpointSnapshot endpoint = entry.getValue();
+                if (endpoint.getCalls() == 0) {
+                    continue;
+                }
+                builder.append(String.format(Locale.US,
+                        "\n%s: %d calls, %d failed, %d http errors, total %d/%dms, ttfb %d/%dms, body %d/%dms, connect %d/%dms, response %d/%d bytes",
+                        entry.getKey(), endpoint.getCalls(), endpoint.getFailures(), endpoint.getHttpErrors(),
+                        endpoint.getTotal().getPercentile(50), endpoint.getTotal().getPercentile(95),
+                        endpoint.getTimeToFirstByte().getPercentile(50), endpoint.getTimeToFirstByte().getPercentile(95),
+                        endpoint.getBody().getPercentile(50), endpoint.getBody().getPercentile(95),
+                        endpoint.getConnect().getPercentile(50), endpoint.getConnect().getPercentile(95),
+                        endpoint.getResponseBytes().getPercentile(50), endpoint.getResponseBytes().getPercentile(95)));
+            }
+            return builder.toString();
+        }
+    }
+
+    public static class EndpointSnapshot {
+        private final long calls;
+        private final long failures;
+        private final long httpErrors;
+        private final Histogram.Snapshot dns;
+        private final Histogram.Snapshot connect;
+        private final Histogram.Snapshot tls;
+        private final Histogram.Snapshot timeToFirstByte;
+        private final Histogram.Snapshot body;
+        private final Histogram.Snapshot total;
+        private final Histogram.Snapshot requestBytes;
+        private final Histogram.Snapshot responseBytes;
+
+        private EndpointSnapshot(EndpointMetrics metrics) {
+            calls = metrics.calls.get();
+            failures = metrics.failures.get();
+            httpErrors = metrics.httpErrors.get();
+            dns = metrics.dns.snapshot();
+            connect = metrics.connect.snapshot();
+            tls = metrics.tls.snapshot();
+            timeToFirstByte = metrics.timeToFirstByte.snapshot();
+            body = metrics.body.snapshot();
+            total = metrics.total.snapshot();
+            requestBytes = metrics.requestBytes.snapshot();
+            responseBytes = metrics.responseBytes.snapshot();
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return the number of calls that failed without a response
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return the number of responses with a 4xx or 5xx status
+         */
+        public long getHttpErrors() {
+            return httpErrors;
+        }
+
+        public Histogram.Snapshot getDns() {
+            return dns;
+        }
+
+        /**
+         * @return the time to connect, including TLS
+         */
+        public Histogram.Snapshot getConnect() {
+            return connect;
+        }
+
+        public Histogram.Snapshot getTls() {
+            return tls;
+        }
+
+        /**
+         * @return the time from sending the request to the first byte of the response
+         */
+        public Histogram.Snapshot getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        /**
+         * @return the time to read the response body
+         */
+        public Histogram.Snapshot getBody() {
+            return body;
+        }
+
+        /**
+         * @return the time from start to end of the call, including retries
+         */
+        public Histogram.Snapshot getTotal() {
+            return total;
+        }
+
+        public Histogram.Snapshot getRequestBytes() {
+            return requestBytes;
+        }
+
+        public Histogram.Snapshot getResponseBytes() {
+            return responseBytes;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.AirMapException;
+import com.airmap.airmapsdk.AirMapLog;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.SocketException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * When and how often failed requests are retried. Only idempotent requests (GET and HEAD by
+ * default) are retried, after a timeout, a dropped connection, or a 408, 429, 500, 502, 503 or 504.
+ * The delay grows exponentially with jitter so clients that failed together don't retry together,
+ * and a Retry-After header is honoured if it isn't longer than the max delay.
+ *
+ * Retries are limited by a budget: every request adds a fraction of a retry to it, every retry
+ * takes a whole one. When the server is down, requests fail fast instead of multiplying the load.
+ */
+@SuppressWarnings("unused")
+public class AirMapRetryPolicy {
+
+    private static final String TAG = "AirMapRetryPolicy";
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    // the budget is kept in thousandths of a retry, so fractions per request add up exactly
+    private static final int BUDGET_UNITS_PER_RETRY = 1000;
+
+    private int maxRetries = 2;
+    private long baseDelayMillis = 250;
+    private long maxDelayMillis = TimeUnit.SECONDS.toMillis(8);
+    private Set<String> methods = new HashSet<>(Arrays.asList("GET", "HEAD"));
+    private int budgetPerRequest = BUDGET_UNITS_PER_RETRY / 10;
+    private int maxBudget = 10 * BUDGET_UNITS_PER_RETRY;
+
+    private final AtomicInteger budget = new AtomicInteger(maxBudget);
+    private final Random random = new Random();
+
+    /**
+     * @param maxRetries The most retries of a single request, 0 to never retry
+     */
+    public AirMapRetryPolicy setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * @param baseDelay The delay before the first retry, doubled for every following one
+     * @param maxDelay  The longest delay, also the longest Retry-After that is waited for
+     * @param unit      The unit of the delays
+     */
+    public AirMapRetryPolicy setBackoff(long baseDelay, long maxDelay, TimeUnit unit) {
+        this.baseDelayMillis = unit.toMillis(baseDelay);
+        this.maxDelayMillis = unit.toMillis(maxDelay);
+        return this;
+    }
+
+    /**
+     * @param methods The HTTP methods that are safe to retry
+     */
+    public AirMapRetryPolicy setRetryableMethods(String... methods) {
+        this.methods = new HashSet<>(Arrays.asList(methods));
+        return this;
+    }
+
+    /**
+     * @param retriesPerHundredRequests How many retries every hundred requests earn
+     * @param maxRetries                The most retries that can be saved up, also the budget
+     *                                  to start with
+     */
+    public AirMapRetryPolicy setBudget(int retriesPerHundredRequests, int maxRetries) {
+        this.budgetPerRequest = retriesPerHundredRequests * BUDGET_UNITS_PER_RETRY / 100;
+        this.maxBudget = maxRetries * BUDGET_UNITS_PER_RETRY;
+        budget.set(maxBudget);
+        return this;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @param retry The number of retries so far
+     * @return how long to wait before the next retry, between half and all of the backoff
+     */
+    public long getDelayMillis(int retry) {
+        long backoff = Math.min(maxDelayMillis, baseDelayMillis << Math.min(retry, 30));
+        synchronized (random) {
+            return backoff / 2 + (long) (random.nextDouble() * (backoff / 2));
+        }
+    }
+
+    public boolean isRetryable(Request request) {
+        return methods.contains(request.method());
+    }
+
+    /**
+     * @return whether the status code means the server may succeed later
+     */
+    public static boolean isRetryable(int code) {
+        switch (code) {
+            case HttpURLConnection.HTTP_CLIENT_TIMEOUT:
+            case HTTP_TOO_MANY_REQUESTS:
+            case HttpURLConnection.HTTP_INTERNAL_ERROR:
+            case HttpURLConnection.HTTP_BAD_GATEWAY:
+            case HttpURLConnection.HTTP_UNAVAILABLE:
+            case HttpURLConnection.HTTP_GATEWAY_TIMEOUT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Timeouts and dropped connections are retried. Unknown hosts (offline) and TLS failures
+     * (e.g. certificate pinning) aren't, they won't go away on their own
+     */
+    public static boolean isRetryable(Throwable t) {
+        if (t instanceof AirMapException) {
+            int code = ((AirMapException) t).getErrorCode();
+            if (code != 0) {
+                return isRetryable(code);
+            }
+            // no status code, only the cause tells a timeout from being offline or a parse error
+            Throwable cause = t.getCause();
+            return cause != null && cause != t && isRetryable(cause);
+        }
+        return t instanceof InterruptedIOException || t instanceof SocketException;
+    }
+
+    /**
+     * @return a function for {@link Observable#retryWhen(Func1)} that retries by this policy
+     * and spends from the same budget as the client
+     */
+    public Func1<Observable<? extends Throwable>, Observable<?>> retryWhen() {
+        return new Func1<Observable<? extends Throwable>, Observable<?>>() {
+            @Override
+            public Observable<?> call(Observable<? extends Throwable> errors) {
+                // called once per subscription, so every subscription counts its own retries
+                final AtomicInteger retries = new AtomicInteger();
+                return errors.flatMap(new Func1<Throwable, Observable<?>>() {
+                    @Override
+                    public Observable<?> call(Throwable throwable) {
+                        int retry = retries.getAndIncrement();
+                        if (!isRetryable(throwable) || retry >= maxRetries || !acquireRetry()) {
+                            return Observable.error(throwable);
+                        }
+                        return Observable.timer(getDelayMillis(retry), TimeUnit.MILLISECONDS);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Proceeds with the chain's request, retrying it if it failed and may succeed later
+     */
+    Response proceed(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        addToBudget();
+        if (!isRetryable(request) || maxRetries <= 0) {
+            return chain.proceed(request);
+        }
+
+        for (int retry = 0; ; retry++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            boolean retryable = failure != null ? isRetryable(failure) : isRetryable(response.code());
+            long delay = getDelayMillis(retry);
+            if (retryable && response != null) {
+                long retryAfter = getRetryAfterMillis(response);
+                if (retryAfter > maxDelayMillis) {
+                    retryable = false;
+                } else if (retryAfter >= 0) {
+                    delay = retryAfter;
+                }
+            }
+
+            if (!retryable || retry >= maxRetries || chain.call().isCanceled() || !acquireRetry()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            AirMapLog.w(TAG, "Retrying " + request.url() + " in " + delay + "ms after " + (failure != null ? failure.getMessage() : response.code()));
+            if (response != null) {
+                response.close();
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry");
+            }
+        }
+    }
+
+    /**
+     * @return the delay the server asked for, or -1 if it didn't
+     */
+    static long getRetryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            // not seconds, must be a date
+        }
+
+        try {
+            SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+            return Math.max(0, format.parse(retryAfter).getTime() - System.currentTimeMillis());
+        } catch (ParseException e) {
+            return -1;
+        }
+    }
+
+    private void addToBudget() {
+        int current;
+        do {
+            current = budget.get();
+            if (current >= maxBudget) {
+                return;
+            }
+        } while (!budget.compareAndSet(current, Math.min(maxBudget, current + budgetPerRequest)));
+    }
+
+    private boolean acquireRetry() {
+        int current;
+        do {
+            current = budget.get();
+            if (current < BUDGET_UNITS_PER_RETRY) {
+                AirMapLog.w(TAG, "Retry budget exhausted");
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - BUDGET_UNITS_PER_RETRY));
+        return true;
+    }
+}
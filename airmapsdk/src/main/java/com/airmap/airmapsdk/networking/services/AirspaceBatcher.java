@@ -0,0 +1,295 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.AirMapException;
+import com.airmap.airmapsdk.models.airspace.AirMapAirspace;
+import com.airmap.airmapsdk.networking.callbacks.AirMapCallback;
+import com.airmap.airmapsdk.networking.callbacks.GenericListOkHttpCallback;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+/**
+ * Batches airspace lookups by id. Ids asked for within {@link #WINDOW_MILLIS} are collected, then
+ * fetched in parallel requests of at most {@link #MAX_IDS_PER_REQUEST} ids. Fetched airspaces are
+ * cached by id, so lists that overlap (e.g. advisories of neighbouring areas) only fetch what's new.
+ *
+ * Every caller gets the airspaces it asked for, in its order. Ids the server doesn't know are left
+ * out, like the single request did.
+ */
+class AirspaceBatcher {
+
+    static final long WINDOW_MILLIS = 50;
+    static final int MAX_IDS_PER_REQUEST = 50;
+
+    private static final int MAX_CACHED = 500;
+    private static final long CACHE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final String url;
+    private final Scheduler.Worker worker;
+
+    // all guarded by this
+    private final Map<String, CachedAirspace> cache;
+    private final List<Waiter> waiters = new ArrayList<>();
+    private final Set<String> queued = new LinkedHashSet<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private boolean flushScheduled;
+
+    /**
+     * @param url The url that takes the comma separated ids as the "ids" parameter
+     */
+    AirspaceBatcher(String url) {
+        this(url, Schedulers.io());
+    }
+
+    AirspaceBatcher(String url, Scheduler scheduler) {
+        this.url = url;
+        this.worker = scheduler.createWorker();
+        this.cache = new LinkedHashMap<String, CachedAirspace>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAirspace> eldest) {
+                return size() > MAX_CACHED;
+            }
+        };
+    }
+
+    /**
+     * @param airspaceIds The ids to look up
+     * @param callback    Gets the airspaces in the order of the ids
+     * @return a call that cancels this lookup only
+     */
+    Call getAirspaces(List<String> airspaceIds, AirMapCallback<List<AirMapAirspace>> callback) {
+        final Waiter waiter = new Waiter(new ArrayList<>(airspaceIds), callback);
+
+        boolean done;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            for (String id : waiter.ids) {
+                CachedAirspace cached = cache.get(id);
+                if (cached != null && now - cached.fetchedAt < CACHE_TTL_MILLIS) {
+                    waiter.found.put(id, cached.airspace);
+                } else {
+                    waiter.missing.add(id);
+                    if (!inFlight.contains(id)) {
+                        queued.add(id);
+                    }
+                }
+            }
+
+            done = waiter.missing.isEmpty();
+            if (!done) {
+                waiters.add(waiter);
+                scheduleFlush();
+            }
+        }
+
+        if (done) {
+            waiter.succeed();
+        }
+        return waiter;
+    }
+
+    // guarded by this
+    private void scheduleFlush() {
+        if (flushScheduled || queued.isEmpty()) {
+            return;
+        }
+
+        flushScheduled = true;
+        worker.schedule(new Action0() {
+            @Override
+            public void call() {
+                flush();
+            }
+        }, WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        List<List<String>> chunks = new ArrayList<>();
+        synchronized (this) {
+            flushScheduled = false;
+            List<String> chunk = null;
+            for (String id : queued) {
+                if (chunk == null || chunk.size() == MAX_IDS_PER_REQUEST) {
+                    chunk = new ArrayList<>();
+                    chunks.add(chunk);
+                }
+                chunk.add(id);
+            }
+            inFlight.addAll(queued);
+            queued.clear();
+        }
+
+        for (List<String> chunk : chunks) {
+            fetch(chunk);
+        }
+    }
+
+    /**
+     * Fetches one chunk, then completes it with {@link #onFetched} or {@link #onFetchFailed}
+     */
+    void fetch(final List<String> ids) {
+        Map<String, String> params = new HashMap<>();
+        params.put("ids", joinIds(ids));
+        AirMap.getClient().get(url, params, new GenericListOkHttpCallback(new AirMapCallback<List<AirMapAirspace>>() {
+            // the waiters' own callbacks decide where they are delivered
+            @Override
+            protected boolean isPostedToMainThread() {
+                return false;
+            }
+
+            @Override
+            protected void onSuccess(List<AirMapAirspace> airspaces) {
+                onFetched(ids, airspaces);
+            }
+
+            @Override
+            protected void onError(AirMapException e) {
+                onFetchFailed(ids, e);
+            }
+        }, AirMapAirspace.class));
+    }
+
+    void onFetched(List<String> ids, List<AirMapAirspace> airspaces) {
+        List<Waiter> completed = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Map<String, AirMapAirspace> byId = new HashMap<>();
+            for (AirMapAirspace airspace : airspaces) {
+                byId.put(airspace.getAirspaceId(), airspace);
+                cache.put(airspace.getAirspaceId(), new CachedAirspace(airspace, now));
+            }
+            inFlight.removeAll(ids);
+
+            for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+                Waiter waiter = iterator.next();
+                for (String id : ids) {
+                    if (waiter.missing.remove(id) && byId.containsKey(id)) {
+                        waiter.found.put(id, byId.get(id));
+                    }
+                }
+                if (waiter.missing.isEmpty()) {
+                    iterator.remove();
+                    completed.add(waiter);
+                }
+            }
+        }
+
+        for (Waiter waiter : completed) {
+            waiter.succeed();
+        }
+    }
+
+    void onFetchFailed(List<String> ids, AirMapException e) {
+        List<Waiter> failed = new ArrayList<>();
+        synchronized (this) {
+            inFlight.removeAll(ids);
+
+            for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+                Waiter waiter = iterator.next();
+                for (String id : ids) {
+                    if (waiter.missing.contains(id)) {
+                        iterator.remove();
+                        failed.add(waiter);
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (Waiter waiter : failed) {
+            waiter.fail(e);
+        }
+    }
+
+    private synchronized void remove(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private static String joinIds(List<String> ids) {
+        StringBuilder joined = new StringBuilder();
+        for (String id : ids) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(id);
+        }
+        return joined.toString();
+    }
+
+    private static class CachedAirspace {
+        final AirMapAirspace airspace;
+        final long fetchedAt;
+
+        CachedAirspace(AirMapAirspace airspace, long fetchedAt) {
+            this.airspace = airspace;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    /**
+     * One caller's lookup
+     */
+    private class Waiter extends CallerCall {
+        final List<String> ids;
+        final AirMapCallback<List<AirMapAirspace>> callback;
+        // guarded by AirspaceBatcher.this
+        final Set<String> missing = new HashSet<>();
+        final Map<String, AirMapAirspace> found = new HashMap<>();
+
+        Waiter(List<String> ids, AirMapCallback<List<AirMapAirspace>> callback) {
+            // the client is only needed to clone, it is looked up then
+            super(null, new Request.Builder()
+                    .url(HttpUrl.parse(url).newBuilder().addQueryParameter("ids", joinIds(ids)).build())
+                    .get()
+                    .build());
+            this.ids = ids;
+            this.callback = callback;
+        }
+
+        @Override
+        void onCanceled() {
+            remove(this);
+        }
+
+        @Override
+        public Call clone() {
+            return AirMap.getClient().getOkHttpClient().newCall(request());
+        }
+
+        void succeed() {
+            if (callback == null || isCanceled()) {
+                return;
+            }
+
+            List<AirMapAirspace> airspaces = new ArrayList<>();
+            for (String id : ids) {
+                AirMapAirspace airspace = found.get(id);
+                if (airspace != null) {
+                    airspaces.add(airspace);
+                }
+            }
+            callback.success(airspaces);
+        }
+
+        void fail(AirMapException e) {
+            if (callback != null && !isCanceled()) {
+                callback.error(e);
+            }
+        }
+    }
+}
@@ -2,21 +2,19 @@ package com.airmap.airmapsdk.networking.services;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.text.TextUtils;
 
 import com.airmap.airmapsdk.models.airspace.AirMapAirspace;
 import com.airmap.airmapsdk.networking.callbacks.AirMapCallback;
-import com.airmap.airmapsdk.networking.callbacks.GenericListOkHttpCallback;
 import com.airmap.airmapsdk.networking.callbacks.GenericOkHttpCallback;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import okhttp3.Call;
 
 public class AirspaceService extends BaseService {
 
+    private static AirspaceBatcher batcher;
+
     /**
      * Get an airspace by its ID
      *  @param airspaceId The ID of the airspace to get
@@ -28,15 +26,21 @@ public class AirspaceService extends BaseService {
     }
 
     /**
-     * Get airspaces by a list of their IDs
+     * Get airspaces by a list of their IDs. Lookups made at about the same time are batched and
+     * airspaces fetched recently are answered from memory
      *
      * @param airspaceIds The IDs of the airspaces to get
      * @param listener    The callback that is invoked on success or error
      */
     public static Call getAirspace(@NonNull List<String> airspaceIds,
                                    @Nullable AirMapCallback<List<AirMapAirspace>> listener) {
-        Map<String, String> params = new HashMap<>();
-        params.put("ids", TextUtils.join(",", airspaceIds));
-        return AirMap.getClient().get(airspaceByIdsUrl, params, new GenericListOkHttpCallback(listener, AirMapAirspace.class));
+        return getBatcher().getAirspaces(airspaceIds, listener);
+    }
+
+    private static synchronized AirspaceBatcher getBatcher() {
+        if (batcher == null) {
+            batcher = new AirspaceBatcher(airspaceByIdsUrl);
+        }
+        return batcher;
     }
 }
@@ -0,0 +1,184 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.AirMapLog;
+
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.schedulers.Schedulers;
+
+/**
+ * Keeps the auth token fresh for outgoing requests. The token's expiry is decoded once per token
+ * instead of on every request, and only one refresh runs at a time: requests that need a new token
+ * wait for the refresh in progress and then use its result.
+ *
+ * A token that expires within {@link #REFRESH_WINDOW_MILLIS} is refreshed in the background while
+ * requests keep using it. Only an expired token blocks requests.
+ */
+class AuthTokenRefresher {
+
+    private static final String TAG = "AuthTokenRefresher";
+
+    static final long REFRESH_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    // don't retry a refresh that failed for the same token for a while
+    private static final long RETRY_AFTER_FAILURE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final Func0<String> tokenSource;
+    private final Action0 refreshAction;
+    private final Scheduler scheduler;
+    private final Object refreshLock = new Object();
+
+    // guarded by this
+    private String decodedToken;
+    private long decodedExpiryMillis;
+
+    // guarded by refreshLock
+    private String failedToken;
+    private long failedAtMillis;
+
+    // guarded by this
+    private boolean refreshScheduled;
+
+    AuthTokenRefresher() {
+        this(new Func0<String>() {
+            @Override
+            public String call() {
+                return AirMap.getAuthToken();
+            }
+        }, new Action0() {
+            @Override
+            public void call() {
+                AirMap.refreshAccessToken();
+            }
+        }, Schedulers.io());
+    }
+
+    /**
+     * @param tokenSource   Returns the current auth token
+     * @param refreshAction Refreshes the auth token, blocking until it is done
+     * @param scheduler     Runs background refreshes, its clock decides when tokens expire
+     */
+    AuthTokenRefresher(Func0<String> tokenSource, Action0 refreshAction, Scheduler scheduler) {
+        this.tokenSource = tokenSource;
+        this.refreshAction = refreshAction;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Refreshes the auth token if needed. Blocks only if the token has expired
+     *
+     * @return the auth token to use, may be empty if there is none
+     */
+    String getFreshToken() {
+        String token = tokenSource.call();
+        long expiresIn = getExpiryMillis(token) - scheduler.now();
+        if (expiresIn > REFRESH_WINDOW_MILLIS) {
+            return token;
+        }
+
+        if (expiresIn > 0) {
+            refreshInBackground(token);
+            return token;
+        }
+
+        refresh(token);
+        return tokenSource.call();
+    }
+
+    /**
+     * @return whether the token is present and not expired
+     */
+    boolean isValid(String token) {
+        return getExpiryMillis(token) > scheduler.now();
+    }
+
+    private synchronized long getExpiryMillis(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+
+        if (!token.equals(decodedToken)) {
+            decodedToken = token;
+            decodedExpiryMillis = decodeExpiryMillis(token);
+        }
+        return decodedExpiryMillis;
+    }
+
+    private void refreshInBackground(final String token) {
+        synchronized (this) {
+            if (refreshScheduled) {
+                return;
+            }
+            refreshScheduled = true;
+        }
+
+        final Scheduler.Worker worker = scheduler.createWorker();
+        worker.schedule(new Action0() {
+            @Override
+            public void call() {
+                try {
+                    refresh(token);
+                } finally {
+                    synchronized (AuthTokenRefresher.this) {
+                        refreshScheduled = false;
+                    }
+                    worker.unsubscribe();
+                }
+            }
+        });
+    }
+
+    private void refresh(String staleToken) {
+        synchronized (refreshLock) {
+            // another request refreshed the token while we were waiting
+            String token = tokenSource.call();
+            if (!equal(token, staleToken) && getExpiryMillis(token) - scheduler.now() > REFRESH_WINDOW_MILLIS) {
+                return;
+            }
+
+            if (equal(token, failedToken) && scheduler.now() - failedAtMillis < RETRY_AFTER_FAILURE_MILLIS) {
+                return;
+            }
+
+            AirMapLog.i(TAG, "Refreshing auth token");
+            refreshAction.call();
+
+            if (equal(tokenSource.call(), token)) {
+                failedToken = token;
+                failedAtMillis = scheduler.now();
+            } else {
+                failedToken = null;
+            }
+        }
+    }
+
+    // only called for a token that wasn't decoded before
+    long decodeExpiryMillis(String token) {
+        try {
+            JwtClaims claims = new JwtConsumerBuilder()
+                    .setSkipAllValidators()
+                    .setDisableRequireSignature()
+                    .setSkipSignatureVerification()
+                    .build()
+                    .processToClaims(token);
+            NumericDate expiration = claims.getExpirationTime();
+            return expiration != null ? expiration.getValueInMillis() : Long.MAX_VALUE;
+        } catch (InvalidJwtException | MalformedClaimException e) {
+            AirMapLog.e(TAG, "Unable to process token", e);
+            return 0;
+        }
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,70 @@
+package com.airmap.airmapsdk.networking.services;
+
+import java.io.IOException;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * The {@link Call} handed to a caller whose request shares network calls with other callers.
+ * It is already executed; cancelling it only detaches this caller.
+ */
+abstract class CallerCall implements Call {
+
+    private final Call.Factory client;
+    private final Request request;
+    private volatile boolean canceled;
+
+    CallerCall(Call.Factory client, Request request) {
+        this.client = client;
+        this.request = request;
+    }
+
+    /**
+     * Called once this caller cancelled
+     */
+    abstract void onCanceled();
+
+    @Override
+    public Request request() {
+        return request;
+    }
+
+    @Override
+    public Response execute() throws IOException {
+        throw new IllegalStateException("Already Executed");
+    }
+
+    @Override
+    public void enqueue(Callback responseCallback) {
+        throw new IllegalStateException("Already Executed");
+    }
+
+    @Override
+    public void cancel() {
+        if (!canceled) {
+            canceled = true;
+            onCanceled();
+        }
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    /**
+     * @return a new call for the same request that doesn't share anything
+     */
+    @Override
+    public Call clone() {
+        return client.newCall(request);
+    }
+}
@@ -0,0 +1,203 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.AirMapLog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Deduplicates identical requests that are in flight at the same time. Requests are identical if
+ * they have the same method, url and body. The first request is sent, later ones join it and get
+ * a copy of its response.
+ *
+ * Every caller gets its own {@link Call}: cancelling it only stops its own callback, the shared
+ * request is cancelled once all of its callers have cancelled.
+ */
+class CoalescedCalls {
+
+    private static final String TAG = "CoalescedCalls";
+
+    // guarded by this
+    private final Map<String, Flight> flights = new HashMap<>();
+
+    /**
+     * Sends the request, or joins an identical request that is already in flight
+     *
+     * @param client   The client to send new requests with
+     * @param request  The request
+     * @param callback The callback of this caller
+     * @return a call that only belongs to this caller
+     */
+    Call enqueue(Call.Factory client, Request request, Callback callback) {
+        String key = getKey(request);
+
+        Flight flight;
+        JoinedCall joined;
+        boolean start = false;
+        synchronized (this) {
+            flight = flights.get(key);
+            if (flight == null || flight.isCanceled()) {
+                flight = new Flight(key, client.newCall(request));
+                flights.put(key, flight);
+                start = true;
+            } else {
+                AirMapLog.v(TAG, "Joining request in flight: " + request.url());
+            }
+            joined = new JoinedCall(client, request, flight, callback);
+            flight.joined.add(joined);
+        }
+
+        if (start) {
+            flight.call.enqueue(flight);
+        }
+        return joined;
+    }
+
+    private static String getKey(Request request) {
+        StringBuilder key = new StringBuilder(request.method()).append(' ').append(request.url());
+        if (request.body() != null) {
+            try {
+                Buffer buffer = new Buffer();
+                request.body().writeTo(buffer);
+                key.append(' ').append(buffer.sha1().hex());
+            } catch (IOException e) {
+                // bodies in memory can't fail, but never coalesce one we can't read
+                key.append(' ').append(System.identityHashCode(request));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * One request on the network and the callers waiting for it
+     */
+    private class Flight implements Callback {
+        private final String key;
+        private final Call call;
+        // guarded by CoalescedCalls.this
+        private final List<JoinedCall> joined = new ArrayList<>();
+
+        Flight(String key, Call call) {
+            this.key = key;
+            this.call = call;
+        }
+
+        boolean isCanceled() {
+            return call.isCanceled();
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            for (JoinedCall joinedCall : land()) {
+                joinedCall.deliverFailure(e);
+            }
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+            List<JoinedCall> waiting = new ArrayList<>();
+            for (JoinedCall joinedCall : land()) {
+                if (joinedCall.isCanceled()) {
+                    joinedCall.deliverFailure(new IOException("Canceled"));
+                } else {
+                    waiting.add(joinedCall);
+                }
+            }
+
+            if (waiting.isEmpty()) {
+                response.close();
+                return;
+            }
+
+            // a single caller can stream the response, otherwise everyone gets a copy of the body
+            if (waiting.size() == 1) {
+                waiting.get(0).deliverResponse(response);
+                return;
+            }
+
+            ResponseBody body = response.body();
+            byte[] bytes;
+            try {
+                bytes = body.bytes();
+            } catch (IOException e) {
+                for (JoinedCall joinedCall : waiting) {
+                    joinedCall.deliverFailure(e);
+                }
+                return;
+            } finally {
+                body.close();
+            }
+
+            for (JoinedCall joinedCall : waiting) {
+                joinedCall.deliverResponse(response.newBuilder()
+                        .body(ResponseBody.create(body.contentType(), bytes))
+                        .build());
+            }
+        }
+
+        // stops new callers from joining and returns the ones that did
+        private List<JoinedCall> land() {
+            synchronized (CoalescedCalls.this) {
+                if (flights.get(key) == this) {
+                    flights.remove(key);
+                }
+                return new ArrayList<>(joined);
+            }
+        }
+
+        private void cancelIfAbandoned() {
+            synchronized (CoalescedCalls.this) {
+                for (JoinedCall joinedCall : joined) {
+                    if (!joinedCall.isCanceled()) {
+                        return;
+                    }
+                }
+                if (flights.get(key) == this) {
+                    flights.remove(key);
+                }
+            }
+            call.cancel();
+        }
+    }
+
+    /**
+     * The call a single caller sees
+     */
+    private static class JoinedCall extends CallerCall {
+        private final Flight flight;
+        private final Callback callback;
+
+        JoinedCall(Call.Factory client, Request request, Flight flight, Callback callback) {
+            super(client, request);
+            this.flight = flight;
+            this.callback = callback;
+        }
+
+        @Override
+        void onCanceled() {
+            flight.cancelIfAbandoned();
+        }
+
+        void deliverFailure(IOException e) {
+            callback.onFailure(this, e);
+        }
+
+        void deliverResponse(Response response) {
+            try {
+                callback.onResponse(this, response);
+            } catch (IOException e) {
+                AirMapLog.e(TAG, "Callback failed for " + request().url(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,803 @@
+package com.airmap.airmapsdk.networking.services;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.airmap.airmapsdk.AirMapException;
+import com.airmap.airmapsdk.models.AirMapWeather;
+import com.airmap.airmapsdk.models.Coordinate;
+import com.airmap.airmapsdk.models.aircraft.AirMapAircraft;
+import com.airmap.airmapsdk.models.aircraft.AirMapAircraftManufacturer;
+import com.airmap.airmapsdk.models.aircraft.AirMapAircraftModel;
+import com.airmap.airmapsdk.models.airspace.AirMapAirspace;
+import com.airmap.airmapsdk.models.comm.AirMapComm;
+import com.airmap.airmapsdk.models.flight.AirMapFlight;
+import com.airmap.airmapsdk.models.flight.AirMapFlightBriefing;
+import com.airmap.airmapsdk.models.flight.AirMapFlightPlan;
+import com.airmap.airmapsdk.models.pilot.AirMapPilot;
+import com.airmap.airmapsdk.models.rules.AirMapJurisdiction;
+import com.airmap.airmapsdk.models.rules.AirMapRuleset;
+import com.airmap.airmapsdk.models.shapes.AirMapPolygon;
+import com.airmap.airmapsdk.models.status.AirMapAirspaceStatus;
+import com.airmap.airmapsdk.models.status.AirMapStatus;
+import com.airmap.airmapsdk.networking.callbacks.AirMapCallback;
+
+import org.json.JSONObject;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Call;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Single;
+import rx.SingleSubscriber;
+import rx.android.schedulers.AndroidSchedulers;
+import rx.functions.Action0;
+import rx.functions.Func1;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Reactive versions of the {@link AirMap} calls. The request is sent on subscribe and cancelled
+ * on unsubscribe, each observable emits one value and completes, or fails with the
+ * {@link AirMapException}.
+ *
+ * Results are observed on the main thread like callbacks are, use {@link #setScheduler(Scheduler)}
+ * to change that for all calls. Lists can be turned into a stream of items with
+ * {@link #flatten()}, and failed queries can be retried with {@link #retry()}.
+ */
+@SuppressWarnings("unused")
+public class RxAirMap {
+
+    private static volatile Scheduler scheduler = AndroidSchedulers.mainThread();
+
+    /**
+     * Sends a request for the callback
+     */
+    interface CallFactory<T> {
+        /**
+         * @return the call to cancel on unsubscribe, or null if the request can't be cancelled
+         */
+        @Nullable
+        Call call(AirMapCallback<T> callback);
+    }
+
+    /**
+     * @param scheduler The scheduler results are observed on, or null to observe them on the
+     *                  network thread
+     */
+    public static void setScheduler(@Nullable Scheduler scheduler) {
+        RxAirMap.scheduler = scheduler;
+    }
+
+    /**
+     * @return a transformer that emits the items of a list one by one, as they are requested
+     */
+    public static <T> Observable.Transformer<List<T>, T> flatten() {
+        return new Observable.Transformer<List<T>, T>() {
+            @Override
+            public Observable<T> call(Observable<List<T>> lists) {
+                return lists.flatMapIterable(new Func1<List<T>, Iterable<T>>() {
+                    @Override
+                    public Iterable<T> call(List<T> list) {
+                        return list;
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Retries failed calls with the client's {@link AirMapRetryPolicy}, for use with
+     * {@link Observable#retryWhen(Func1)}. GET calls are already retried by the client, this is
+     * meant for calls the caller knows to be safe to repeat, like queries sent as POST
+     */
+    public static Func1<Observable<? extends Throwable>, Observable<?>> retry() {
+        return AirMap.getClient().getConfig().getRetryPolicy().retryWhen();
+    }
+
+    static <T> Observable<T> create(final CallFactory<T> factory) {
+        Observable<T> observable = Single.create(new Single.OnSubscribe<T>() {
+            @Override
+            public void call(final SingleSubscriber<? super T> subscriber) {
+                final Call call = factory.call(new AirMapCallback<T>() {
+                    @Override
+                    protected boolean isPostedToMainThread() {
+                        return false;
+                    }
+
+                    @Override
+                    protected void onSuccess(T response) {
+                        if (!subscriber.isUnsubscribed()) {
+                            subscriber.onSuccess(response);
+                        }
+                    }
+
+                    @Override
+                    protected void onError(AirMapException e) {
+                        if (!subscriber.isUnsubscribed()) {
+                            subscriber.onError(e);
+                        }
+                    }
+                });
+
+                if (call != null) {
+                    subscriber.add(Subscriptions.create(new Action0() {
+                        @Override
+                        public void call() {
+                            call.cancel();
+                        }
+                    }));
+                }
+            }
+        }).toObservable();
+
+        Scheduler observeOn = scheduler;
+        return observeOn != null ? observable.observeOn(observeOn) : observable;
+    }
+
+    /**
+     * @see AirMap#getFirebaseToken
+     */
+    public static Observable<String> getFirebaseToken() {
+        return create(new CallFactory<String>() {
+            @Override
+            public Call call(AirMapCallback<String> callback) {
+                AirMap.getFirebaseToken(callback);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#refreshAccessToken
+     */
+    public static Observable<Void> refreshAccessToken() {
+        return create(new CallFactory<Void>() {
+            @Override
+            public Call call(AirMapCallback<Void> callback) {
+                AirMap.refreshAccessToken(callback);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#performAnonymousLogin
+     */
+    public static Observable<Void> performAnonymousLogin(@NonNull final String userId) {
+        return create(new CallFactory<Void>() {
+            @Override
+            public Call call(AirMapCallback<Void> callback) {
+                return AirMap.performAnonymousLogin(userId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getManufacturers
+     */
+    public static Observable<List<AirMapAircraftManufacturer>> getManufacturers() {
+        return create(new CallFactory<List<AirMapAircraftManufacturer>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapAircraftManufacturer>> callback) {
+                return AirMap.getManufacturers(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getModels
+     */
+    public static Observable<List<AirMapAircraftModel>> getModels() {
+        return create(new CallFactory<List<AirMapAircraftModel>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapAircraftModel>> callback) {
+                return AirMap.getModels(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getModels
+     */
+    public static Observable<List<AirMapAircraftModel>> getModels(@Nullable final String manufacturerId) {
+        return create(new CallFactory<List<AirMapAircraftModel>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapAircraftModel>> callback) {
+                return AirMap.getModels(manufacturerId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getModel
+     */
+    public static Observable<AirMapAircraftModel> getModel(@NonNull final String modelId) {
+        return create(new CallFactory<AirMapAircraftModel>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAircraftModel> callback) {
+                return AirMap.getModel(modelId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getFlights
+     */
+    public static Observable<List<AirMapFlight>> getFlights(@Nullable final Integer limit, @Nullable final String pilotId, @Nullable final Date startAfter, @Nullable final Date startBefore, @Nullable final Date endAfter, @Nullable final Date endBefore, @Nullable final Boolean startsAfterNow, @Nullable final Boolean startsBeforeNow, @Nullable final Boolean endsAfterNow, @Nullable final Boolean endsBeforeNow, @Nullable final String country, @Nullable final String city, @Nullable final String state, @Nullable final Boolean enhanced) {
+        return create(new CallFactory<List<AirMapFlight>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapFlight>> callback) {
+                return AirMap.getFlights(limit, pilotId, startAfter, startBefore, endAfter, endBefore, startsAfterNow, startsBeforeNow, endsAfterNow, endsBeforeNow, country, city, state, enhanced, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getPublicFlights
+     */
+    public static Observable<List<AirMapFlight>> getPublicFlights() {
+        return create(new CallFactory<List<AirMapFlight>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapFlight>> callback) {
+                return AirMap.getPublicFlights(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getPublicFlights
+     */
+    public static Observable<List<AirMapFlight>> getPublicFlights(@Nullable final Integer limit, @Nullable final Date from, @Nullable final Date to) {
+        return create(new CallFactory<List<AirMapFlight>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapFlight>> callback) {
+                return AirMap.getPublicFlights(limit, from, to, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getCurrentFlight
+     */
+    public static Observable<AirMapFlight> getCurrentFlight() {
+        return create(new CallFactory<AirMapFlight>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlight> callback) {
+                return AirMap.getCurrentFlight(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getFlight
+     */
+    public static Observable<AirMapFlight> getFlight(@NonNull final String flightId, final boolean enhance) {
+        return create(new CallFactory<AirMapFlight>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlight> callback) {
+                return AirMap.getFlight(flightId, enhance, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getFlight
+     */
+    public static Observable<AirMapFlight> getFlight(@NonNull final String flightId) {
+        return create(new CallFactory<AirMapFlight>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlight> callback) {
+                return AirMap.getFlight(flightId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getFlights
+     */
+    public static Observable<List<AirMapFlight>> getFlights(@NonNull final AirMapPilot pilot) {
+        return create(new CallFactory<List<AirMapFlight>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapFlight>> callback) {
+                return AirMap.getFlights(pilot, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getMyFlights
+     */
+    public static Observable<List<AirMapFlight>> getMyFlights() {
+        return create(new CallFactory<List<AirMapFlight>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapFlight>> callback) {
+                return AirMap.getMyFlights(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#createFlightPlan
+     */
+    public static Observable<AirMapFlightPlan> createFlightPlan(final AirMapFlightPlan flightPlan) {
+        return create(new CallFactory<AirMapFlightPlan>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlightPlan> callback) {
+                return AirMap.createFlightPlan(flightPlan, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#patchFlightPlan
+     */
+    public static Observable<AirMapFlightPlan> patchFlightPlan(final AirMapFlightPlan plan) {
+        return create(new CallFactory<AirMapFlightPlan>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlightPlan> callback) {
+                return AirMap.patchFlightPlan(plan, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getFlightPlanByFlightId
+     */
+    public static Observable<AirMapFlightPlan> getFlightPlanByFlightId(final String flightId) {
+        return create(new CallFactory<AirMapFlightPlan>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlightPlan> callback) {
+                return AirMap.getFlightPlanByFlightId(flightId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#submitFlightPlan
+     */
+    public static Observable<AirMapFlightPlan> submitFlightPlan(final String flightPlanId, final boolean isPublic) {
+        return create(new CallFactory<AirMapFlightPlan>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlightPlan> callback) {
+                return AirMap.submitFlightPlan(flightPlanId, isPublic, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#submitFlightPlan
+     */
+    public static Observable<AirMapFlightPlan> submitFlightPlan(final String flightPlanId) {
+        return create(new CallFactory<AirMapFlightPlan>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlightPlan> callback) {
+                return AirMap.submitFlightPlan(flightPlanId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getWeather
+     */
+    public static Observable<AirMapWeather> getWeather(final Coordinate coordinate, final Date startTime, final Date endTime) {
+        return create(new CallFactory<AirMapWeather>() {
+            @Override
+            public Call call(AirMapCallback<AirMapWeather> callback) {
+                return AirMap.getWeather(coordinate, startTime, endTime, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#createFlight
+     */
+    public static Observable<AirMapFlight> createFlight(@NonNull final AirMapFlight flight) {
+        return create(new CallFactory<AirMapFlight>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlight> callback) {
+                return AirMap.createFlight(flight, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#endFlight
+     */
+    public static Observable<AirMapFlight> endFlight(@NonNull final AirMapFlight flight) {
+        return create(new CallFactory<AirMapFlight>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlight> callback) {
+                return AirMap.endFlight(flight, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#endFlight
+     */
+    public static Observable<AirMapFlight> endFlight(@NonNull final String flightId) {
+        return create(new CallFactory<AirMapFlight>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlight> callback) {
+                return AirMap.endFlight(flightId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#deleteFlight
+     */
+    public static Observable<Void> deleteFlight(@NonNull final AirMapFlight flight) {
+        return create(new CallFactory<Void>() {
+            @Override
+            public Call call(AirMapCallback<Void> callback) {
+                return AirMap.deleteFlight(flight, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#startComm
+     */
+    public static Observable<AirMapComm> startComm(@NonNull final AirMapFlight flight) {
+        return create(new CallFactory<AirMapComm>() {
+            @Override
+            public Call call(AirMapCallback<AirMapComm> callback) {
+                return AirMap.startComm(flight, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#clearComm
+     */
+    public static Observable<Void> clearComm(@NonNull final AirMapFlight flight) {
+        return create(new CallFactory<Void>() {
+            @Override
+            public Call call(AirMapCallback<Void> callback) {
+                return AirMap.clearComm(flight, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getPilot
+     */
+    public static Observable<AirMapPilot> getPilot(@NonNull final String pilotId) {
+        return create(new CallFactory<AirMapPilot>() {
+            @Override
+            public Call call(AirMapCallback<AirMapPilot> callback) {
+                return AirMap.getPilot(pilotId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getPilot
+     */
+    public static Observable<AirMapPilot> getPilot() {
+        return create(new CallFactory<AirMapPilot>() {
+            @Override
+            public Call call(AirMapCallback<AirMapPilot> callback) {
+                return AirMap.getPilot(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#updatePilot
+     */
+    public static Observable<AirMapPilot> updatePilot(@NonNull final AirMapPilot pilot) {
+        return create(new CallFactory<AirMapPilot>() {
+            @Override
+            public Call call(AirMapCallback<AirMapPilot> callback) {
+                return AirMap.updatePilot(pilot, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#updatePhoneNumber
+     */
+    public static Observable<Void> updatePhoneNumber(@NonNull final String phoneNumber) {
+        return create(new CallFactory<Void>() {
+            @Override
+            public Call call(AirMapCallback<Void> callback) {
+                return AirMap.updatePhoneNumber(phoneNumber, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#sendVerificationToken
+     */
+    public static Observable<Void> sendVerificationToken() {
+        return create(new CallFactory<Void>() {
+            @Override
+            public Call call(AirMapCallback<Void> callback) {
+                return AirMap.sendVerificationToken(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#verifyPhoneToken
+     */
+    public static Observable<Boolean> verifyPhoneToken(@NonNull final String token) {
+        return create(new CallFactory<Boolean>() {
+            @Override
+            public Call call(AirMapCallback<Boolean> callback) {
+                return AirMap.verifyPhoneToken(token, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getAircraft
+     */
+    public static Observable<List<AirMapAircraft>> getAircraft() {
+        return create(new CallFactory<List<AirMapAircraft>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapAircraft>> callback) {
+                return AirMap.getAircraft(callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getAircraft
+     */
+    public static Observable<AirMapAircraft> getAircraft(@NonNull final String aircraftId) {
+        return create(new CallFactory<AirMapAircraft>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAircraft> callback) {
+                return AirMap.getAircraft(aircraftId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#createAircraft
+     */
+    public static Observable<AirMapAircraft> createAircraft(@NonNull final AirMapAircraft aircraft) {
+        return create(new CallFactory<AirMapAircraft>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAircraft> callback) {
+                return AirMap.createAircraft(aircraft, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#updateAircraft
+     */
+    public static Observable<AirMapAircraft> updateAircraft(@NonNull final AirMapAircraft aircraft) {
+        return create(new CallFactory<AirMapAircraft>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAircraft> callback) {
+                return AirMap.updateAircraft(aircraft, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#deleteAircraft
+     */
+    public static Observable<Void> deleteAircraft(@NonNull final AirMapAircraft aircraft) {
+        return create(new CallFactory<Void>() {
+            @Override
+            public Call call(AirMapCallback<Void> callback) {
+                return AirMap.deleteAircraft(aircraft, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#checkCoordinate
+     */
+    public static Observable<AirMapStatus> checkCoordinate(@NonNull final Coordinate coordinate, @Nullable final Double buffer, @Nullable final List<MappingService.AirMapAirspaceType> types, @Nullable final List<MappingService.AirMapAirspaceType> ignoredTypes, final boolean showWeather, @Nullable final Date date) {
+        return create(new CallFactory<AirMapStatus>() {
+            @Override
+            public Call call(AirMapCallback<AirMapStatus> callback) {
+                return AirMap.checkCoordinate(coordinate, buffer, types, ignoredTypes, showWeather, date, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#checkFlightPath
+     */
+    public static Observable<AirMapStatus> checkFlightPath(@NonNull final List<Coordinate> path, final int buffer, @NonNull final Coordinate takeOffPoint, @Nullable final List<MappingService.AirMapAirspaceType> types, @Nullable final List<MappingService.AirMapAirspaceType> ignoredTypes, final boolean showWeather, @Nullable final Date date) {
+        return create(new CallFactory<AirMapStatus>() {
+            @Override
+            public Call call(AirMapCallback<AirMapStatus> callback) {
+                return AirMap.checkFlightPath(path, buffer, takeOffPoint, types, ignoredTypes, showWeather, date, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#checkPolygon
+     */
+    public static Observable<AirMapStatus> checkPolygon(@NonNull final List<Coordinate> geometry, @NonNull final Coordinate takeOffPoint, @Nullable final List<MappingService.AirMapAirspaceType> types, @Nullable final List<MappingService.AirMapAirspaceType> ignoredTypes, final boolean showWeather, @Nullable final Date date) {
+        return create(new CallFactory<AirMapStatus>() {
+            @Override
+            public Call call(AirMapCallback<AirMapStatus> callback) {
+                return AirMap.checkPolygon(geometry, takeOffPoint, types, ignoredTypes, showWeather, date, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#checkWeather
+     */
+    public static Observable<AirMapStatus> checkWeather(@NonNull final Coordinate coordinate, @Nullable final Double buffer) {
+        return create(new CallFactory<AirMapStatus>() {
+            @Override
+            public Call call(AirMapCallback<AirMapStatus> callback) {
+                return AirMap.checkWeather(coordinate, buffer, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getAirspace
+     */
+    public static Observable<AirMapAirspace> getAirspace(@NonNull final String airspaceId) {
+        return create(new CallFactory<AirMapAirspace>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAirspace> callback) {
+                return AirMap.getAirspace(airspaceId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getAirspace
+     */
+    public static Observable<List<AirMapAirspace>> getAirspace(@NonNull final List<String> airspaceIds) {
+        return create(new CallFactory<List<AirMapAirspace>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapAirspace>> callback) {
+                return AirMap.getAirspace(airspaceIds, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getJurisdictions
+     */
+    public static Observable<List<AirMapJurisdiction>> getJurisdictions(@NonNull final AirMapPolygon polygon) {
+        return create(new CallFactory<List<AirMapJurisdiction>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapJurisdiction>> callback) {
+                return AirMap.getJurisdictions(polygon, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getRulesets
+     */
+    public static Observable<List<AirMapRuleset>> getRulesets(@NonNull final Coordinate coordinate) {
+        return create(new CallFactory<List<AirMapRuleset>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapRuleset>> callback) {
+                return AirMap.getRulesets(coordinate, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getRulesets
+     */
+    public static Observable<List<AirMapRuleset>> getRulesets(@NonNull final JSONObject geometry) {
+        return create(new CallFactory<List<AirMapRuleset>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapRuleset>> callback) {
+                return AirMap.getRulesets(geometry, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getRulesets
+     */
+    public static Observable<List<AirMapRuleset>> getRulesets(@NonNull final List<String> rulesetIds) {
+        return create(new CallFactory<List<AirMapRuleset>>() {
+            @Override
+            public Call call(AirMapCallback<List<AirMapRuleset>> callback) {
+                return AirMap.getRulesets(rulesetIds, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getRules
+     */
+    public static Observable<AirMapRuleset> getRules(@NonNull final String rulesetId) {
+        return create(new CallFactory<AirMapRuleset>() {
+            @Override
+            public Call call(AirMapCallback<AirMapRuleset> callback) {
+                return AirMap.getRules(rulesetId, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getFlightBrief
+     */
+    public static Observable<AirMapFlightBriefing> getFlightBrief(@NonNull final String flightPlanId) {
+        return create(new CallFactory<AirMapFlightBriefing>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlightBriefing> callback) {
+                AirMap.getFlightBrief(flightPlanId, callback);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getFlightPlanEvaluation
+     */
+    public static Observable<AirMapFlightBriefing> getFlightPlanEvaluation(@NonNull final List<String> rulesets, @NonNull final JSONObject geometry, @Nullable final Map<String, Object> flightFeatures) {
+        return create(new CallFactory<AirMapFlightBriefing>() {
+            @Override
+            public Call call(AirMapCallback<AirMapFlightBriefing> callback) {
+                AirMap.getFlightPlanEvaluation(rulesets, geometry, flightFeatures, callback);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getAirspaceStatus
+     */
+    public static Observable<AirMapAirspaceStatus> getAirspaceStatus(@NonNull final AirMapPolygon polygon, @NonNull final List<String> rulesetIds) {
+        return create(new CallFactory<AirMapAirspaceStatus>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAirspaceStatus> callback) {
+                return AirMap.getAirspaceStatus(polygon, rulesetIds, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getAirspaceStatus
+     */
+    public static Observable<AirMapAirspaceStatus> getAirspaceStatus(@NonNull final AirMapPolygon polygon, @NonNull final List<String> rulesetIds, @Nullable final Date start, @Nullable final Date end) {
+        return create(new CallFactory<AirMapAirspaceStatus>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAirspaceStatus> callback) {
+                return AirMap.getAirspaceStatus(polygon, rulesetIds, start, end, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getAirspaceStatus
+     */
+    public static Observable<AirMapAirspaceStatus> getAirspaceStatus(@NonNull final JSONObject geometry, @NonNull final List<String> rulesetIds, @Nullable final Date start, @Nullable final Date end) {
+        return create(new CallFactory<AirMapAirspaceStatus>() {
+            @Override
+            public Call call(AirMapCallback<AirMapAirspaceStatus> callback) {
+                return AirMap.getAirspaceStatus(geometry, rulesetIds, start, end, callback);
+            }
+        });
+    }
+
+    /**
+     * @see AirMap#getMapStylesJson
+     */
+    public static Observable<JSONObject> getMapStylesJson(final MappingService.AirMapMapTheme theme) {
+        return create(new CallFactory<JSONObject>() {
+            @Override
+            public Call call(AirMapCallback<JSONObject> callback) {
+                return AirMap.getMapStylesJson(theme, callback);
+            }
+        });
+    }
+}
@@ -1,242 +1,185 @@
 package com.airmap.airmapsdk.networking.services;
 
+import android.content.Context;
 import android.support.annotation.Nullable;
-import android.support.v4.util.Pair;
 import android.util.Log;
 
 import com.airmap.airmapsdk.AirMapLog;
-import com.airmap.airmapsdk.models.Telemetry;
 import com.airmap.airmapsdk.models.comm.AirMapComm;
 import com.airmap.airmapsdk.models.flight.AirMapFlight;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryCrypto;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryEncoder;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryMessageType;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryMetrics;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryRatePolicy;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryReplayer;
+import com.airmap.airmapsdk.networking.telemetry.TelemetrySampler;
+import com.airmap.airmapsdk.networking.telemetry.TelemetrySlots;
+import com.airmap.airmapsdk.networking.telemetry.TelemetrySpool;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryTransport;
+import com.airmap.airmapsdk.networking.telemetry.UdpTelemetryTransport;
 import com.google.protobuf.Message;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.InetAddress;
-import java.net.SocketException;
-import java.net.UnknownHostException;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
-import javax.crypto.SecretKey;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
 
 import rx.Observable;
 import rx.Subscription;
-import rx.android.schedulers.AndroidSchedulers;
 import rx.functions.Action1;
-import rx.functions.Actions;
 import rx.functions.Func1;
-import rx.functions.Func2;
 import rx.schedulers.Schedulers;
-import rx.subjects.PublishSubject;
 
 @SuppressWarnings("unused")
 public class TelemetryService extends BaseService {
 
     private static final String TAG = "Telemetry Service";
 
-    // frequencies in milliseconds
-    private static final long POSITION_FREQUENCY = 200;
-    private static final long ATTITUDE_FREQUENCY = 200;
-    private static final long SPEED_FREQUENCY = 200;
-    private static final long BAROMETER_FREQUENCY = 5000;
+    private static final String SPOOL_FILE = "telemetry.spool";
 
-    private PublishSubject<Pair<AirMapFlight, Message>> telemetry;
+    private final ConcurrentMap<String, FlightTelemetry> flights;
+    private final TelemetryMetrics metrics;
+    private TelemetryTransport transport;
+    private volatile TelemetryRatePolicy ratePolicy;
+    private volatile boolean compactPositions;
+    private final File spoolFile;
+
+    // guarded by this, opened with the first session
+    private boolean spoolOpened;
+    private TelemetrySpool spool;
+    private TelemetryReplayer replayer;
 
     public TelemetryService() {
-        telemetry = PublishSubject.create();
-        setupBindings();
+        this(new UdpTelemetryTransport(telemetryBaseUrl, telemetryPort), defaultSpoolFile());
+    }
+
+    /**
+     * @param transport Where to send telemetry packets, such as a local sink for testing
+     * @param spoolFile Where to keep packets that can't be sent, null to drop them
+     */
+    public TelemetryService(TelemetryTransport transport, @Nullable File spoolFile) {
+        flights = new ConcurrentHashMap<>();
+        metrics = new TelemetryMetrics();
+        this.transport = transport;
+        this.spoolFile = spoolFile;
+        ratePolicy = new TelemetryRatePolicy();
     }
 
     public void sendPositionMessage(AirMapFlight flight, double latitude, double longitude, @Nullable float altitudeAGL, @Nullable float altitudeMSL, @Nullable float horizontalAccuracy) {
-        long timestamp = System.currentTimeMillis();
-
-        Telemetry.Position positionMessage = Telemetry.Position.newBuilder()
-                .setTimestamp(timestamp)
-                .setLatitude(latitude)
-                .setLongitude(longitude)
-                .setAltitudeAgl(altitudeAGL)
-                .setAltitudeMsl(altitudeMSL)
-                .setHorizontalAccuracy(horizontalAccuracy)
-                .build();
-
-        sendTelemetry(flight, positionMessage);
+        slotsFor(flight).setPosition(System.currentTimeMillis(), latitude, longitude, altitudeAGL, altitudeMSL, horizontalAccuracy);
     }
 
     public void sendAttitudeMessage(AirMapFlight flight, float yaw, float pitch, float roll) {
-        long timestamp = System.currentTimeMillis();
-
-        Telemetry.Attitude attitudeMessage = Telemetry.Attitude.newBuilder()
-                .setTimestamp(timestamp)
-                .setYaw(yaw)
-                .setPitch(pitch)
-                .setRoll(roll)
-                .build();
-
-        sendTelemetry(flight, attitudeMessage);
+        slotsFor(flight).setAttitude(System.currentTimeMillis(), yaw, pitch, roll);
     }
 
     public void sendSpeedMessage(AirMapFlight flight, float velocityX, float velocityY, float velocityZ) {
-        long timestamp = System.currentTimeMillis();
-
-        Telemetry.Speed speedMessage = Telemetry.Speed.newBuilder()
-                .setTimestamp(timestamp)
-                .setVelocityX(velocityX)
-                .setVelocityY(velocityY)
-                .setVelocityZ(velocityZ)
-                .build();
-
-        sendTelemetry(flight, speedMessage);
+        slotsFor(flight).setSpeed(System.currentTimeMillis(), velocityX, velocityY, velocityZ);
     }
 
     public void setBarometerMessage(AirMapFlight flight, float pressure) {
-        long timestamp = System.currentTimeMillis();
-
-        Telemetry.Barometer barometerMessage = Telemetry.Barometer.newBuilder()
-                .setTimestamp(timestamp)
-                .setPressure(pressure)
-                .build();
+        slotsFor(flight).setBarometer(System.currentTimeMillis(), pressure);
+    }
 
-        sendTelemetry(flight, barometerMessage);
+    /**
+     * Stops sending telemetry for a flight and releases its session. Sending another message for
+     * the flight starts a new session
+     *
+     * @param flight The flight to stop sending telemetry for
+     */
+    public void stopTelemetry(AirMapFlight flight) {
+        FlightTelemetry flightTelemetry = flights.remove(flight.getFlightId());
+        if (flightTelemetry != null) {
+            flightTelemetry.stop();
+        }
+        metrics.removeSession(flight.getFlightId());
     }
 
-    private void sendTelemetry(AirMapFlight flight, Message message) {
-        telemetry.onNext(new Pair<>(flight, message));
+    /**
+     * @return the telemetry pipeline's metrics, shared by all flights
+     */
+    public TelemetryMetrics getMetrics() {
+        return metrics;
     }
 
-    private void setupBindings() {
-        Observable<Session> session = telemetry
-                .map(new Func1<Pair<AirMapFlight, Message>, AirMapFlight>() {
-                    @Override
-                    public AirMapFlight call(Pair<AirMapFlight, Message> pair) {
-                        return pair.first;
-                    }
-                })
-                .distinctUntilChanged()
-                .flatMap(new Func1<AirMapFlight, Observable<Session>>() {
-                    @Override
-                    public Observable<Session> call(final AirMapFlight flight) {
-                        return FlightService.getCommKey(flight)
-                                .doOnError(new Action1<Throwable>() {
-                                    @Override
-                                    public void call(Throwable throwable) {
-                                        Log.e(TAG, "getCommKey failed", throwable);
-                                    }
-                                })
-                                .onErrorResumeNext(Observable.<AirMapComm>empty())
-                                .map(new Func1<AirMapComm, Session>() {
-                                    @Override
-                                    public Session call(AirMapComm airMapComm) {
-                                        return new Session(flight, airMapComm, null);
-                                    }
-                                })
-                                .subscribeOn(Schedulers.io());
-                    }
-                });
+    /**
+     * @return a copy of the rate policy currently in use
+     */
+    public TelemetryRatePolicy getRatePolicy() {
+        return new TelemetryRatePolicy(ratePolicy);
+    }
 
-        Observable<Pair<Session, Message>> flightMessages = Observable
-                .combineLatest(session, telemetry, new Func2<Session, Pair<AirMapFlight, Message>, Pair<Session, Pair<AirMapFlight, Message>>>() {
-                    @Override
-                    public Pair<Session,Pair<AirMapFlight, Message>> call(Session s, Pair<AirMapFlight, Message> p) {
-                        return new Pair<>(s, p);
-                    }
-                })
-                .filter(new Func1<Pair<Session, Pair<AirMapFlight,Message>>, Boolean>() {
-                    @Override
-                    public Boolean call(Pair<Session, Pair<AirMapFlight, Message>> p) {
-                        AirMapFlight sessionFlight = p.first.flight;
-                        AirMapFlight telemetryFlight = p.second.first;
-                        return sessionFlight.equals(telemetryFlight);
-                    }
-                })
-                .map(new Func1<Pair<Session, Pair<AirMapFlight, Message>>, Pair<Session, Message>>() {
-                    @Override
-                    public Pair<Session,Message> call(Pair<Session, Pair<AirMapFlight, Message>> pair) {
-                        return new Pair<>(pair.first, pair.second.second);
-                    }
-                });
+    /**
+     * Set how often telemetry is sampled and how it is batched. Applies to all flights, including
+     * those already sending. Later changes to the policy object have no effect until it is set
+     * again
+     *
+     * @param policy The rate policy
+     */
+    public void setRatePolicy(TelemetryRatePolicy policy) {
+        ratePolicy = new TelemetryRatePolicy(policy);
+        for (FlightTelemetry flightTelemetry : flights.values()) {
+            flightTelemetry.restartSampling();
+        }
+    }
 
-        Observable<Pair<Session,Message>> position = flightMessages
-                .filter(new Func1<Pair<Session,Message>,Boolean>() {
-                    @Override
-                    public Boolean call(Pair<Session, Message> p) {
-                        return p.second instanceof Telemetry.Position;
-                    }
-                })
-                .sample(Observable.interval(POSITION_FREQUENCY, TimeUnit.MILLISECONDS));
-
-        Observable<Pair<Session,Message>> attitude = flightMessages
-                .filter(new Func1<Pair<Session,Message>,Boolean>() {
-                    @Override
-                    public Boolean call(Pair<Session, Message> p) {
-                        return p.second instanceof Telemetry.Attitude;
-                    }
-                })
-                .sample(Observable.interval(ATTITUDE_FREQUENCY, TimeUnit.MILLISECONDS));
-
-        Observable<Pair<Session,Message>> speed = flightMessages
-                .filter(new Func1<Pair<Session,Message>,Boolean>() {
-                    @Override
-                    public Boolean call(Pair<Session, Message> p) {
-                        return p.second instanceof Telemetry.Speed;
-                    }
-                })
-                .sample(Observable.interval(SPEED_FREQUENCY, TimeUnit.MILLISECONDS));
-
-        Observable<Pair<Session,Message>> barometer = flightMessages
-                .filter(new Func1<Pair<Session,Message>,Boolean>() {
-                    @Override
-                    public Boolean call(Pair<Session, Message> p) {
-                        return p.second instanceof Telemetry.Barometer;
-                    }
-                })
-                .sample(Observable.interval(BAROMETER_FREQUENCY, TimeUnit.MILLISECONDS));
-
-        Subscription latestMessages = Observable.merge(position, attitude, speed, barometer)
-                .buffer(1, TimeUnit.SECONDS, 20)
-                .doOnNext(new Action1<List<Pair<Session,Message>>>() {
-                    @Override
-                    public void call(List<Pair<Session,Message>> sessionMessages) {
-                        sendMessages(sessionMessages);
-                    }
-                })
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(Actions.empty(), new Action1<Throwable>() {
-                    @Override
-                    public void call(Throwable throwable) {
-                        AirMapLog.e(TAG, "latestMessages Error", throwable);
-                    }
-                });
+    /**
+     * Send each batch's positions as a single delta encoded message, which takes a fraction of the
+     * bytes on metered links. Only enable this if the telemetry server accepts compact positions
+     *
+     * @param compactPositions Whether to compact positions, off by default
+     */
+    public void setCompactPositions(boolean compactPositions) {
+        this.compactPositions = compactPositions;
+    }
 
+    public boolean isCompactPositions() {
+        return compactPositions;
     }
 
-    private void sendMessages(List<Pair<Session,Message>> sessionMessages) {
-        if (sessionMessages == null || sessionMessages.isEmpty()) return;
+    // Every flight has its own slots, session and sampling, created on its first message
+    private TelemetrySlots slotsFor(AirMapFlight flight) {
+        FlightTelemetry flightTelemetry = flights.get(flight.getFlightId());
+        if (flightTelemetry == null) {
+            // only the one that got in is started, a racing one is just dropped
+            FlightTelemetry created = new FlightTelemetry(flight);
+            flightTelemetry = flights.putIfAbsent(flight.getFlightId(), created);
+            if (flightTelemetry == null) {
+                flightTelemetry = created;
+                flightTelemetry.start();
+            }
+        }
+        return flightTelemetry.slots;
+    }
 
-        Pair<Session,Message> pair = sessionMessages.get(0);
-        Session session = pair.first;
+    @Nullable
+    private static File defaultSpoolFile() {
+        Context context = AirMap.getInstance().getContext();
+        return context != null ? new File(context.getFilesDir(), SPOOL_FILE) : null;
+    }
 
-        List<Message> messages = new ArrayList<>();
-        for (Pair<Session, Message> p : sessionMessages) {
-            messages.add(p.second);
+    // Packets that can't be sent are kept here and replayed once the socket works again, including
+    // any left over from a previous run. Without a spool they are dropped. Maps and restores the
+    // file, so it is opened off the main thread when the first session starts
+    private synchronized void openSpool() {
+        if (spoolOpened || spoolFile == null) {
+            return;
+        }
+        spoolOpened = true;
+
+        try {
+            spool = new TelemetrySpool(spoolFile, TelemetrySpool.DEFAULT_CAPACITY, metrics);
+            replayer = new TelemetryReplayer(spool, transport, TelemetryReplayer.DEFAULT_PACKETS_PER_SECOND, metrics);
+            replayer.trigger();
+        } catch (IOException e) {
+            AirMapLog.e(TAG, "Unable to open telemetry spool", e);
         }
-        session.send(messages);
-        AirMapLog.d(TAG, "Send telemetry messages");
     }
 
     private void onException(Exception e) {
@@ -244,165 +187,188 @@ public class TelemetryService extends BaseService {
         e.printStackTrace();
     }
 
-    private enum Encryption {
-        NONE,
-        AES256CBC
-    }
+    private class FlightTelemetry {
+        private final AirMapFlight flight;
+        private final TelemetrySlots slots;
+        private Subscription subscription;
+        private Session session;
+        private TelemetrySampler sampler;
 
-    private enum MessageType {
-        POSITION(1),
-        SPEED(2),
-        ATTITUDE(3),
-        BAROMETER(4);
+        FlightTelemetry(AirMapFlight flight) {
+            this.flight = flight;
+            this.slots = new TelemetrySlots(metrics);
+        }
+
+        private void start() {
+            metrics.setSessionState(flight.getFlightId(), TelemetryMetrics.SessionState.AWAITING_KEY);
+            subscription = FlightService.getCommKey(flight)
+                    .doOnError(new Action1<Throwable>() {
+                        @Override
+                        public void call(Throwable throwable) {
+                            Log.e(TAG, "getCommKey failed", throwable);
+                            metrics.setSessionState(flight.getFlightId(), TelemetryMetrics.SessionState.FAILED);
+                        }
+                    })
+                    .onErrorResumeNext(Observable.<AirMapComm>empty())
+                    .map(new Func1<AirMapComm, Session>() {
+                        @Override
+                        public Session call(AirMapComm airMapComm) {
+                            openSpool();
+                            return new Session(flight, airMapComm, transport, spool, replayer);
+                        }
+                    })
+                    .subscribeOn(Schedulers.io())
+                    .subscribe(new Action1<Session>() {
+                        @Override
+                        public void call(Session session) {
+                            startSampling(session);
+                        }
+                    }, new Action1<Throwable>() {
+                        @Override
+                        public void call(Throwable throwable) {
+                            AirMapLog.e(TAG, "latestMessages Error", throwable);
+                        }
+                    });
+        }
+
+        // sampling only runs once there is a session to send to
+        private synchronized void startSampling(Session session) {
+            this.session = session;
+            metrics.setSessionState(flight.getFlightId(), TelemetryMetrics.SessionState.ACTIVE);
+            restartSampling();
+        }
 
-        public final int value;
+        private synchronized void restartSampling() {
+            if (sampler != null) {
+                sampler.stop();
+                sampler = null;
+            }
+
+            if (session == null) {
+                return;
+            }
 
-        MessageType(int value) {
-            this.value = value;
+            final Session currentSession = session;
+            sampler = new TelemetrySampler(slots, ratePolicy, new Func1<List<Message>, Boolean>() {
+                @Override
+                public Boolean call(List<Message> messages) {
+                    return currentSession.send(messages);
+                }
+            });
+            sampler.start();
+        }
+
+        private synchronized void stop() {
+            if (subscription != null) {
+                subscription.unsubscribe();
+            }
+            if (sampler != null) {
+                sampler.stop();
+            }
         }
     }
 
     private class Session {
         private AirMapComm comm;
-        private DatagramSocket socket;
+        private TelemetryTransport transport;
+        private TelemetrySpool spool;
+        private TelemetryReplayer replayer;
         private AirMapFlight flight;
+        private TelemetryCrypto crypto;
+        private TelemetryEncoder encoder;
 
         private int packetNumber;
 
-        Session(AirMapFlight flight, AirMapComm comm, DatagramSocket socket) {
+        Session(AirMapFlight flight, AirMapComm comm, TelemetryTransport transport, @Nullable TelemetrySpool spool, @Nullable TelemetryReplayer replayer) {
             this.flight = flight;
             this.comm = comm;
+            this.spool = spool;
+            this.replayer = replayer;
 
             this.packetNumber = 1;
 
-            this.socket = socket;
-            if (this.socket == null || !this.socket.isConnected()) {
+            try {
+                this.crypto = new TelemetryCrypto(comm.getKey());
+                this.encoder = new TelemetryEncoder(TelemetryEncoder.Encryption.AES256CBC, crypto);
+            } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+                Log.e(TAG, "Unable to create telemetry cipher", e);
+            }
+
+            this.transport = transport;
+            if (!transport.isConnected()) {
                 try {
-                    connect();
-                } catch (UnknownHostException | SocketException e) {
+                    transport.connect();
+                } catch (IOException e) {
                     Log.e(TAG, "Unable to connect to telemetry socket", e);
                 }
             }
         }
 
-        private void connect() throws UnknownHostException, SocketException {
-            InetAddress address = InetAddress.getByName(telemetryBaseUrl);
-            socket = new DatagramSocket();
-            socket.connect(address, telemetryPort);
-        }
-
-        //Sends the encrypted, encoded message
-        private void send(List<Message> messageList) {
-            try {
-                byte[] message = buildPacketData(comm.getKey(), flight, Encryption.AES256CBC, messageList);
-                DatagramPacket packet = new DatagramPacket(message, message.length);
-                socket.send(packet);
-                packetNumber++;
-            } catch (IOException | NoSuchAlgorithmException | InvalidKeyException | InvalidAlgorithmParameterException | NoSuchPaddingException | IllegalBlockSizeException | BadPaddingException e) {
-                Log.e(TAG, "Unable to build or send packet", e);
+        //Sends the encrypted, encoded message, returns false if the packet was spooled or dropped
+        private boolean send(List<Message> messageList) {
+            for (Message message : messageList) {
+                metrics.onBatched(TelemetryMessageType.fromMessage(message));
             }
-        }
 
-        private byte[] buildPacketData(byte[] key, AirMapFlight flight, Encryption encryption, List<Message> messageList) throws IOException, NoSuchPaddingException,
-                InvalidKeyException, NoSuchAlgorithmException, IllegalBlockSizeException, BadPaddingException, InvalidAlgorithmParameterException {
-
-            int serialNumber = packetNumber;
-
-            String flightId = flight.getFlightId();
-
-            byte flightIdLength = (byte) flightId.length();
-
-            IvParameterSpec iv = generateIv();
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            DataOutputStream daos = new DataOutputStream(baos);
-
-            daos.writeInt(serialNumber);
-            daos.writeByte(flightIdLength);
-            daos.writeBytes(flightId);
-
-            switch(encryption) {
-                case AES256CBC:
-                    daos.writeByte(1);
-                    daos.write(iv.getIV());
-                    break;
-                case NONE:
-                default:
-                    daos.writeByte(0);
-                    break;
+            if (encoder == null) {
+                Log.e(TAG, "No telemetry cipher, dropping packet");
+                onFailed(messageList, TelemetryMetrics.DropReason.NO_CIPHER);
+                return false;
             }
 
-            ByteArrayOutputStream payloadBaos = new ByteArrayOutputStream();
-            for (Message message : messageList) {
-                MessageType messageType;
-                if (message instanceof Telemetry.Position) {
-                    messageType = MessageType.POSITION;
-                } else if (message instanceof Telemetry.Speed) {
-                    messageType = MessageType.SPEED;
-                } else if (message instanceof Telemetry.Attitude) {
-                    messageType = MessageType.ATTITUDE;
-                } else if (message instanceof Telemetry.Barometer) {
-                    messageType = MessageType.BAROMETER;
+            long start = System.nanoTime();
+            try {
+                encoder.begin(packetNumber, flight.getFlightId());
+                if (compactPositions) {
+                    encoder.addCompact(messageList);
                 } else {
-                    messageType = null;
+                    for (Message message : messageList) {
+                        encoder.add(message);
+                    }
                 }
-
-                payloadBaos.write(buildMessage(messageType, message));
+                encoder.finish();
+            } catch (IOException | GeneralSecurityException e) {
+                Log.e(TAG, "Unable to build packet", e);
+                onFailed(messageList, TelemetryMetrics.DropReason.ENCODE_FAILED);
+                return false;
             }
+            metrics.onEncoded(encoder.getPacketSize(), System.nanoTime() - start);
+            packetNumber++;
 
-            byte[] encryptedPayload = encryption == Encryption.AES256CBC ? encrypt(key, iv, payloadBaos.toByteArray()) : payloadBaos.toByteArray();
-            payloadBaos.close();
-
-            daos.write(encryptedPayload);
-            daos.close();
-
-            byte[] result = baos.toByteArray();
-            baos.close();
-
-            return result;
-        }
-
-        private byte[] buildMessage(MessageType messageType, Message message) throws IOException {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            DataOutputStream daos = new DataOutputStream(baos);
-            daos.writeShort(messageType.value);
-            daos.writeShort(message.getSerializedSize());
-            daos.write(message.toByteArray());
-
-            daos.close();
-
-            byte[] result = baos.toByteArray();
-            baos.close();
-
-            return result;
-        }
-
-        //Encrypts a SecretMessage with the given key and iv
-        private byte[] encrypt(byte[] key, IvParameterSpec iv, byte[] payload) throws InvalidAlgorithmParameterException, InvalidKeyException,
-                IOException, NoSuchPaddingException, NoSuchAlgorithmException, BadPaddingException, IllegalBlockSizeException {
-
-            SecretKey secretKey = new SecretKeySpec(key, "AES");
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, iv);
-            return cipher.doFinal(payload);
-        }
+            // spooled packets go out first to keep the track in order
+            if (spool == null || spool.isEmpty()) {
+                try {
+                    if (transport.send(encoder.getHeader(), encoder.getPayload())) {
+                        metrics.onPacketSent();
+                        for (Message message : messageList) {
+                            metrics.onSent(TelemetryMessageType.fromMessage(message));
+                        }
+                        return true;
+                    }
+                } catch (IOException e) {
+                    Log.e(TAG, "Unable to send packet", e);
+                    metrics.onSocketError();
+                }
+            }
 
-        //Generates a random IV to be used for the AES encryption
-        private IvParameterSpec generateIv() {
-            int blockSize = 16;
-            byte[] iv = new byte[blockSize];
-            new SecureRandom().nextBytes(iv);
-            return new IvParameterSpec(iv);
+            if (spool != null && spool.append(encoder.getHeader(), encoder.getPayload())) {
+                metrics.onPacketSpooled();
+                onFailed(messageList, null);
+                replayer.trigger();
+            } else {
+                AirMapLog.w(TAG, "Telemetry socket not ready, dropping packet");
+                onFailed(messageList, TelemetryMetrics.DropReason.NOT_SPOOLED);
+            }
+            return false;
         }
 
-        //Converts an array of 8 bit integers to a byte array
-        private byte[] integersToBytes(int[] values) throws IOException {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            DataOutputStream dos = new DataOutputStream(baos);
-            for (int value : values) {
-                dos.writeByte(value); //Only writes the least significant byte of the int
+        private void onFailed(List<Message> messageList, @Nullable TelemetryMetrics.DropReason reason) {
+            for (Message message : messageList) {
+                metrics.onFailed(TelemetryMessageType.fromMessage(message));
+            }
+            if (reason != null) {
+                metrics.onPacketDropped(reason);
             }
-            return baos.toByteArray();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.models.Coordinate;
+import com.airmap.airmapsdk.models.traffic.AirMapTraffic;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Predicts conflicts between the ownship and traffic on the device, so alerts don't depend on the
+ * server alone. Both are assumed to keep their ground speed, heading and vertical speed; the closest
+ * point of approach (CPA) within the lookahead is found on a local flat projection around the
+ * ownship, which is accurate over the few miles alerts matter for.
+ *
+ * A target is a conflict if at its CPA it comes closer than both the horizontal and the vertical
+ * threshold. Conflicts are ranked by time to CPA, then by distance at CPA.
+ *
+ * Evaluating doesn't allocate once the engine has seen as many conflicts as it has to hold, so it
+ * can run every second over hundreds of targets. The ranked conflicts are reused by the next
+ * evaluation.
+ */
+@SuppressWarnings("unused")
+public class TrafficConflictEngine {
+
+    private static final double EARTH_RADIUS_METERS = 6371000;
+    private static final double METERS_PER_SECOND_PER_KNOT = 0.514444;
+    private static final double METERS_PER_FOOT = 0.3048;
+
+    // ownship positions older than this aren't used
+    private static final long MAX_OWNSHIP_AGE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private double lookaheadSeconds = 120;
+    private double horizontalThresholdMeters = 1000;
+    private double verticalThresholdMeters = 150;
+
+    // all guarded by this
+    private boolean hasOwnship;
+    private long ownshipTime;
+    private double ownshipLatitude;
+    private double ownshipLongitude;
+    private double ownshipAltitude;
+    private double ownshipVelocityNorth;
+    private double ownshipVelocityEast;
+    private double ownshipVelocityDown;
+
+    private Conflict[] conflicts = new Conflict[8];
+    private int conflictCount;
+
+    public TrafficConflictEngine() {
+        for (int i = 0; i < conflicts.length; i++) {
+            conflicts[i] = new Conflict();
+        }
+    }
+
+    /**
+     * @param lookahead How far ahead conflicts are predicted
+     * @param unit      The unit of the lookahead
+     */
+    public synchronized TrafficConflictEngine setLookahead(long lookahead, TimeUnit unit) {
+        this.lookaheadSeconds = unit.toMillis(lookahead) / 1000d;
+        return this;
+    }
+
+    /**
+     * @param horizontalMeters The horizontal separation below which a target is a conflict
+     * @param verticalMeters   The vertical separation below which a target is a conflict
+     */
+    public synchronized TrafficConflictEngine setThresholds(double horizontalMeters, double verticalMeters) {
+        this.horizontalThresholdMeters = horizontalMeters;
+        this.verticalThresholdMeters = verticalMeters;
+        return this;
+    }
+
+    /**
+     * @param latitude    The ownship's latitude
+     * @param longitude   The ownship's longitude
+     * @param altitudeMSL The ownship's altitude above mean sea level in meters
+     */
+    public synchronized void setOwnshipPosition(double latitude, double longitude, double altitudeMSL) {
+        hasOwnship = true;
+        ownshipTime = System.currentTimeMillis();
+        ownshipLatitude = latitude;
+        ownshipLongitude = longitude;
+        ownshipAltitude = altitudeMSL;
+    }
+
+    /**
+     * Velocity in meters per second in the North-East-Down system, like the telemetry speed message
+     */
+    public synchronized void setOwnshipVelocity(double velocityNorth, double velocityEast, double velocityDown) {
+        ownshipVelocityNorth = velocityNorth;
+        ownshipVelocityEast = velocityEast;
+        ownshipVelocityDown = velocityDown;
+    }
+
+    /**
+     * Finds and ranks the conflicts with the traffic. Traffic altitudes are in feet MSL, as the
+     * traffic service sends them
+     *
+     * @param traffic The traffic at its current, projected position
+     * @param now     The current time in millis
+     * @return the number of conflicts, 0 if there is no recent ownship position
+     */
+    public synchronized int evaluate(List<AirMapTraffic> traffic, long now) {
+        conflictCount = 0;
+        if (!hasOwnship || now - ownshipTime > MAX_OWNSHIP_AGE_MILLIS) {
+            return 0;
+        }
+
+        double cosLatitude = Math.cos(Math.toRadians(ownshipLatitude));
+        // indexed, an iterator would allocate
+        for (int i = 0; i < traffic.size(); i++) {
+            AirMapTraffic target = traffic.get(i);
+            Coordinate coordinate = target.getCoordinate();
+            if (coordinate == null) {
+                continue;
+            }
+
+            // position relative to the ownship
+            double deltaLongitude = coordinate.getLongitude() - ownshipLongitude;
+            if (deltaLongitude > 180) {
+                deltaLongitude -= 360;
+            } else if (deltaLongitude < -180) {
+                deltaLongitude += 360;
+            }
+            double east = Math.toRadians(deltaLongitude) * cosLatitude * EARTH_RADIUS_METERS;
+            double north = Math.toRadians(coordinate.getLatitude() - ownshipLatitude) * EARTH_RADIUS_METERS;
+
+            // velocity relative to the ownship, unknown speed or heading is taken as hovering
+            double targetEast = 0;
+            double targetNorth = 0;
+            if (target.getGroundSpeedKt() > -1 && target.getTrueHeading() > -1) {
+                double speed = target.getGroundSpeedKt() * METERS_PER_SECOND_PER_KNOT;
+                double heading = Math.toRadians(target.getTrueHeading());
+                targetEast = speed * Math.sin(heading);
+                targetNorth = speed * Math.cos(heading);
+            }
+            double velocityEast = targetEast - ownshipVelocityEast;
+            double velocityNorth = targetNorth - ownshipVelocityNorth;
+
+            // time at which the distance is smallest, within now and the lookahead
+            double speedSquared = velocityEast * velocityEast + velocityNorth * velocityNorth;
+            double timeToCpa = speedSquared < 1e-6 ? 0 : -(east * velocityEast + north * velocityNorth) / speedSquared;
+            timeToCpa = Math.max(0, Math.min(lookaheadSeconds, timeToCpa));
+
+            double cpaEast = east + velocityEast * timeToCpa;
+            double cpaNorth = north + velocityNorth * timeToCpa;
+            double horizontal = Math.sqrt(cpaEast * cpaEast + cpaNorth * cpaNorth);
+            double vertical = Math.abs(target.getAltitude() * METERS_PER_FOOT - (ownshipAltitude - ownshipVelocityDown * timeToCpa));
+
+            if (horizontal < horizontalThresholdMeters && vertical < verticalThresholdMeters) {
+                add(target, timeToCpa, horizontal, vertical, Math.sqrt(east * east + north * north));
+            }
+        }
+        return conflictCount;
+    }
+
+    /**
+     * @return the number of conflicts found by the last evaluation
+     */
+    public synchronized int getConflictCount() {
+        return conflictCount;
+    }
+
+    /**
+     * @param rank The rank of the conflict, 0 is the most urgent
+     * @return the conflict, valid until the next evaluation
+     */
+    public synchronized Conflict getConflict(int rank) {
+        if (rank < 0 || rank >= conflictCount) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " of " + conflictCount + " conflicts");
+        }
+        return conflicts[rank];
+    }
+
+    // guarded by this
+    private void add(AirMapTraffic target, double timeToCpa, double horizontal, double vertical, double distance) {
+        if (conflictCount == conflicts.length) {
+            Conflict[] grown = new Conflict[conflicts.length * 2];
+            System.arraycopy(conflicts, 0, grown, 0, conflicts.length);
+            for (int i = conflicts.length; i < grown.length; i++) {
+                grown[i] = new Conflict();
+            }
+            conflicts = grown;
+        }
+
+        // insertion sort, there are few conflicts compared to targets
+        Conflict conflict = conflicts[conflictCount];
+        conflict.set(target, timeToCpa, horizontal, vertical, distance);
+        int position = conflictCount++;
+        while (position > 0 && conflict.isMoreUrgentThan(conflicts[position - 1])) {
+            conflicts[position] = conflicts[position - 1];
+            position--;
+        }
+        conflicts[position] = conflict;
+    }
+
+    /**
+     * A predicted conflict with one target
+     */
+    public static class Conflict {
+        private AirMapTraffic traffic;
+        private double timeToCpa;
+        private double horizontalDistance;
+        private double verticalDistance;
+        private double currentDistance;
+
+        private void set(AirMapTraffic traffic, double timeToCpa, double horizontalDistance, double verticalDistance, double currentDistance) {
+            this.traffic = traffic;
+            this.timeToCpa = timeToCpa;
+            this.horizontalDistance = horizontalDistance;
+            this.verticalDistance = verticalDistance;
+            this.currentDistance = currentDistance;
+        }
+
+        private boolean isMoreUrgentThan(Conflict other) {
+            return timeToCpa < other.timeToCpa || (timeToCpa == other.timeToCpa && horizontalDistance < other.horizontalDistance);
+        }
+
+        public AirMapTraffic getTraffic() {
+            return traffic;
+        }
+
+        /**
+         * @return the seconds until the closest point of approach, 0 if it is now
+         */
+        public double getTimeToCpa() {
+            return timeToCpa;
+        }
+
+        /**
+         * @return the horizontal distance in meters at the closest point of approach
+         */
+        public double getHorizontalDistance() {
+            return horizontalDistance;
+        }
+
+        /**
+         * @return the vertical distance in meters at the closest point of approach
+         */
+        public double getVerticalDistance() {
+            return verticalDistance;
+        }
+
+        /**
+         * @return the horizontal distance in meters now
+         */
+        public double getCurrentDistance() {
+            return currentDistance;
+        }
+    }
+}
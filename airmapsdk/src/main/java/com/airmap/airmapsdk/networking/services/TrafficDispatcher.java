@@ -0,0 +1,143 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.models.traffic.AirMapTraffic;
+import com.airmap.airmapsdk.networking.callbacks.AirMapTrafficListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.functions.Action0;
+
+/**
+ * Delivers traffic changes to the {@link AirMapTrafficListener}s once per frame. Changes within a
+ * frame are merged by traffic id into one diff, so a target that was updated several times is
+ * delivered once with its latest state, and one that was added and removed again isn't delivered
+ * at all. Empty diffs aren't delivered.
+ *
+ * Listeners get unmodifiable lists, added first, then updated, then removed.
+ */
+class TrafficDispatcher {
+
+    static final long DEFAULT_FRAME_MILLIS = 250;
+
+    private final List<AirMapTrafficListener> listeners;
+
+    // all guarded by this
+    private Scheduler.Worker worker;
+    private long frameMillis = DEFAULT_FRAME_MILLIS;
+    private Map<String, AirMapTraffic> added = new LinkedHashMap<>();
+    private Map<String, AirMapTraffic> updated = new LinkedHashMap<>();
+    private Map<String, AirMapTraffic> removed = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    /**
+     * @param listeners The listeners to deliver to, read on every delivery
+     * @param scheduler The scheduler to deliver on
+     */
+    TrafficDispatcher(List<AirMapTrafficListener> listeners, Scheduler scheduler) {
+        this.listeners = listeners;
+        this.worker = scheduler.createWorker();
+    }
+
+    /**
+     * @param scheduler The scheduler to deliver on. Pending changes are delivered on the new one
+     */
+    synchronized void setScheduler(Scheduler scheduler) {
+        worker.unsubscribe();
+        worker = scheduler.createWorker();
+        flushScheduled = false;
+        scheduleFlush();
+    }
+
+    /**
+     * @param frame How long changes are collected before they are delivered
+     */
+    synchronized void setFrameInterval(long frame, TimeUnit unit) {
+        frameMillis = unit.toMillis(frame);
+    }
+
+    synchronized void added(List<AirMapTraffic> traffic) {
+        for (AirMapTraffic target : traffic) {
+            // the listeners still have it if it was removed in this frame
+            if (removed.remove(target.getId()) != null) {
+                updated.put(target.getId(), target);
+            } else {
+                added.put(target.getId(), target);
+            }
+        }
+        scheduleFlush();
+    }
+
+    synchronized void updated(List<AirMapTraffic> traffic) {
+        for (AirMapTraffic target : traffic) {
+            // the listeners don't have it yet if it was added in this frame
+            if (added.containsKey(target.getId())) {
+                added.put(target.getId(), target);
+            } else {
+                updated.put(target.getId(), target);
+            }
+        }
+        scheduleFlush();
+    }
+
+    synchronized void removed(List<AirMapTraffic> traffic) {
+        for (AirMapTraffic target : traffic) {
+            // the listeners never saw it if it was added in this frame
+            if (added.remove(target.getId()) == null) {
+                updated.remove(target.getId());
+                removed.put(target.getId(), target);
+            }
+        }
+        scheduleFlush();
+    }
+
+    // guarded by this
+    private void scheduleFlush() {
+        if (flushScheduled || (added.isEmpty() && updated.isEmpty() && removed.isEmpty())) {
+            return;
+        }
+
+        flushScheduled = true;
+        worker.schedule(new Action0() {
+            @Override
+            public void call() {
+                flush();
+            }
+        }, frameMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        List<AirMapTraffic> added;
+        List<AirMapTraffic> updated;
+        List<AirMapTraffic> removed;
+        synchronized (this) {
+            flushScheduled = false;
+            added = Collections.unmodifiableList(new ArrayList<>(this.added.values()));
+            updated = Collections.unmodifiableList(new ArrayList<>(this.updated.values()));
+            removed = Collections.unmodifiableList(new ArrayList<>(this.removed.values()));
+            this.added = new LinkedHashMap<>();
+            this.updated = new LinkedHashMap<>();
+            this.removed = new LinkedHashMap<>();
+        }
+
+        for (AirMapTrafficListener listener : listeners) {
+            if (listener == null) {
+                continue;
+            }
+            if (!added.isEmpty()) {
+                listener.onAddTraffic(added);
+            }
+            if (!updated.isEmpty()) {
+                listener.onUpdateTraffic(updated);
+            }
+            if (!removed.isEmpty()) {
+                listener.onRemoveTraffic(removed);
+            }
+        }
+    }
+}
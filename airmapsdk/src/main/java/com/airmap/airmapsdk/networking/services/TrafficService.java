@@ -24,11 +24,19 @@ import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.Subscription;
+import rx.android.schedulers.AndroidSchedulers;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
 
 @SuppressWarnings("unused")
 public class TrafficService extends BaseService {
@@ -41,12 +49,22 @@ public class TrafficService extends BaseService {
     private MqttAndroidClient client;
     private MqttConnectOptions options;
     private List<AirMapTrafficListener> listeners;
-    private List<AirMapTraffic> allTraffic;
-    private ConnectionState connectionState;
+    private TrafficStore allTraffic;
+    private TrafficDispatcher dispatcher;
+    private TrafficConflictEngine conflictEngine;
+    private Set<String> predictedAlerts = new HashSet<>(); //Only used by the projections
+    private volatile ConnectionState connectionState;
     private CurrentFlightAirMapCallback currentFlightCallback;
     private IMqttActionListener actionListener;
     private String flightId;
-    private boolean checkForUpdatedFlight;
+
+    // projections and flight checks run on the worker only while there are listeners
+    private final Scheduler.Worker worker;
+    private long projectionIntervalMillis = TimeUnit.SECONDS.toMillis(1);
+    private long flightCheckIntervalMillis = TimeUnit.MINUTES.toMillis(1);
+    // guarded by this
+    private Subscription projections;
+    private Subscription flightCheck;
 
     /**
      * Initialize an TrafficService to receive traffic alerts and situational awareness
@@ -54,6 +72,14 @@ public class TrafficService extends BaseService {
      * @param context An Android Context
      */
     public TrafficService(Context context) {
+        this(context, Schedulers.computation());
+    }
+
+    /**
+     * @param context   An Android Context
+     * @param scheduler The scheduler to project and expire traffic and check the current flight on
+     */
+    public TrafficService(Context context, Scheduler scheduler) {
         String clientId = UUID.randomUUID().toString();
         client = new MqttAndroidClient(context, mqttBaseUrl, clientId);
         client.setCallback(new MqttEventCallback());
@@ -62,39 +88,92 @@ public class TrafficService extends BaseService {
         options.setKeepAliveInterval(15);
         options.setPassword(AirMap.getInstance().getAuthToken().toCharArray());
         connectionState = ConnectionState.Disconnected;
-        allTraffic = new CopyOnWriteArrayList<>(); //Thread safe list
-        listeners = new ArrayList<>();
-        checkForUpdatedFlight = false;
-        currentFlightCallback = new CurrentFlightAirMapCallback();
-        actionListener = new MqttActionCallback();
-        new Timer().scheduleAtFixedRate(new TimerTask() {
+        allTraffic = new TrafficStore(scheduler, new Action1<List<AirMapTraffic>>() {
             @Override
-            public void run() {
-                clearOldTraffic();
-                updateTrafficProjections();
+            public void call(List<AirMapTraffic> expired) {
+                notifyRemoved(expired);
             }
-        }, 0, 1000); //Clear old traffic every second
+        });
+        listeners = new CopyOnWriteArrayList<>(); //Read on every delivery, rarely changed
+        dispatcher = new TrafficDispatcher(listeners, AndroidSchedulers.mainThread());
+        conflictEngine = new TrafficConflictEngine();
+        currentFlightCallback = new CurrentFlightAirMapCallback();
+        actionListener = new MqttActionCallback();
+        worker = scheduler.createWorker();
+    }
 
-        new Timer().scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (checkForUpdatedFlight) {
-                    AirMap.getCurrentFlight(new AirMapCallback<AirMapFlight>() {
-                        @Override
-                        public void onSuccess(AirMapFlight response) {
-                            if (response != null && !response.getFlightId().equals(flightId)) {
-                                connect();
-                            }
-                        }
+    /**
+     * Sets how often traffic is projected along its heading. Takes effect on the next connection
+     */
+    public void setProjectionInterval(long interval, TimeUnit unit) {
+        projectionIntervalMillis = unit.toMillis(interval);
+    }
 
-                        @Override
-                        public void onError(AirMapException e) {
-                            e.printStackTrace();
-                        }
-                    });
-                }
-            }
-        }, 0, 1000 * 60); //Update current flight every minute
+    /**
+     * Sets the ownship's position for the on-device conflict prediction. Until it is set, and
+     * while it is older than 10 seconds, only the server raises alerts
+     *
+     * @param latitude    The ownship's latitude
+     * @param longitude   The ownship's longitude
+     * @param altitudeMSL The ownship's altitude above mean sea level in meters
+     */
+    public void setOwnshipPosition(double latitude, double longitude, double altitudeMSL) {
+        conflictEngine.setOwnshipPosition(latitude, longitude, altitudeMSL);
+    }
+
+    /**
+     * Sets the ownship's velocity in meters per second in the North-East-Down system
+     */
+    public void setOwnshipVelocity(double velocityNorth, double velocityEast, double velocityDown) {
+        conflictEngine.setOwnshipVelocity(velocityNorth, velocityEast, velocityDown);
+    }
+
+    /**
+     * @return the engine that predicts conflicts on the device, to change its thresholds or read
+     * the ranked conflicts
+     */
+    public TrafficConflictEngine getConflictEngine() {
+        return conflictEngine;
+    }
+
+    /**
+     * @param coordinate The center of the query
+     * @param meters     The radius of the query
+     * @return the current traffic within the radius, nearest first
+     */
+    public List<AirMapTraffic> getTrafficWithin(Coordinate coordinate, double meters) {
+        return allTraffic.within(coordinate, meters);
+    }
+
+    /**
+     * @param coordinate The center of the query
+     * @param count      The most traffic to return
+     * @return the current traffic nearest the coordinate, nearest first
+     */
+    public List<AirMapTraffic> getNearestTraffic(Coordinate coordinate, int count) {
+        return allTraffic.nearest(coordinate, count);
+    }
+
+    /**
+     * Sets the scheduler the listeners are called on, the main thread by default
+     */
+    public void setNotificationScheduler(Scheduler scheduler) {
+        dispatcher.setScheduler(scheduler);
+    }
+
+    /**
+     * Sets how long traffic changes are collected and merged before the listeners are called
+     */
+    public void setNotificationInterval(long interval, TimeUnit unit) {
+        dispatcher.setFrameInterval(interval, unit);
+    }
+
+    /**
+     * Sets how often the current flight is checked for a change while connected. Takes effect on
+     * the next connection
+     */
+    public void setFlightCheckInterval(long interval, TimeUnit unit) {
+        flightCheckIntervalMillis = unit.toMillis(interval);
     }
 
     /**
@@ -123,9 +202,9 @@ public class TrafficService extends BaseService {
         }
         AirMapLog.i(TAG, "Disconnecting from alerts");
         removeAllTraffic();
+        stopProjections();
         try {
             client.disconnect(connectionState, actionListener);
-            checkForUpdatedFlight = false;
         } catch (MqttException e) {
             AirMapLog.e(TAG, "Error disconnecting", e);
         } finally {
@@ -152,6 +231,9 @@ public class TrafficService extends BaseService {
      */
     public void removeAllListeners() {
         listeners.clear();
+        // traffic that still arrives is expired by the store
+        stopProjections();
+        stopFlightCheck();
     }
 
     /**
@@ -168,7 +250,8 @@ public class TrafficService extends BaseService {
      */
     private void onConnect() {
         connectionState = ConnectionState.Connected;
-        checkForUpdatedFlight = true;
+        startProjections();
+        startFlightCheck();
         subscribe(String.format(trafficAlertChannel, flightId));
         subscribe(String.format(situationalAwarenessChannel, flightId));
     }
@@ -182,28 +265,114 @@ public class TrafficService extends BaseService {
 
     private void onDisconnect(boolean retry) {
         connectionState = ConnectionState.Disconnected;
-        checkForUpdatedFlight = false;
+        // projections keep running until the traffic left over has expired, which the store does
+        stopFlightCheck();
         if (retry) {
             connect(); //Reconnect
         }
     }
 
+    private synchronized void startProjections() {
+        if (projections != null) {
+            return;
+        }
+
+        projections = worker.schedulePeriodically(new Action0() {
+            @Override
+            public void call() {
+                updateTrafficProjections();
+                if (listeners.isEmpty() || (connectionState != ConnectionState.Connected && allTraffic.size() == 0)) {
+                    stopProjections();
+                }
+            }
+        }, 0, projectionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void stopProjections() {
+        if (projections != null) {
+            projections.unsubscribe();
+            projections = null;
+        }
+    }
+
+    private synchronized void startFlightCheck() {
+        if (flightCheck != null) {
+            return;
+        }
+
+        flightCheck = worker.schedulePeriodically(new Action0() {
+            @Override
+            public void call() {
+                AirMap.getCurrentFlight(new AirMapCallback<AirMapFlight>() {
+                    @Override
+                    public void onSuccess(AirMapFlight response) {
+                        if (response != null && !response.getFlightId().equals(flightId)) {
+                            connect();
+                        }
+                    }
+
+                    @Override
+                    public void onError(AirMapException e) {
+                        e.printStackTrace();
+                    }
+                });
+            }
+        }, flightCheckIntervalMillis, flightCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void stopFlightCheck() {
+        if (flightCheck != null) {
+            flightCheck.unsubscribe();
+            flightCheck = null;
+        }
+    }
+
     /**
      * Update all the traffic projections based on their heading and ground speed
      */
     private void updateTrafficProjections() {
+        List<AirMapTraffic> allTraffic = this.allTraffic.snapshot();
         List<AirMapTraffic> updated = new ArrayList<>();
         for (AirMapTraffic traffic : allTraffic) {
             if (traffic.getGroundSpeedKt() > -1 && traffic.getTrueHeading() > -1) {
-                allTraffic.remove(traffic);
                 Coordinate projected = projectedCoordinate(traffic);
-                traffic.setCoordinate(projected);
+                this.allTraffic.move(traffic, projected);
                 traffic.setShowAlert(false);
-                allTraffic.add(traffic);
                 updated.add(traffic);
             }
         }
         notifyUpdated(updated);
+        predictConflicts(allTraffic);
+    }
+
+    /**
+     * Raises an alert for situational awareness traffic that the conflict engine predicts to come
+     * too close, in case the server's alert is late or the connection dropped. The alert is a copy,
+     * the stored traffic keeps its type and is delivered again once the conflict isn't predicted.
+     *
+     * @param allTraffic The traffic at its projected position
+     */
+    private void predictConflicts(List<AirMapTraffic> allTraffic) {
+        List<AirMapTraffic> changed = new ArrayList<>();
+        Set<String> predicted = new HashSet<>();
+        int conflicts = conflictEngine.evaluate(allTraffic, System.currentTimeMillis());
+        for (int i = 0; i < conflicts; i++) {
+            AirMapTraffic traffic = conflictEngine.getConflict(i).getTraffic();
+            if (traffic.getTrafficType() != AirMapTraffic.TrafficType.Alert) {
+                AirMapTraffic alert = new AirMapTraffic(traffic)
+                        .setTrafficType(AirMapTraffic.TrafficType.Alert)
+                        .setShowAlert(!predictedAlerts.contains(traffic.getId()));
+                predicted.add(traffic.getId());
+                changed.add(alert);
+            }
+        }
+        for (AirMapTraffic traffic : allTraffic) {
+            if (predictedAlerts.contains(traffic.getId()) && !predicted.contains(traffic.getId())) {
+                changed.add(traffic);
+            }
+        }
+        predictedAlerts = predicted;
+        notifyUpdated(changed);
     }
 
     /**
@@ -263,33 +432,16 @@ public class TrafficService extends BaseService {
             temp.setTrafficType(trafficType);
             Coordinate projected = projectedCoordinate(temp);
             temp.setCoordinate(projected);
-            int index = allTraffic.indexOf(temp);
-            if (index != -1) {
-                allTraffic.set(index, temp);
-                updated.add(temp);
-            } else {
-                allTraffic.add(temp);
+            if (allTraffic.put(temp)) {
                 added.add(temp);
+            } else {
+                updated.add(temp);
             }
         }
         notifyUpdated(updated);
         notifyAdded(added);
     }
 
-    /**
-     * Get rid of traffic that is no longer valid (the traffic is expired)
-     */
-    private void clearOldTraffic() {
-        List<AirMapTraffic> oldAllTraffic = new ArrayList<>();
-        for (AirMapTraffic traffic : allTraffic) {
-            if (trafficExpired(traffic)) {
-                oldAllTraffic.add(traffic);
-                allTraffic.remove(traffic);
-            }
-        }
-        notifyRemoved(oldAllTraffic);
-    }
-
     /**
      * Subscribe to the specified channel
      *
@@ -318,75 +470,50 @@ public class TrafficService extends BaseService {
         }
     }
 
-    /**
-     * Checks if the traffic is older than the validity interval
-     *
-     * @param traffic the traffic to check the validity of
-     * @return whether the traffic is expired (no longer valid)
-     */
-    private boolean trafficExpired(AirMapTraffic traffic) {
-        int timeInterval = 30;
-        return new Date(traffic.getIncomingTime().getTime() + timeInterval * 1000).before(new Date());
-    }
-
     /**
      * Removes all traffic from the list and notifies the listener
      */
     private void removeAllTraffic() {
-        List<AirMapTraffic> removed = new ArrayList<>(allTraffic);
-        allTraffic.clear();
-        notifyRemoved(removed);
+        notifyRemoved(allTraffic.clear());
     }
 
     /**
-     * Notify the listeners that traffic has been removed
+     * Queue the removed traffic for the listeners' next diff
      *
      * @param removed a list of all traffic that was removed
      */
     private void notifyRemoved(List<AirMapTraffic> removed) {
-        if (removed == null) {
+        if (removed == null || removed.isEmpty()) {
             return;
         }
 
-        for (AirMapTrafficListener listener : listeners) {
-            if (listener != null) {
-                listener.onRemoveTraffic(removed);
-            }
-        }
+        dispatcher.removed(removed);
     }
 
     /**
-     * Notify the listeners that traffic has been added
+     * Queue the added traffic for the listeners' next diff
      *
      * @param added a list of all traffic that was added
      */
     private void notifyAdded(List<AirMapTraffic> added) {
-        if (added == null) {
+        if (added == null || added.isEmpty()) {
             return;
         }
 
-        for (AirMapTrafficListener listener : listeners) {
-            if (listener != null) {
-                listener.onAddTraffic(added);
-            }
-        }
+        dispatcher.added(added);
     }
 
     /**
-     * Notify the listeners that traffic has been updated
+     * Queue the updated traffic for the listeners' next diff
      *
      * @param updated a list of all traffic that was updated
      */
     private void notifyUpdated(List<AirMapTraffic> updated) {
-        if (updated == null) {
+        if (updated == null || updated.isEmpty()) {
             return;
         }
 
-        for (AirMapTrafficListener listener : listeners) {
-            if (listener != null) {
-                listener.onUpdateTraffic(updated);
-            }
-        }
+        dispatcher.updated(updated);
     }
 
     private class CurrentFlightAirMapCallback extends AirMapCallback<AirMapFlight> {
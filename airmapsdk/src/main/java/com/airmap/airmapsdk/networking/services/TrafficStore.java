@@ -0,0 +1,180 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.models.Coordinate;
+import com.airmap.airmapsdk.models.traffic.AirMapTraffic;
+import com.airmap.airmapsdk.util.SpatialIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.functions.Action1;
+
+/**
+ * The traffic currently known to the {@link TrafficService}, keyed by traffic id. Adding, updating
+ * and expiring a target is O(1), reads return a snapshot that isn't affected by later changes.
+ *
+ * Every stored target is also queued with its expiry time. All targets live equally long from
+ * when they arrived, so the queue is in expiry order and expiring only looks at its head. An
+ * update leaves the old entry in the queue, it is skipped once it reaches the head. Expiring runs
+ * on its own when the head is due, whether or not anyone is looking at the traffic, so the queue
+ * is drained and nothing outlives its expiry.
+ *
+ * The traffic is also indexed by its coordinate for proximity queries. Changes are serialized so
+ * the map and the index agree, reads of the map don't lock.
+ */
+class TrafficStore {
+
+    static final long EXPIRY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final double INDEX_CELL_METERS = 2000;
+
+    private final ConcurrentMap<String, AirMapTraffic> traffic = new ConcurrentHashMap<>();
+    private final Queue<Expiry> expiries = new ConcurrentLinkedQueue<>();
+    private final SpatialIndex<AirMapTraffic> index = new SpatialIndex<>(INDEX_CELL_METERS);
+    private final Scheduler scheduler;
+    private final Scheduler.Worker worker;
+    private final Action1<List<AirMapTraffic>> onExpired;
+
+    // guarded by this
+    private Subscription expiryCheck;
+
+    /**
+     * @param scheduler The scheduler to expire traffic on, its clock decides when traffic expires
+     * @param onExpired Called with the traffic that expired
+     */
+    TrafficStore(Scheduler scheduler, Action1<List<AirMapTraffic>> onExpired) {
+        this.scheduler = scheduler;
+        this.worker = scheduler.createWorker();
+        this.onExpired = onExpired;
+    }
+
+    /**
+     * Adds the traffic or replaces the traffic with the same id
+     *
+     * @return whether the traffic is new
+     */
+    synchronized boolean put(AirMapTraffic target) {
+        boolean added = traffic.put(target.getId(), target) == null;
+        expiries.add(new Expiry(target, target.getIncomingTime().getTime() + EXPIRY_MILLIS));
+        index.put(target, target.getCoordinate());
+        scheduleExpiryCheck();
+        return added;
+    }
+
+    /**
+     * Moves the traffic to its projected coordinate
+     */
+    synchronized void move(AirMapTraffic target, Coordinate coordinate) {
+        target.setCoordinate(coordinate);
+        if (traffic.get(target.getId()) == target) {
+            index.put(target, coordinate);
+        }
+    }
+
+    /**
+     * Removes the traffic that arrived more than {@link #EXPIRY_MILLIS} before now and wasn't
+     * updated since
+     *
+     * @param now The current time in millis
+     * @return the removed traffic
+     */
+    synchronized List<AirMapTraffic> removeExpired(long now) {
+        List<AirMapTraffic> removed = new ArrayList<>();
+        Expiry expiry;
+        while ((expiry = expiries.peek()) != null && expiry.expiresAt < now) {
+            expiries.poll();
+            // only removes the target if it wasn't updated since. By reference, traffic is equal by id
+            if (traffic.get(expiry.target.getId()) == expiry.target) {
+                traffic.remove(expiry.target.getId());
+                index.remove(expiry.target);
+                removed.add(expiry.target);
+            }
+        }
+        return removed;
+    }
+
+    // guarded by this
+    private void scheduleExpiryCheck() {
+        Expiry head = expiries.peek();
+        if (expiryCheck != null || head == null) {
+            return;
+        }
+
+        // traffic expires once it is strictly older than its expiry time
+        long delay = Math.max(0, head.expiresAt - scheduler.now()) + 1;
+        expiryCheck = worker.schedule(new Action0() {
+            @Override
+            public void call() {
+                checkExpiry();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkExpiry() {
+        List<AirMapTraffic> removed;
+        synchronized (this) {
+            expiryCheck = null;
+            removed = removeExpired(scheduler.now());
+            scheduleExpiryCheck();
+        }
+        if (!removed.isEmpty()) {
+            onExpired.call(removed);
+        }
+    }
+
+    /**
+     * @return the current traffic
+     */
+    List<AirMapTraffic> snapshot() {
+        return new ArrayList<>(traffic.values());
+    }
+
+    /**
+     * Removes all traffic
+     *
+     * @return the removed traffic
+     */
+    synchronized List<AirMapTraffic> clear() {
+        List<AirMapTraffic> removed = new ArrayList<>(traffic.values());
+        traffic.clear();
+        index.clear();
+        // the queued expiries are skipped once they reach the head
+        return removed;
+    }
+
+    /**
+     * @return the traffic within the distance, nearest first
+     */
+    List<AirMapTraffic> within(Coordinate coordinate, double meters) {
+        return index.within(coordinate, meters);
+    }
+
+    /**
+     * @return the traffic nearest the coordinate, nearest first
+     */
+    List<AirMapTraffic> nearest(Coordinate coordinate, int count) {
+        return index.nearest(coordinate, count);
+    }
+
+    int size() {
+        return traffic.size();
+    }
+
+    private static class Expiry {
+        final AirMapTraffic target;
+        final long expiresAt;
+
+        Expiry(AirMapTraffic target, long expiresAt) {
+            this.target = target;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
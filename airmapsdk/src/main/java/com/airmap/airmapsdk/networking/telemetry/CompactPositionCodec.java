@@ -0,0 +1,125 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import com.airmap.airmapsdk.models.Telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts runs of {@link Telemetry.Position} to and from {@link Telemetry.CompactPositions}.
+ *
+ * Coordinates are rounded to 1e-7 degrees, the precision positions are required to have, and
+ * altitudes and accuracy to centimeters. Deltas are computed with wrapping int arithmetic, so
+ * crossing the antimeridian still decodes to the exact fixed-point value.
+ */
+public class CompactPositionCodec {
+
+    private static final double DEGREES_SCALE = 1e7;
+    private static final float METERS_SCALE = 100;
+
+    private CompactPositionCodec() {
+    }
+
+    /**
+     * @param positions The positions in the order they were sampled, at least one
+     * @return the positions as a single compact message
+     */
+    public static Telemetry.CompactPositions encode(List<Telemetry.Position> positions) {
+        if (positions.isEmpty()) {
+            throw new IllegalArgumentException("At least one position is required");
+        }
+
+        Telemetry.Position first = positions.get(0);
+        long timestamp = first.getTimestamp();
+        int latitude = toFixed(first.getLatitude());
+        int longitude = toFixed(first.getLongitude());
+        int altitudeAgl = toFixed(first.getAltitudeAgl());
+        int altitudeMsl = toFixed(first.getAltitudeMsl());
+        int horizontalAccuracy = toFixed(first.getHorizontalAccuracy());
+
+        Telemetry.CompactPositions.Builder builder = Telemetry.CompactPositions.newBuilder()
+                .setTimestamp(timestamp)
+                .setLatitude(latitude)
+                .setLongitude(longitude)
+                .setAltitudeAgl(altitudeAgl)
+                .setAltitudeMsl(altitudeMsl)
+                .setHorizontalAccuracy(horizontalAccuracy);
+
+        for (int i = 1; i < positions.size(); i++) {
+            Telemetry.Position position = positions.get(i);
+            int nextLatitude = toFixed(position.getLatitude());
+            int nextLongitude = toFixed(position.getLongitude());
+            int nextAltitudeAgl = toFixed(position.getAltitudeAgl());
+            int nextAltitudeMsl = toFixed(position.getAltitudeMsl());
+            int nextHorizontalAccuracy = toFixed(position.getHorizontalAccuracy());
+
+            builder.addTimestampDelta(position.getTimestamp() - timestamp)
+                    .addLatitudeDelta(nextLatitude - latitude)
+                    .addLongitudeDelta(nextLongitude - longitude)
+                    .addAltitudeAglDelta(nextAltitudeAgl - altitudeAgl)
+                    .addAltitudeMslDelta(nextAltitudeMsl - altitudeMsl)
+                    .addHorizontalAccuracyDelta(nextHorizontalAccuracy - horizontalAccuracy);
+
+            timestamp = position.getTimestamp();
+            latitude = nextLatitude;
+            longitude = nextLongitude;
+            altitudeAgl = nextAltitudeAgl;
+            altitudeMsl = nextAltitudeMsl;
+            horizontalAccuracy = nextHorizontalAccuracy;
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param compact A compact message
+     * @return the positions it holds, rounded to the compact precision
+     * @throws IllegalArgumentException if the delta lists don't all have the same length
+     */
+    public static List<Telemetry.Position> decode(Telemetry.CompactPositions compact) {
+        int deltas = compact.getTimestampDeltaCount();
+        if (compact.getLatitudeDeltaCount() != deltas || compact.getLongitudeDeltaCount() != deltas
+                || compact.getAltitudeAglDeltaCount() != deltas || compact.getAltitudeMslDeltaCount() != deltas
+                || compact.getHorizontalAccuracyDeltaCount() != deltas) {
+            throw new IllegalArgumentException("Compact positions have mismatched deltas");
+        }
+
+        long timestamp = compact.getTimestamp();
+        int latitude = compact.getLatitude();
+        int longitude = compact.getLongitude();
+        int altitudeAgl = compact.getAltitudeAgl();
+        int altitudeMsl = compact.getAltitudeMsl();
+        int horizontalAccuracy = compact.getHorizontalAccuracy();
+
+        List<Telemetry.Position> positions = new ArrayList<>(deltas + 1);
+        positions.add(fromFixed(timestamp, latitude, longitude, altitudeAgl, altitudeMsl, horizontalAccuracy));
+        for (int i = 0; i < deltas; i++) {
+            timestamp += compact.getTimestampDelta(i);
+            latitude += compact.getLatitudeDelta(i);
+            longitude += compact.getLongitudeDelta(i);
+            altitudeAgl += compact.getAltitudeAglDelta(i);
+            altitudeMsl += compact.getAltitudeMslDelta(i);
+            horizontalAccuracy += compact.getHorizontalAccuracyDelta(i);
+            positions.add(fromFixed(timestamp, latitude, longitude, altitudeAgl, altitudeMsl, horizontalAccuracy));
+        }
+        return positions;
+    }
+
+    private static int toFixed(double degrees) {
+        return (int) Math.round(degrees * DEGREES_SCALE);
+    }
+
+    private static int toFixed(float meters) {
+        return Math.round(meters * METERS_SCALE);
+    }
+
+    private static Telemetry.Position fromFixed(long timestamp, int latitude, int longitude, int altitudeAgl, int altitudeMsl, int horizontalAccuracy) {
+        return Telemetry.Position.newBuilder()
+                .setTimestamp(timestamp)
+                .setLatitude(latitude / DEGREES_SCALE)
+                .setLongitude(longitude / DEGREES_SCALE)
+                .setAltitudeAgl(altitudeAgl / METERS_SCALE)
+                .setAltitudeMsl(altitudeMsl / METERS_SCALE)
+                .setHorizontalAccuracy(horizontalAccuracy / METERS_SCALE)
+                .build();
+    }
+}
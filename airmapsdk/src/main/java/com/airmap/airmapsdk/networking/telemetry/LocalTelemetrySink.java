@@ -0,0 +1,146 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import android.support.annotation.Nullable;
+
+import com.airmap.airmapsdk.AirMapLog;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process UDP receiver on the loopback interface that decodes telemetry packets with a
+ * {@link TelemetryDecoder}. Point a {@link UdpTelemetryTransport} at {@link #getPort()} to run the
+ * whole wire path without AirMap's telemetry endpoint.
+ *
+ * The most recent {@link #MAX_QUEUED} packets can be taken with {@link #poll(long, TimeUnit)},
+ * older ones are only counted.
+ */
+public class LocalTelemetrySink {
+
+    private static final String TAG = "LocalTelemetrySink";
+
+    public static final int MAX_QUEUED = 1024;
+
+    private final DatagramChannel channel;
+    private final TelemetryDecoder decoder;
+    private final BlockingQueue<TelemetryDecoder.Packet> packets;
+    private final AtomicLong packetsReceived;
+    private final AtomicLong bytesReceived;
+    private final AtomicLong decodeErrors;
+
+    private Thread receiver;
+
+    /**
+     * Binds to an ephemeral port on the loopback interface
+     *
+     * @param key The comm key to decrypt packets with, or null for unencrypted telemetry
+     */
+    public LocalTelemetrySink(@Nullable byte[] key) throws IOException, GeneralSecurityException {
+        decoder = new TelemetryDecoder(key);
+        packets = new LinkedBlockingQueue<>(MAX_QUEUED);
+        packetsReceived = new AtomicLong();
+        bytesReceived = new AtomicLong();
+        decodeErrors = new AtomicLong();
+
+        channel = DatagramChannel.open();
+        channel.socket().bind(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0));
+    }
+
+    public String getHost() {
+        return "127.0.0.1";
+    }
+
+    public int getPort() {
+        return channel.socket().getLocalPort();
+    }
+
+    /**
+     * Starts receiving on a background thread
+     */
+    public synchronized void start() {
+        if (receiver != null) {
+            return;
+        }
+
+        receiver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receive();
+            }
+        }, TAG);
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    /**
+     * @return the next decoded packet, or null if none arrived in time
+     */
+    @Nullable
+    public TelemetryDecoder.Packet poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return packets.poll(timeout, unit);
+    }
+
+    public long getPacketsReceived() {
+        return packetsReceived.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * @return the number of packets that couldn't be decrypted or parsed
+     */
+    public long getDecodeErrors() {
+        return decodeErrors.get();
+    }
+
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            AirMapLog.e(TAG, "Unable to close telemetry sink", e);
+        }
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryEncoder.MAX_PACKET_SIZE);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                AirMapLog.e(TAG, "Unable to receive telemetry", e);
+                return;
+            }
+
+            packetsReceived.incrementAndGet();
+            bytesReceived.addAndGet(buffer.remaining());
+
+            TelemetryDecoder.Packet packet;
+            try {
+                packet = decoder.decode(buffer);
+            } catch (GeneralSecurityException | IOException e) {
+                decodeErrors.incrementAndGet();
+                continue;
+            }
+
+            // keep the most recent packets
+            while (!packets.offer(packet)) {
+                packets.poll();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Per-session AES-256-CBC context for telemetry packets. The cipher and key are created once and
+ * only re-initialized with a new IV for each packet. IVs are drawn from a single SecureRandom that
+ * is seeded on first use.
+ *
+ * Not thread safe, a session should only encrypt from one thread at a time.
+ */
+public class TelemetryCrypto {
+
+    public static final int IV_LENGTH = 16;
+
+    private static final String ALGORITHM = "AES";
+    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+
+    private final SecretKeySpec secretKey;
+    private final Cipher cipher;
+    private final SecureRandom random;
+    private final byte[] iv;
+
+    /**
+     * Create a crypto context for the given comm key
+     *
+     * @param key The AES key received from the start-comm endpoint
+     */
+    public TelemetryCrypto(byte[] key) throws NoSuchAlgorithmException, NoSuchPaddingException {
+        this(key, new SecureRandom());
+    }
+
+    TelemetryCrypto(byte[] key, SecureRandom random) throws NoSuchAlgorithmException, NoSuchPaddingException {
+        this.secretKey = new SecretKeySpec(key, ALGORITHM);
+        this.cipher = Cipher.getInstance(TRANSFORMATION);
+        this.random = random;
+        this.iv = new byte[IV_LENGTH];
+    }
+
+    /**
+     * Generates the IV for the next packet. The returned array is reused by the next call
+     *
+     * @return the IV that the next call to {@link #encrypt(byte[])} will use
+     */
+    public byte[] nextIv() {
+        random.nextBytes(iv);
+        return iv;
+    }
+
+    /**
+     * Encrypts the payload with the IV generated by the last call to {@link #nextIv()}
+     *
+     * @param payload The plaintext payload
+     * @return the encrypted payload
+     */
+    public byte[] encrypt(byte[] payload) throws GeneralSecurityException {
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(iv));
+        return cipher.doFinal(payload);
+    }
+
+    /**
+     * Encrypts the remaining bytes of the input into the output buffer with the IV generated by
+     * the last call to {@link #nextIv()}. Both buffers' positions are advanced
+     *
+     * @param input  The plaintext payload
+     * @param output The buffer to write the encrypted payload to, must have at least
+     *               {@link #getOutputSize(int)} bytes remaining
+     * @return the number of bytes written to the output
+     */
+    public int encrypt(ByteBuffer input, ByteBuffer output) throws GeneralSecurityException {
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(iv));
+        return cipher.doFinal(input, output);
+    }
+
+    /**
+     * @param inputLength The length of a plaintext payload
+     * @return the maximum length of the encrypted payload
+     */
+    public static int getOutputSize(int inputLength) {
+        // PKCS5 always pads with between 1 and a full block
+        return (inputLength / IV_LENGTH + 1) * IV_LENGTH;
+    }
+}
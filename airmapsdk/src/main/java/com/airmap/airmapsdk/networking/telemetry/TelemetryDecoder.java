@@ -0,0 +1,138 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import android.support.annotation.Nullable;
+
+import com.airmap.airmapsdk.models.Telemetry;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Parses telemetry packets the way the telemetry server does: the header (serial number, flight
+ * id, encryption flag and IV), then the payload, decrypted with the flight's comm key, as
+ * type/length framed protobuf messages. Meant for loopback testing and benchmarking.
+ *
+ * Not thread safe.
+ */
+public class TelemetryDecoder {
+
+    private final SecretKeySpec key;
+    private final Cipher cipher;
+
+    /**
+     * @param key The comm key to decrypt payloads with, or null to only accept unencrypted packets
+     */
+    public TelemetryDecoder(@Nullable byte[] key) throws GeneralSecurityException {
+        this.key = key != null ? new SecretKeySpec(key, "AES") : null;
+        this.cipher = key != null ? Cipher.getInstance("AES/CBC/PKCS5Padding") : null;
+    }
+
+    /**
+     * @param packet A whole packet, read from its position to its limit
+     * @return the decoded packet
+     * @throws GeneralSecurityException      if the payload can't be decrypted
+     * @throws InvalidProtocolBufferException if the packet is malformed
+     */
+    public Packet decode(ByteBuffer packet) throws GeneralSecurityException, InvalidProtocolBufferException {
+        try {
+            int serialNumber = packet.getInt();
+            byte[] flightId = new byte[packet.get() & 0xff];
+            packet.get(flightId);
+            boolean encrypted = packet.get() != 0;
+
+            byte[] payload;
+            if (encrypted) {
+                if (cipher == null) {
+                    throw new GeneralSecurityException("Encrypted packet but no key");
+                }
+                byte[] iv = new byte[TelemetryCrypto.IV_LENGTH];
+                packet.get(iv);
+                byte[] ciphertext = new byte[packet.remaining()];
+                packet.get(ciphertext);
+                cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
+                payload = cipher.doFinal(ciphertext);
+            } else {
+                payload = new byte[packet.remaining()];
+                packet.get(payload);
+            }
+
+            return new Packet(serialNumber, new String(flightId, "ISO-8859-1"), encrypted, decodeMessages(ByteBuffer.wrap(payload)));
+        } catch (BufferUnderflowException | UnsupportedEncodingException e) {
+            throw new InvalidProtocolBufferException("Truncated telemetry packet");
+        }
+    }
+
+    private static List<Message> decodeMessages(ByteBuffer payload) throws InvalidProtocolBufferException {
+        List<Message> messages = new ArrayList<>();
+        while (payload.hasRemaining()) {
+            int type = payload.getShort() & 0xffff;
+            byte[] message = new byte[payload.getShort() & 0xffff];
+            payload.get(message);
+            messages.add(parse(type, message));
+        }
+        return messages;
+    }
+
+    private static Message parse(int type, byte[] message) throws InvalidProtocolBufferException {
+        for (TelemetryMessageType messageType : TelemetryMessageType.values()) {
+            if (messageType.value != type) {
+                continue;
+            }
+
+            switch (messageType) {
+                case POSITION:
+                    return Telemetry.Position.parseFrom(message);
+                case SPEED:
+                    return Telemetry.Speed.parseFrom(message);
+                case ATTITUDE:
+                    return Telemetry.Attitude.parseFrom(message);
+                case BAROMETER:
+                    return Telemetry.Barometer.parseFrom(message);
+                case COMPACT_POSITION:
+                    return Telemetry.CompactPositions.parseFrom(message);
+            }
+        }
+        throw new InvalidProtocolBufferException("Unknown telemetry message type " + type);
+    }
+
+    public static class Packet {
+        private final int serialNumber;
+        private final String flightId;
+        private final boolean encrypted;
+        private final List<Message> messages;
+
+        Packet(int serialNumber, String flightId, boolean encrypted, List<Message> messages) {
+            this.serialNumber = serialNumber;
+            this.flightId = flightId;
+            this.encrypted = encrypted;
+            this.messages = Collections.unmodifiableList(messages);
+        }
+
+        public int getSerialNumber() {
+            return serialNumber;
+        }
+
+        public String getFlightId() {
+            return flightId;
+        }
+
+        public boolean isEncrypted() {
+            return encrypted;
+        }
+
+        public List<Message> getMessages() {
+            return messages;
+        }
+    }
+}
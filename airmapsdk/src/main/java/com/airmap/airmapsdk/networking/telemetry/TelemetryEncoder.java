@@ -0,0 +1,207 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import android.support.annotation.Nullable;
+
+import com.airmap.airmapsdk.models.Telemetry;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes telemetry packets into reusable buffers. A packet is split into a header buffer (serial
+ * number, flight id, encryption flag and IV) and a payload buffer holding the, optionally
+ * encrypted, type/length framed protobuf messages. Nothing is copied into intermediate arrays.
+ *
+ * The header and encrypted payload are direct buffers so they can be handed to a channel without
+ * another copy. Messages are serialized into a heap buffer because protobuf's direct buffer
+ * encoder relies on Unsafe address access, which is not reliable across runtimes.
+ *
+ * Usage is {@link #begin(int, String)}, one or more {@link #add(Message)}, then {@link #finish()},
+ * after which {@link #getHeader()} and {@link #getPayload()} are ready to be written. The buffers
+ * are reused by the next packet.
+ *
+ * Not thread safe, a session should only encode from one thread at a time.
+ */
+public class TelemetryEncoder {
+
+    public enum Encryption {
+        NONE,
+        AES256CBC
+    }
+
+    // serial number + flight id length + flight id + encryption flag + iv
+    private static final int MAX_HEADER_SIZE = 4 + 1 + 255 + 1 + TelemetryCrypto.IV_LENGTH;
+
+    // type + length
+    private static final int FRAME_HEADER_SIZE = 2 + 2;
+
+    public static final int MAX_PAYLOAD_SIZE = 8192;
+
+    public static final int MAX_PACKET_SIZE = MAX_HEADER_SIZE + TelemetryCrypto.getOutputSize(MAX_PAYLOAD_SIZE);
+
+    private final Encryption encryption;
+    private final TelemetryCrypto crypto;
+
+    private final ByteBuffer header;
+    private final ByteBuffer plaintext;
+    private final ByteBuffer encrypted;
+    private final List<Telemetry.Position> positions;
+    private ByteBuffer payload;
+
+    private CodedOutputStream output;
+
+    /**
+     * @param encryption The encryption to apply to the payload
+     * @param crypto     The session's crypto context, required for {@link Encryption#AES256CBC}
+     */
+    public TelemetryEncoder(Encryption encryption, @Nullable TelemetryCrypto crypto) {
+        if (encryption == Encryption.AES256CBC && crypto == null) {
+            throw new IllegalArgumentException("Encrypted telemetry requires a crypto context");
+        }
+
+        this.encryption = encryption;
+        this.crypto = crypto;
+
+        header = ByteBuffer.allocateDirect(MAX_HEADER_SIZE);
+        plaintext = ByteBuffer.allocate(MAX_PAYLOAD_SIZE);
+        encrypted = encryption == Encryption.AES256CBC ? ByteBuffer.allocateDirect(TelemetryCrypto.getOutputSize(MAX_PAYLOAD_SIZE)) : null;
+        positions = new ArrayList<>();
+    }
+
+    /**
+     * Starts a new packet, discarding the previous one
+     *
+     * @param serialNumber The packet's serial number
+     * @param flightId     The id of the flight the telemetry belongs to
+     */
+    public void begin(int serialNumber, String flightId) {
+        header.clear();
+        header.putInt(serialNumber);
+        header.put((byte) flightId.length());
+        for (int i = 0; i < flightId.length(); i++) {
+            // only the low byte of each char is sent, same as DataOutputStream.writeBytes
+            header.put((byte) flightId.charAt(i));
+        }
+
+        switch (encryption) {
+            case AES256CBC:
+                header.put((byte) 1);
+                header.put(crypto.nextIv());
+                break;
+            case NONE:
+            default:
+                header.put((byte) 0);
+                break;
+        }
+        header.flip();
+
+        plaintext.clear();
+        output = CodedOutputStream.newInstance(plaintext);
+        payload = null;
+    }
+
+    /**
+     * Adds a message to the current packet
+     *
+     * @param message A Telemetry message
+     * @throws IOException if the message doesn't fit in the packet
+     */
+    public void add(Message message) throws IOException {
+        TelemetryMessageType type = TelemetryMessageType.fromMessage(message);
+        int size = message.getSerializedSize();
+        if (output.spaceLeft() < FRAME_HEADER_SIZE + size) {
+            throw new IOException("Telemetry packet exceeds " + MAX_PAYLOAD_SIZE + " bytes");
+        }
+
+        writeShort(type.value);
+        writeShort(size);
+        message.writeTo(output);
+    }
+
+    /**
+     * Adds a batch of messages to the current packet, sending all of its positions as a single
+     * {@link Telemetry.CompactPositions} message ahead of the other messages
+     *
+     * @param messages Telemetry messages in the order they were sampled
+     * @throws IOException if the messages don't fit in the packet
+     */
+    public void addCompact(List<Message> messages) throws IOException {
+        positions.clear();
+        for (Message message : messages) {
+            if (message instanceof Telemetry.Position) {
+                positions.add((Telemetry.Position) message);
+            }
+        }
+
+        if (!positions.isEmpty()) {
+            add(CompactPositionCodec.encode(positions));
+            positions.clear();
+        }
+
+        for (Message message : messages) {
+            if (!(message instanceof Telemetry.Position)) {
+                add(message);
+            }
+        }
+    }
+
+    /**
+     * Finishes the current packet, encrypting the payload if needed
+     */
+    public void finish() throws IOException, GeneralSecurityException {
+        output.flush();
+        plaintext.flip();
+
+        switch (encryption) {
+            case AES256CBC:
+                encrypted.clear();
+                crypto.encrypt(plaintext, encrypted);
+                encrypted.flip();
+                payload = encrypted;
+                break;
+            case NONE:
+            default:
+                payload = plaintext;
+                break;
+        }
+    }
+
+    /**
+     * @return the header of the finished packet, ready to be read
+     */
+    public ByteBuffer getHeader() {
+        return header;
+    }
+
+    /**
+     * @return the payload of the finished packet, ready to be read
+     */
+    public ByteBuffer getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return the total size of the finished packet in bytes
+     */
+    public int getPacketSize() {
+        return header.remaining() + payload.remaining();
+    }
+
+    /**
+     * @param message A Telemetry message
+     * @return the number of payload bytes the message takes up in a packet, including framing
+     */
+    public static int getFramedSize(Message message) {
+        return FRAME_HEADER_SIZE + message.getSerializedSize();
+    }
+
+    private void writeShort(int value) throws IOException {
+        output.writeRawByte((byte) (value >> 8));
+        output.writeRawByte((byte) value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import com.airmap.airmapsdk.models.Telemetry;
+import com.google.protobuf.Message;
+
+/**
+ * The type ids used to frame each message in a telemetry packet
+ */
+public enum TelemetryMessageType {
+    POSITION(1, true),
+    SPEED(2, true),
+    ATTITUDE(3, true),
+    BAROMETER(4, true),
+    // sent in place of a batch's positions, never sampled on its own
+    COMPACT_POSITION(5, false);
+
+    public final int value;
+
+    /**
+     * Whether the type has its own slot to sample
+     */
+    public final boolean sampled;
+
+    TelemetryMessageType(int value, boolean sampled) {
+        this.value = value;
+        this.sampled = sampled;
+    }
+
+    /**
+     * @param message A Telemetry message
+     * @return the type of the message
+     * @throws IllegalArgumentException if the message is not a supported Telemetry message
+     */
+    public static TelemetryMessageType fromMessage(Message message) {
+        if (message instanceof Telemetry.Position) {
+            return POSITION;
+        } else if (message instanceof Telemetry.Speed) {
+            return SPEED;
+        } else if (message instanceof Telemetry.Attitude) {
+            return ATTITUDE;
+        } else if (message instanceof Telemetry.Barometer) {
+            return BAROMETER;
+        } else if (message instanceof Telemetry.CompactPositions) {
+            return COMPACT_POSITION;
+        }
+        throw new IllegalArgumentException("Unsupported telemetry message: " + message.getClass().getSimpleName());
+    }
+}
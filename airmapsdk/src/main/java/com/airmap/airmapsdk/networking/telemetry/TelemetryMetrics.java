@@ -0,0 +1,258 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import com.airmap.airmapsdk.util.Histogram;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * Counters and histograms for the telemetry pipeline, from messages offered to the slots down to
+ * packets on the socket. Recording is lock free and allocation free so it can stay on the send
+ * path. Poll {@link #getSnapshot()} or subscribe to {@link #observe(long, TimeUnit)}.
+ *
+ * Per message type, a message is either superseded by a newer value before it was sampled, or
+ * batched. A batched message is then sent, or failed if its packet was spooled or dropped.
+ */
+@SuppressWarnings("unused")
+public class TelemetryMetrics {
+
+    public enum SessionState {
+        // waiting for the flight's comm key
+        AWAITING_KEY,
+        // sampling and sending
+        ACTIVE,
+        // the comm key couldn't be fetched, nothing is sent
+        FAILED
+    }
+
+    public enum DropReason {
+        // the session's cipher couldn't be created
+        NO_CIPHER,
+        // the batch couldn't be encoded or encrypted
+        ENCODE_FAILED,
+        // the socket wasn't ready and there is no spool
+        NOT_SPOOLED,
+        // a spooled packet was overwritten before it could be replayed
+        SPOOL_OVERWRITTEN
+    }
+
+    private static final int TYPES = TelemetryMessageType.values().length;
+
+    private final AtomicLongArray offered = new AtomicLongArray(TYPES);
+    private final AtomicLongArray superseded = new AtomicLongArray(TYPES);
+    private final AtomicLongArray batched = new AtomicLongArray(TYPES);
+    private final AtomicLongArray sent = new AtomicLongArray(TYPES);
+    private final AtomicLongArray failed = new AtomicLongArray(TYPES);
+    private final AtomicLongArray dropped = new AtomicLongArray(DropReason.values().length);
+
+    private final AtomicLong packetsSent = new AtomicLong();
+    private final AtomicLong packetsSpooled = new AtomicLong();
+    private final AtomicLong packetsReplayed = new AtomicLong();
+    private final AtomicLong socketErrors = new AtomicLong();
+
+    // 16 bytes to 16kB
+    private final Histogram packetSize = new Histogram(16, 11);
+    // 8us to 64ms
+    private final Histogram encodeMicros = new Histogram(8, 14);
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+    public void onOffered(TelemetryMessageType type, boolean supersedes) {
+        offered.incrementAndGet(type.ordinal());
+        if (supersedes) {
+            superseded.incrementAndGet(type.ordinal());
+        }
+    }
+
+    public void onBatched(TelemetryMessageType type) {
+        batched.incrementAndGet(type.ordinal());
+    }
+
+    public void onSent(TelemetryMessageType type) {
+        sent.incrementAndGet(type.ordinal());
+    }
+
+    public void onFailed(TelemetryMessageType type) {
+        failed.incrementAndGet(type.ordinal());
+    }
+
+    /**
+     * @param bytes The size of the encoded packet
+     * @param nanos How long encoding and encrypting took
+     */
+    public void onEncoded(int bytes, long nanos) {
+        packetSize.record(bytes);
+        encodeMicros.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void onPacketSent() {
+        packetsSent.incrementAndGet();
+    }
+
+    public void onPacketSpooled() {
+        packetsSpooled.incrementAndGet();
+    }
+
+    public void onPacketReplayed() {
+        packetsReplayed.incrementAndGet();
+    }
+
+    public void onPacketDropped(DropReason reason) {
+        dropped.incrementAndGet(reason.ordinal());
+    }
+
+    public void onSocketError() {
+        socketErrors.incrementAndGet();
+    }
+
+    public void setSessionState(String flightId, SessionState state) {
+        sessions.put(flightId, state);
+    }
+
+    public void removeSession(String flightId) {
+        sessions.remove(flightId);
+    }
+
+    /**
+     * @return the current values of all metrics
+     */
+    public Snapshot getSnapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * @param interval How often to take a snapshot
+     * @param unit     The unit of the interval
+     * @return snapshots of the metrics, emitted periodically on the computation scheduler
+     */
+    public Observable<Snapshot> observe(long interval, TimeUnit unit) {
+        return Observable.interval(0, interval, unit)
+                .map(new Func1<Long, Snapshot>() {
+                    @Override
+                    public Snapshot call(Long tick) {
+                        return getSnapshot();
+                    }
+                });
+    }
+
+    /**
+     * Immutable copy of the metrics at one point in time
+     */
+    public static class Snapshot {
+        private final long[] offered;
+        private final long[] superseded;
+        private final long[] batched;
+        private final long[] sent;
+        private final long[] failed;
+        private final long[] dropped;
+        private final long packetsSent;
+        private final long packetsSpooled;
+        private final long packetsReplayed;
+        private final long socketErrors;
+        private final Histogram.Snapshot packetSize;
+        private final Histogram.Snapshot encodeMicros;
+        private final Map<String, SessionState> sessions;
+
+        private Snapshot(TelemetryMetrics metrics) {
+            offered = toArray(metrics.offered);
+            superseded = toArray(metrics.superseded);
+            batched = toArray(metrics.batched);
+            sent = toArray(metrics.sent);
+            failed = toArray(metrics.failed);
+            dropped = toArray(metrics.dropped);
+            packetsSent = metrics.packetsSent.get();
+            packetsSpooled = metrics.packetsSpooled.get();
+            packetsReplayed = metrics.packetsReplayed.get();
+            socketErrors = metrics.socketErrors.get();
+            packetSize = metrics.packetSize.snapshot();
+            encodeMicros = metrics.encodeMicros.snapshot();
+            sessions = Collections.unmodifiableMap(new HashMap<>(metrics.sessions));
+        }
+
+        /**
+         * @return the number of values set for the type
+         */
+        public long getOffered(TelemetryMessageType type) {
+            return offered[type.ordinal()];
+        }
+
+        /**
+         * @return the number of values overwritten by a newer one before they were sampled
+         */
+        public long getSuperseded(TelemetryMessageType type) {
+            return superseded[type.ordinal()];
+        }
+
+        public long getBatched(TelemetryMessageType type) {
+            return batched[type.ordinal()];
+        }
+
+        public long getSent(TelemetryMessageType type) {
+            return sent[type.ordinal()];
+        }
+
+        /**
+         * @return the number of batched messages whose packet was spooled or dropped
+         */
+        public long getFailed(TelemetryMessageType type) {
+            return failed[type.ordinal()];
+        }
+
+        public long getDropped(DropReason reason) {
+            return dropped[reason.ordinal()];
+        }
+
+        public long getPacketsSent() {
+            return packetsSent;
+        }
+
+        public long getPacketsSpooled() {
+            return packetsSpooled;
+        }
+
+        public long getPacketsReplayed() {
+            return packetsReplayed;
+        }
+
+        public long getSocketErrors() {
+            return socketErrors;
+        }
+
+        /**
+         * @return the distribution of encoded packet sizes in bytes
+         */
+        public Histogram.Snapshot getPacketSize() {
+            return packetSize;
+        }
+
+        /**
+         * @return the distribution of encode and encrypt times in microseconds
+         */
+        public Histogram.Snapshot getEncodeMicros() {
+            return encodeMicros;
+        }
+
+        /**
+         * @return the session state of every flight sending telemetry, by flight id
+         */
+        public Map<String, SessionState> getSessions() {
+            return sessions;
+        }
+    }
+
+    private static long[] toArray(AtomicLongArray counters) {
+        long[] values = new long[counters.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counters.get(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,184 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controls how often each telemetry message type is sampled and how samples are batched into
+ * packets. Lower intervals and latency reduce delay at the cost of bandwidth; a smaller batch size
+ * keeps packets under the link's MTU.
+ *
+ * When adaptive, sampling is slowed down by up to {@link #getMaxDownshift()} times while the
+ * socket can't keep up, and sped back up once packets go out again.
+ */
+@SuppressWarnings("unused")
+public class TelemetryRatePolicy {
+
+    public static final int DEFAULT_MTU = 1500;
+
+    // IPv6 + UDP headers, the larger of the two IP versions
+    private static final int IP_UDP_HEADER_SIZE = 40 + 8;
+
+    // serial number + flight id length + flight id of up to 64 chars + encryption flag + iv
+    private static final int PACKET_HEADER_SIZE = 4 + 1 + 64 + 1 + TelemetryCrypto.IV_LENGTH;
+
+    private long positionInterval = 200;
+    private long attitudeInterval = 200;
+    private long speedInterval = 200;
+    private long barometerInterval = 5000;
+
+    private int maxBatchBytes = maxPayloadForMtu(DEFAULT_MTU);
+    private long maxBatchLatency = 1000;
+
+    private boolean adaptive = true;
+    private int maxDownshift = 8;
+
+    public TelemetryRatePolicy() {
+    }
+
+    public TelemetryRatePolicy(TelemetryRatePolicy policy) {
+        positionInterval = policy.positionInterval;
+        attitudeInterval = policy.attitudeInterval;
+        speedInterval = policy.speedInterval;
+        barometerInterval = policy.barometerInterval;
+        maxBatchBytes = policy.maxBatchBytes;
+        maxBatchLatency = policy.maxBatchLatency;
+        adaptive = policy.adaptive;
+        maxDownshift = policy.maxDownshift;
+    }
+
+    /**
+     * @param type The message type
+     * @return the sampling interval of the type in milliseconds
+     */
+    public long getInterval(TelemetryMessageType type) {
+        switch (type) {
+            case POSITION:
+            case COMPACT_POSITION:
+                return positionInterval;
+            case ATTITUDE:
+                return attitudeInterval;
+            case SPEED:
+                return speedInterval;
+            case BAROMETER:
+            default:
+                return barometerInterval;
+        }
+    }
+
+    /**
+     * Set how often a message type is sampled. Only the latest value in each interval is sent
+     *
+     * @param type     The message type
+     * @param interval The sampling interval, must be positive
+     * @param unit     The unit of the interval
+     */
+    public TelemetryRatePolicy setInterval(TelemetryMessageType type, long interval, TimeUnit unit) {
+        long millis = unit.toMillis(interval);
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Interval must be at least 1ms");
+        }
+
+        switch (type) {
+            case POSITION:
+            case COMPACT_POSITION:
+                positionInterval = millis;
+                break;
+            case ATTITUDE:
+                attitudeInterval = millis;
+                break;
+            case SPEED:
+                speedInterval = millis;
+                break;
+            case BAROMETER:
+                barometerInterval = millis;
+                break;
+        }
+        return this;
+    }
+
+    /**
+     * @return the maximum size of a packet's unencrypted payload in bytes
+     */
+    public int getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    /**
+     * Set the maximum size of a packet's unencrypted payload. A single message larger than this is
+     * still sent on its own
+     *
+     * @param maxBatchBytes The maximum payload size in bytes
+     */
+    public TelemetryRatePolicy setMaxBatchBytes(int maxBatchBytes) {
+        if (maxBatchBytes <= 0) {
+            throw new IllegalArgumentException("Max batch bytes must be positive");
+        }
+        this.maxBatchBytes = Math.min(maxBatchBytes, TelemetryEncoder.MAX_PAYLOAD_SIZE);
+        return this;
+    }
+
+    /**
+     * Size batches so that encrypted packets fit in a single datagram on a link with this MTU
+     *
+     * @param mtu The link's MTU in bytes
+     */
+    public TelemetryRatePolicy setMtu(int mtu) {
+        return setMaxBatchBytes(maxPayloadForMtu(mtu));
+    }
+
+    /**
+     * @return the longest a sample waits in a batch before it is sent, in milliseconds
+     */
+    public long getMaxBatchLatency() {
+        return maxBatchLatency;
+    }
+
+    /**
+     * Set the longest a sample waits in a batch before it is sent
+     *
+     * @param latency The maximum latency
+     * @param unit    The unit of the latency
+     */
+    public TelemetryRatePolicy setMaxBatchLatency(long latency, TimeUnit unit) {
+        maxBatchLatency = Math.max(0, unit.toMillis(latency));
+        return this;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * @param adaptive Whether to slow down sampling while the socket can't keep up
+     */
+    public TelemetryRatePolicy setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        return this;
+    }
+
+    public int getMaxDownshift() {
+        return maxDownshift;
+    }
+
+    /**
+     * @param maxDownshift The most sampling intervals can be multiplied by while the socket can't
+     *                     keep up
+     */
+    public TelemetryRatePolicy setMaxDownshift(int maxDownshift) {
+        if (maxDownshift < 1) {
+            throw new IllegalArgumentException("Max downshift must be at least 1");
+        }
+        this.maxDownshift = maxDownshift;
+        return this;
+    }
+
+    // largest plaintext whose AES/CBC/PKCS5 ciphertext still fits in the datagram
+    private static int maxPayloadForMtu(int mtu) {
+        int encryptedBudget = mtu - IP_UDP_HEADER_SIZE - PACKET_HEADER_SIZE;
+        int blocks = encryptedBudget / TelemetryCrypto.IV_LENGTH;
+        if (blocks < 1) {
+            throw new IllegalArgumentException("MTU of " + mtu + " is too small for telemetry");
+        }
+        return blocks * TelemetryCrypto.IV_LENGTH - 1;
+    }
+}
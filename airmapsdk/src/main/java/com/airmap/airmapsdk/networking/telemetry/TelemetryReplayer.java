@@ -0,0 +1,114 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import com.airmap.airmapsdk.AirMapLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+/**
+ * Drains a {@link TelemetrySpool} in order once the transport accepts packets again. Packets are
+ * sent at no more than a fixed rate so a long outage doesn't flood the link, and a packet is only
+ * removed from the spool after it was sent.
+ *
+ * The replayer only runs while the spool has packets, call {@link #trigger()} after spooling.
+ */
+public class TelemetryReplayer {
+
+    private static final String TAG = "TelemetryReplayer";
+
+    public static final int DEFAULT_PACKETS_PER_SECOND = 50;
+
+    private static final long TICK = 100;
+
+    private final TelemetrySpool spool;
+    private final TelemetryTransport transport;
+    private final TelemetryMetrics metrics;
+    private final int packetsPerTick;
+    private final Scheduler.Worker worker;
+    private final ByteBuffer packet;
+
+    private Subscription replay;
+
+    /**
+     * @param spool            The spool to drain
+     * @param transport        The transport to send to
+     * @param packetsPerSecond The most packets to replay per second
+     * @param metrics          Counts replayed packets and socket errors
+     */
+    public TelemetryReplayer(TelemetrySpool spool, TelemetryTransport transport, int packetsPerSecond, TelemetryMetrics metrics) {
+        this(spool, transport, packetsPerSecond, metrics, Schedulers.io());
+    }
+
+    /**
+     * @param scheduler The scheduler to replay on
+     */
+    public TelemetryReplayer(TelemetrySpool spool, TelemetryTransport transport, int packetsPerSecond, TelemetryMetrics metrics, Scheduler scheduler) {
+        this.spool = spool;
+        this.transport = transport;
+        this.metrics = metrics;
+        this.packetsPerTick = Math.max(1, (int) (packetsPerSecond * TICK / 1000));
+        this.worker = scheduler.createWorker();
+        this.packet = ByteBuffer.allocate(TelemetryEncoder.MAX_PACKET_SIZE);
+    }
+
+    /**
+     * Starts replaying if the spool has packets and the replayer isn't running already
+     */
+    public synchronized void trigger() {
+        if (replay != null || worker.isUnsubscribed() || spool.isEmpty()) {
+            return;
+        }
+
+        replay = worker.schedulePeriodically(new Action0() {
+            @Override
+            public void call() {
+                replay();
+            }
+        }, TICK, TICK, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops replaying for good, packets left in the spool are kept
+     */
+    public synchronized void stop() {
+        worker.unsubscribe();
+        replay = null;
+    }
+
+    private void replay() {
+        for (int i = 0; i < packetsPerTick; i++) {
+            long sequence = spool.peek(packet);
+            if (sequence < 0) {
+                finish();
+                return;
+            }
+
+            try {
+                if (!transport.send(packet)) {
+                    // still offline or backed up, try again next tick
+                    return;
+                }
+            } catch (IOException e) {
+                AirMapLog.e(TAG, "Unable to replay telemetry packet", e);
+                metrics.onSocketError();
+                return;
+            }
+            spool.remove(sequence);
+            metrics.onPacketReplayed();
+        }
+    }
+
+    private synchronized void finish() {
+        // a packet could have been spooled since the last peek
+        if (replay != null && spool.isEmpty()) {
+            replay.unsubscribe();
+            replay = null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import com.google.protobuf.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+/**
+ * Samples a flight's {@link TelemetrySlots} according to a {@link TelemetryRatePolicy} and groups
+ * the samples into batches that fit the policy's byte budget. A batch is sent as soon as the next
+ * sample wouldn't fit, or once its oldest sample reaches the policy's max latency.
+ *
+ * All sampling and sending happens on a single worker, so batches for a flight are sent in order.
+ */
+public class TelemetrySampler {
+
+    // consecutive sent batches before an adaptive downshift is halved again
+    private static final int RECOVERY_BATCHES = 10;
+
+    private final TelemetrySlots slots;
+    private final TelemetryRatePolicy policy;
+    private final Func1<List<Message>, Boolean> sender;
+    private final Scheduler.Worker worker;
+
+    private final List<Message> batch;
+    private final long[] ticks;
+    private int batchBytes;
+    private Subscription flushTimer;
+
+    private volatile int downshift;
+    private int sentBatches;
+
+    /**
+     * @param slots  The slots to sample
+     * @param policy The rate policy, must not be modified afterwards
+     * @param sender Sends a batch, returns false if it couldn't be sent because the socket is
+     *               backed up. The list is reused once the call returns
+     */
+    public TelemetrySampler(TelemetrySlots slots, TelemetryRatePolicy policy, Func1<List<Message>, Boolean> sender) {
+        this(slots, policy, sender, Schedulers.computation());
+    }
+
+    /**
+     * @param scheduler The scheduler to sample and send on
+     */
+    public TelemetrySampler(TelemetrySlots slots, TelemetryRatePolicy policy, Func1<List<Message>, Boolean> sender, Scheduler scheduler) {
+        this.slots = slots;
+        this.policy = policy;
+        this.sender = sender;
+        this.worker = scheduler.createWorker();
+        this.batch = new ArrayList<>();
+        this.ticks = new long[TelemetryMessageType.values().length];
+        this.downshift = 1;
+    }
+
+    public void start() {
+        for (final TelemetryMessageType type : TelemetryMessageType.values()) {
+            if (!type.sampled) {
+                continue;
+            }
+
+            long interval = policy.getInterval(type);
+            worker.schedulePeriodically(new Action0() {
+                @Override
+                public void call() {
+                    sample(type);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops sampling. A batch that hasn't been sent yet is discarded
+     */
+    public void stop() {
+        worker.unsubscribe();
+    }
+
+    /**
+     * @return how many times the policy's intervals are currently multiplied by, 1 if sampling at
+     * full rate
+     */
+    public int getDownshift() {
+        return downshift;
+    }
+
+    private void sample(TelemetryMessageType type) {
+        if (ticks[type.ordinal()]++ % downshift != 0) {
+            return;
+        }
+
+        Message message = slots.take(type);
+        if (message == null) {
+            return;
+        }
+
+        int size = TelemetryEncoder.getFramedSize(message);
+        if (!batch.isEmpty() && batchBytes + size > policy.getMaxBatchBytes()) {
+            flush();
+        }
+
+        batch.add(message);
+        batchBytes += size;
+
+        if (batch.size() == 1) {
+            flushTimer = worker.schedule(new Action0() {
+                @Override
+                public void call() {
+                    flush();
+                }
+            }, policy.getMaxBatchLatency(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        if (flushTimer != null) {
+            flushTimer.unsubscribe();
+            flushTimer = null;
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        boolean sent = sender.call(batch);
+        batch.clear();
+        batchBytes = 0;
+
+        if (policy.isAdaptive()) {
+            adapt(sent);
+        }
+    }
+
+    private void adapt(boolean sent) {
+        if (!sent) {
+            downshift = Math.min(downshift * 2, policy.getMaxDownshift());
+            sentBatches = 0;
+        } else if (downshift > 1 && ++sentBatches >= RECOVERY_BATCHES) {
+            downshift = Math.max(downshift / 2, 1);
+            sentBatches = 0;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import android.support.annotation.Nullable;
+
+import com.airmap.airmapsdk.models.Telemetry;
+import com.google.protobuf.Message;
+
+/**
+ * Latest-value store for a flight's telemetry. Each message type has one slot of primitive fields
+ * that is overwritten by every update, so high rate sensor data doesn't allocate anything. A
+ * protobuf message is only built when a slot is sampled, and only if it was updated since the
+ * last sample.
+ */
+public class TelemetrySlots {
+
+    private final PositionSlot position = new PositionSlot();
+    private final AttitudeSlot attitude = new AttitudeSlot();
+    private final SpeedSlot speed = new SpeedSlot();
+    private final BarometerSlot barometer = new BarometerSlot();
+    private final TelemetryMetrics metrics;
+
+    public TelemetrySlots() {
+        this(new TelemetryMetrics());
+    }
+
+    /**
+     * @param metrics Counts offered and superseded values
+     */
+    public TelemetrySlots(TelemetryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setPosition(long timestamp, double latitude, double longitude, float altitudeAgl, float altitudeMsl, float horizontalAccuracy) {
+        metrics.onOffered(TelemetryMessageType.POSITION, position.set(timestamp, latitude, longitude, altitudeAgl, altitudeMsl, horizontalAccuracy));
+    }
+
+    public void setAttitude(long timestamp, float yaw, float pitch, float roll) {
+        metrics.onOffered(TelemetryMessageType.ATTITUDE, attitude.set(timestamp, yaw, pitch, roll));
+    }
+
+    public void setSpeed(long timestamp, float velocityX, float velocityY, float velocityZ) {
+        metrics.onOffered(TelemetryMessageType.SPEED, speed.set(timestamp, velocityX, velocityY, velocityZ));
+    }
+
+    public void setBarometer(long timestamp, float pressure) {
+        metrics.onOffered(TelemetryMessageType.BAROMETER, barometer.set(timestamp, pressure));
+    }
+
+    /**
+     * Samples a slot
+     *
+     * @param type The message type to sample
+     * @return the latest value as a wire message, or null if it hasn't been updated since the last
+     * sample
+     */
+    @Nullable
+    public Message take(TelemetryMessageType type) {
+        switch (type) {
+            case POSITION:
+                return position.take();
+            case ATTITUDE:
+                return attitude.take();
+            case SPEED:
+                return speed.take();
+            case BAROMETER:
+                return barometer.take();
+        }
+        return null;
+    }
+
+    /**
+     * Discards all values that haven't been sampled yet
+     */
+    public void clear() {
+        position.clear();
+        attitude.clear();
+        speed.clear();
+        barometer.clear();
+    }
+
+    private static class PositionSlot {
+        private boolean updated;
+        private long timestamp;
+        private double latitude;
+        private double longitude;
+        private float altitudeAgl;
+        private float altitudeMsl;
+        private float horizontalAccuracy;
+
+        synchronized boolean set(long timestamp, double latitude, double longitude, float altitudeAgl, float altitudeMsl, float horizontalAccuracy) {
+            boolean superseded = updated;
+            this.timestamp = timestamp;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.altitudeAgl = altitudeAgl;
+            this.altitudeMsl = altitudeMsl;
+            this.horizontalAccuracy = horizontalAccuracy;
+            this.updated = true;
+            return superseded;
+        }
+
+        synchronized Telemetry.Position take() {
+            if (!updated) {
+                return null;
+            }
+            updated = false;
+
+            return Telemetry.Position.newBuilder()
+                    .setTimestamp(timestamp)
+                    .setLatitude(latitude)
+                    .setLongitude(longitude)
+                    .setAltitudeAgl(altitudeAgl)
+                    .setAltitudeMsl(altitudeMsl)
+                    .setHorizontalAccuracy(horizontalAccuracy)
+                    .build();
+        }
+
+        synchronized void clear() {
+            updated = false;
+        }
+    }
+
+    private static class AttitudeSlot {
+        private boolean updated;
+        private long timestamp;
+        private float yaw;
+        private float pitch;
+        private float roll;
+
+        synchronized boolean set(long timestamp, float yaw, float pitch, float roll) {
+            boolean superseded = updated;
+            this.timestamp = timestamp;
+            this.yaw = yaw;
+            this.pitch = pitch;
+            this.roll = roll;
+            this.updated = true;
+            return superseded;
+        }
+
+        synchronized Telemetry.Attitude take() {
+            if (!updated) {
+                return null;
+            }
+            updated = false;
+
+            return Telemetry.Attitude.newBuilder()
+                    .setTimestamp(timestamp)
+                    .setYaw(yaw)
+                    .setPitch(pitch)
+                    .setRoll(roll)
+                    .build();
+        }
+
+        synchronized void clear() {
+            updated = false;
+        }
+    }
+
+    private static class SpeedSlot {
+        private boolean updated;
+        private long timestamp;
+        private float velocityX;
+        private float velocityY;
+        private float velocityZ;
+
+        synchronized boolean set(long timestamp, float velocityX, float velocityY, float velocityZ) {
+            boolean superseded = updated;
+            this.timestamp = timestamp;
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+            this.velocityZ = velocityZ;
+            this.updated = true;
+            return superseded;
+        }
+
+        synchronized Telemetry.Speed take() {
+            if (!updated) {
+                return null;
+            }
+            updated = false;
+
+            return Telemetry.Speed.newBuilder()
+                    .setTimestamp(timestamp)
+                    .setVelocityX(velocityX)
+                    .setVelocityY(velocityY)
+                    .setVelocityZ(velocityZ)
+                    .build();
+        }
+
+        synchronized void clear() {
+            updated = false;
+        }
+    }
+
+    private static class BarometerSlot {
+        private boolean updated;
+        private long timestamp;
+        private float pressure;
+
+        synchronized boolean set(long timestamp, float pressure) {
+            boolean superseded = updated;
+            this.timestamp = timestamp;
+            this.pressure = pressure;
+            this.updated = true;
+            return superseded;
+        }
+
+        synchronized Telemetry.Barometer take() {
+            if (!updated) {
+                return null;
+            }
+            updated = false;
+
+            return Telemetry.Barometer.newBuilder()
+                    .setTimestamp(timestamp)
+                    .setPressure(pressure)
+                    .build();
+        }
+
+        synchronized void clear() {
+            updated = false;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import com.airmap.airmapsdk.AirMapLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Persistent, bounded FIFO of encoded telemetry packets, kept in a memory-mapped ring file so
+ * packets that couldn't be sent survive the app being killed. When the ring is full the oldest
+ * packets are overwritten.
+ *
+ * Writes go to the page cache and the file is only forced to storage every
+ * {@link #FORCE_INTERVAL} ms and on {@link #close()}, so a crash of the app loses nothing and a
+ * sudden power loss loses at most a few seconds.
+ *
+ * Every record is a 4 byte length followed by the packet. A length of -1, or less than 4 bytes
+ * left at the end of the ring, means the next record starts back at the beginning.
+ */
+public class TelemetrySpool {
+
+    private static final String TAG = "TelemetrySpool";
+
+    public static final int DEFAULT_CAPACITY = 4 * 1024 * 1024;
+
+    private static final long FORCE_INTERVAL = 5000;
+
+    private static final int MAGIC = 0x414d5453;
+    private static final int VERSION = 1;
+    private static final int WRAP = -1;
+    private static final int LENGTH_SIZE = 4;
+
+    // magic, version, capacity, head, tail, used, count, head sequence
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 4 + 4 + 4 + 8;
+    private static final int HEAD_OFFSET = 12;
+    private static final int TAIL_OFFSET = 16;
+    private static final int USED_OFFSET = 20;
+    private static final int COUNT_OFFSET = 24;
+    private static final int SEQUENCE_OFFSET = 28;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer map;
+    private final int capacity;
+    private final TelemetryMetrics metrics;
+
+    private int head;
+    private int tail;
+    private int used;
+    private int count;
+    private long headSequence;
+    private long forcedAt;
+
+    /**
+     * Opens the spool, keeping any packets left over from a previous run. The file is recreated if
+     * its capacity differs or it can't be read
+     *
+     * @param path     The spool file
+     * @param capacity The space for packets in bytes
+     * @param metrics  Counts overwritten packets
+     */
+    public TelemetrySpool(File path, int capacity, TelemetryMetrics metrics) throws IOException {
+        if (capacity < LENGTH_SIZE + TelemetryEncoder.MAX_PACKET_SIZE) {
+            throw new IllegalArgumentException("Spool capacity must fit at least one packet");
+        }
+
+        this.capacity = capacity;
+        this.metrics = metrics;
+        file = new RandomAccessFile(path, "rw");
+        file.setLength(HEADER_SIZE + capacity);
+        map = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+
+        if (!restore()) {
+            AirMapLog.i(TAG, "Starting a new telemetry spool");
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putInt(8, capacity);
+            headSequence = 0;
+            reset();
+        }
+    }
+
+    /**
+     * Appends a packet, dropping the oldest packets if there isn't enough room
+     *
+     * @param header  The packet header, its position is not changed
+     * @param payload The packet payload, its position is not changed
+     * @return false if the packet is too large to ever fit
+     */
+    public synchronized boolean append(ByteBuffer header, ByteBuffer payload) {
+        int length = header.remaining() + payload.remaining();
+        int size = LENGTH_SIZE + length;
+        if (size > capacity) {
+            return false;
+        }
+
+        // a tail left at the end by an older version of the spool
+        wrapTail();
+        int waste = tail + size > capacity ? capacity - tail : 0;
+        while (capacity - used < waste + size) {
+            drop();
+            metrics.onPacketDropped(TelemetryMetrics.DropReason.SPOOL_OVERWRITTEN);
+            waste = tail + size > capacity ? capacity - tail : 0;
+        }
+
+        if (waste > 0) {
+            if (waste >= LENGTH_SIZE) {
+                map.putInt(HEADER_SIZE + tail, WRAP);
+            }
+            used += waste;
+            tail = 0;
+        }
+
+        map.putInt(HEADER_SIZE + tail, length);
+        put(HEADER_SIZE + tail + LENGTH_SIZE, header);
+        put(HEADER_SIZE + tail + LENGTH_SIZE + header.remaining(), payload);
+        tail += size;
+        used += size;
+        count++;
+        wrapTail();
+        save();
+        return true;
+    }
+
+    /**
+     * Copies the oldest packet into a buffer, without removing it
+     *
+     * @param out Receives the packet, cleared first and flipped afterwards
+     * @return the sequence number of the packet to pass to {@link #remove(long)}, or -1 if the
+     * spool is empty
+     */
+    public synchronized long peek(ByteBuffer out) {
+        if (count == 0) {
+            return -1;
+        }
+
+        skipWrap();
+        int length = map.getInt(HEADER_SIZE + head);
+        ByteBuffer record = map.duplicate();
+        record.position(HEADER_SIZE + head + LENGTH_SIZE);
+        record.limit(HEADER_SIZE + head + LENGTH_SIZE + length);
+        out.clear();
+        out.put(record);
+        out.flip();
+        return headSequence;
+    }
+
+    /**
+     * Removes the oldest packet, if it's still the one that was peeked. It may already have been
+     * overwritten by a newer packet
+     *
+     * @param sequence The sequence number returned by {@link #peek(ByteBuffer)}
+     */
+    public synchronized void remove(long sequence) {
+        if (count > 0 && sequence == headSequence) {
+            drop();
+            save();
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return the number of packets in the spool
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Forces outstanding writes to storage and closes the file
+     */
+    public synchronized void close() {
+        map.force();
+        try {
+            file.close();
+        } catch (IOException e) {
+            AirMapLog.e(TAG, "Unable to close telemetry spool", e);
+        }
+    }
+
+    private boolean restore() {
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getInt(8) != capacity) {
+            return false;
+        }
+
+        head = map.getInt(HEAD_OFFSET);
+        tail = map.getInt(TAIL_OFFSET);
+        used = map.getInt(USED_OFFSET);
+        count = map.getInt(COUNT_OFFSET);
+        headSequence = map.getLong(SEQUENCE_OFFSET);
+
+        boolean valid = head >= 0 && head <= capacity && tail >= 0 && tail <= capacity
+                && used >= 0 && used <= capacity && count >= 0;
+        if (valid && count > 0) {
+            AirMapLog.i(TAG, "Restored " + count + " spooled telemetry packets");
+        }
+        return valid;
+    }
+
+    private void drop() {
+        skipWrap();
+        int size = LENGTH_SIZE + map.getInt(HEADER_SIZE + head);
+        head += size;
+        used -= size;
+        count--;
+        headSequence++;
+        if (capacity - head < LENGTH_SIZE) {
+            // the writer wrapped here, the rest of the ring was counted as used
+            used -= capacity - head;
+            head = 0;
+        }
+
+        if (count == 0) {
+            reset();
+        }
+    }
+
+    private void skipWrap() {
+        if (capacity - head < LENGTH_SIZE || map.getInt(HEADER_SIZE + head) == WRAP) {
+            used -= capacity - head;
+            head = 0;
+        }
+    }
+
+    /**
+     * Starts the next record at the beginning if there's no room left for its length, counting
+     * the rest of the ring as used until the reader passes it
+     */
+    private void wrapTail() {
+        if (capacity - tail < LENGTH_SIZE) {
+            used += capacity - tail;
+            tail = 0;
+        }
+    }
+
+    private void reset() {
+        head = 0;
+        tail = 0;
+        used = 0;
+        count = 0;
+        save();
+    }
+
+    private void save() {
+        map.putInt(HEAD_OFFSET, head);
+        map.putInt(TAIL_OFFSET, tail);
+        map.putInt(USED_OFFSET, used);
+        map.putInt(COUNT_OFFSET, count);
+        map.putLong(SEQUENCE_OFFSET, headSequence);
+
+        long now = System.currentTimeMillis();
+        if (now - forcedAt > FORCE_INTERVAL) {
+            map.force();
+            forcedAt = now;
+        }
+    }
+
+    private void put(int offset, ByteBuffer buffer) {
+        ByteBuffer target = map.duplicate();
+        target.position(offset);
+        target.put(buffer.duplicate());
+    }
+}
@@ -0,0 +1,33 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Delivers encoded telemetry packets. Sends must never block, a packet that can't be sent right
+ * away is reported as not sent so it can be spooled.
+ */
+public interface TelemetryTransport {
+
+    /**
+     * Prepares the transport for sending, may block so call it from a background thread
+     */
+    void connect() throws IOException;
+
+    boolean isConnected();
+
+    /**
+     * @param header  The packet header
+     * @param payload The packet payload
+     * @return true if the packet was sent, false if it couldn't be sent right now
+     */
+    boolean send(ByteBuffer header, ByteBuffer payload) throws IOException;
+
+    /**
+     * @param packet An already assembled packet
+     * @return true if the packet was sent, false if it couldn't be sent right now
+     */
+    boolean send(ByteBuffer packet) throws IOException;
+
+    void close();
+}
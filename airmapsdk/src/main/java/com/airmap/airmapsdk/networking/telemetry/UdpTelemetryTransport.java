@@ -0,0 +1,175 @@
+package com.airmap.airmapsdk.networking.telemetry;
+
+import com.airmap.airmapsdk.AirMapLog;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+/**
+ * Sends telemetry packets over a non-blocking DatagramChannel. The host is resolved off the send
+ * path and cached, then periodically re-resolved in the background, so a send never waits on DNS
+ * or on a full socket buffer. Packets that can't be sent immediately are reported as not sent.
+ *
+ * One transport can be shared by every session.
+ */
+public class UdpTelemetryTransport implements TelemetryTransport {
+
+    private static final String TAG = "UdpTelemetryTransport";
+
+    private static final long RESOLVE_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final String host;
+    private final int port;
+    private final Scheduler.Worker resolver;
+    private final ByteBuffer[] packet;
+
+    private DatagramChannel channel;
+    private InetSocketAddress address;
+    private long resolvedAt;
+    private boolean resolving;
+
+    /**
+     * @param host The telemetry host, resolved lazily
+     * @param port The telemetry port
+     */
+    public UdpTelemetryTransport(String host, int port) {
+        this.host = host;
+        this.port = port;
+        this.resolver = Schedulers.io().createWorker();
+        this.packet = new ByteBuffer[2];
+    }
+
+    /**
+     * Resolves the host and connects the channel. Blocks on DNS, so call it from a background
+     * thread. Sends before the first successful connect are dropped
+     */
+    @Override
+    public void connect() throws IOException {
+        // resolve outside the lock so senders aren't held up
+        InetSocketAddress resolved = new InetSocketAddress(InetAddress.getByName(host), port);
+
+        synchronized (this) {
+            if (channel == null || !channel.isOpen()) {
+                channel = DatagramChannel.open();
+                channel.configureBlocking(false);
+                address = null;
+            }
+
+            if (!resolved.equals(address)) {
+                if (channel.isConnected()) {
+                    channel.disconnect();
+                }
+                channel.connect(resolved);
+                address = resolved;
+            }
+            resolvedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * @return whether the channel is connected to a resolved address
+     */
+    @Override
+    public synchronized boolean isConnected() {
+        return channel != null && channel.isConnected();
+    }
+
+    /**
+     * Sends the header and payload as a single datagram with a gathering write. Never blocks
+     *
+     * @param header  The packet header
+     * @param payload The packet payload
+     * @return true if the packet was sent, false if the transport isn't connected yet or the
+     * socket buffer is full
+     */
+    @Override
+    public synchronized boolean send(ByteBuffer header, ByteBuffer payload) throws IOException {
+        if (channel == null || !channel.isConnected()) {
+            resolveInBackground();
+            return false;
+        }
+
+        if (System.currentTimeMillis() - resolvedAt > RESOLVE_INTERVAL) {
+            resolveInBackground();
+        }
+
+        packet[0] = header;
+        packet[1] = payload;
+        try {
+            return channel.write(packet) > 0;
+        } catch (IOException e) {
+            // the network probably changed, start over with a fresh channel and address
+            closeChannel();
+            resolveInBackground();
+            throw e;
+        } finally {
+            packet[0] = null;
+            packet[1] = null;
+        }
+    }
+
+    /**
+     * Sends an already assembled packet, such as one replayed from a {@link TelemetrySpool}
+     *
+     * @param packet The packet
+     * @return true if the packet was sent, false if the transport isn't connected yet or the
+     * socket buffer is full
+     */
+    @Override
+    public synchronized boolean send(ByteBuffer packet) throws IOException {
+        return send(packet, EMPTY);
+    }
+
+    /**
+     * Closes the channel and stops background resolution
+     */
+    @Override
+    public synchronized void close() {
+        resolver.unsubscribe();
+        closeChannel();
+    }
+
+    private void resolveInBackground() {
+        if (resolving || resolver.isUnsubscribed()) {
+            return;
+        }
+
+        resolving = true;
+        resolver.schedule(new Action0() {
+            @Override
+            public void call() {
+                try {
+                    connect();
+                } catch (IOException e) {
+                    AirMapLog.e(TAG, "Unable to connect to telemetry host", e);
+                } finally {
+                    synchronized (UdpTelemetryTransport.this) {
+                        resolving = false;
+                    }
+                }
+            }
+        });
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                AirMapLog.e(TAG, "Unable to close telemetry channel", e);
+            }
+        }
+        channel = null;
+        address = null;
+    }
+}
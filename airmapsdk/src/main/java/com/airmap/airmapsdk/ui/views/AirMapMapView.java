@@ -229,27 +229,20 @@ public class AirMapMapView extends MapView implements MapView.OnMapChangedListen
             return;
         }
 
-        List<AirMapAdvisory> allAdvisories = mapDataController.getCurrentAdvisories();
-
         Feature featureClicked = null;
         AirMapAdvisory advisoryClicked = null;
         Set<AirMapAdvisory> filteredAdvisories = new HashSet<>();
 
         for (Feature feature : selectedFeatures) {
-            if (allAdvisories == null) {
-                break;
-            }
-
-            for (AirMapAdvisory advisory : allAdvisories) {
-                if (advisory.getId().equals(feature.getStringProperty("airspace_id"))) {
-                    // set as the clicked advisory based on size/importance
-                    if (advisoryClicked == null || hasHigherPriority(advisory, advisoryClicked)) {
-                        featureClicked = feature;
-                        advisoryClicked = advisory;
+            AirMapAdvisory advisory = mapDataController.getAdvisory(feature.getStringProperty("airspace_id"));
+            if (advisory != null) {
+                // set as the clicked advisory based on size/importance
+                if (advisoryClicked == null || hasHigherPriority(advisory, advisoryClicked)) {
+                    featureClicked = feature;
+                    advisoryClicked = advisory;
 
-                    }
-                    filteredAdvisories.add(advisory);
                 }
+                filteredAdvisories.add(advisory);
             }
         }
 
@@ -0,0 +1,106 @@
+package com.airmap.airmapsdk.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram with power of two buckets. Bucket 0 counts values up to the base, every following
+ * bucket up to twice the previous bound, and the last one everything larger. Recording is lock
+ * free and allocation free.
+ */
+public class Histogram {
+
+    private final long base;
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param base    The upper bound of the first bucket
+     * @param buckets The number of buckets
+     */
+    public Histogram(long base, int buckets) {
+        this.base = base;
+        this.buckets = new AtomicLongArray(buckets);
+    }
+
+    public void record(long value) {
+        int bucket = 0;
+        long bound = base;
+        while (value > bound && bucket < buckets.length() - 1) {
+            bucket++;
+            bound <<= 1;
+        }
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] values = new long[buckets.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buckets.get(i);
+        }
+        return new Snapshot(base, values, count.get(), sum.get(), max.get());
+    }
+
+    public static class Snapshot {
+        private final long base;
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long base, long[] buckets, long count, long sum, long max) {
+            this.base = base;
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile The percentile, between 0 and 100
+         * @return the upper bound of the bucket the percentile falls in, capped at the max
+         */
+        public long getPercentile(double percentile) {
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(percentile / 100 * total);
+            long seen = 0;
+            long bound = base;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && i < buckets.length - 1) {
+                    return Math.min(bound, max);
+                }
+                bound <<= 1;
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.airmap.airmapsdk.util;
+
+import android.util.JsonReader;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+/**
+ * Helpers to read parts of a streamed JSON document into org.json objects, so only the part that
+ * is needed as a tree is ever materialized
+ */
+public class JsonStreamUtils {
+
+    private JsonStreamUtils() {
+    }
+
+    /**
+     * Reads the next value, which can be of any type
+     *
+     * @param reader The reader, positioned before the value
+     * @return a JSONObject, JSONArray, String, Number, Boolean or {@link JSONObject#NULL}
+     */
+    public static Object readValue(JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(reader);
+            case BEGIN_ARRAY:
+                return readArray(reader);
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER:
+                return readNumber(reader.nextString());
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            case STRING:
+            default:
+                return reader.nextString();
+        }
+    }
+
+    public static JSONObject readObject(JsonReader reader) throws IOException, JSONException {
+        JSONObject object = new JSONObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            object.put(name, readValue(reader));
+        }
+        reader.endObject();
+        return object;
+    }
+
+    public static JSONArray readArray(JsonReader reader) throws IOException, JSONException {
+        JSONArray array = new JSONArray();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            array.put(readValue(reader));
+        }
+        reader.endArray();
+        return array;
+    }
+
+    // same number types JSONTokener produces
+    private static Object readNumber(String number) {
+        if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+            try {
+                long value = Long.parseLong(number);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return (int) value;
+                }
+                return value;
+            } catch (NumberFormatException e) {
+                // too large for a long, fall through
+            }
+        }
+        return Double.valueOf(number);
+    }
+}
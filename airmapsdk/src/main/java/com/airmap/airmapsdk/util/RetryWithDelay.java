@@ -2,6 +2,7 @@ package com.airmap.airmapsdk.util;
 
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import rx.Observable;
 import rx.functions.Func1;
@@ -10,21 +11,21 @@ public class RetryWithDelay implements Func1<Observable<? extends Throwable>, Ob
 
     private final int maxRetries;
     private final int retryDelayMillis;
-    private int retryCount;
 
     public RetryWithDelay(final int maxRetries, final int retryDelayMillis) {
         this.maxRetries = maxRetries;
         this.retryDelayMillis = retryDelayMillis;
-        this.retryCount = 0;
     }
 
     @Override
     public Observable<?> call(Observable<? extends Throwable> attempts) {
+        // called once per subscription, so the count must not be shared between subscriptions
+        final AtomicInteger retryCount = new AtomicInteger();
         return attempts
                 .flatMap(new Func1<Throwable, Observable<?>>() {
                     @Override
                     public Observable<?> call(Throwable throwable) {
-                        if (++retryCount < maxRetries) {
+                        if (retryCount.incrementAndGet() < maxRetries) {
                             // When this Observable calls onNext, the original
                             // Observable will be retried (i.e. re-subscribed).
                             return Observable.timer(retryDelayMillis,
@@ -0,0 +1,294 @@
+package com.airmap.airmapsdk.util;
+
+import com.airmap.airmapsdk.models.Coordinate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Items by coordinate in a grid of equally sized cells, for range and nearest neighbour queries
+ * that only look at the cells around the query instead of every item. Moving an item only touches
+ * its old and new cell, so the index can follow moving traffic.
+ *
+ * Cells are about square in degrees, sized by their height. Columns wrap around at the
+ * antimeridian, so queries near it find items on both sides. Distances are great circle distances
+ * in meters. Thread safe.
+ */
+@SuppressWarnings("unused")
+public class SpatialIndex<T> {
+
+    private static final double EARTH_RADIUS_METERS = 6371000;
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+    private final double cellDegrees;
+    private final double cellMeters;
+    // a whole number of columns around the globe, each at most as wide as a cell is high
+    private final int columns;
+    private final double columnDegrees;
+
+    // all guarded by this
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+
+    /**
+     * @param cellMeters The height of a cell, about the distance most queries ask for
+     */
+    public SpatialIndex(double cellMeters) {
+        this.cellMeters = cellMeters;
+        this.cellDegrees = cellMeters / METERS_PER_DEGREE;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.columnDegrees = 360d / columns;
+    }
+
+    /**
+     * Adds the item or moves it to the new coordinate. An equal item already in the index is
+     * replaced
+     */
+    public synchronized void put(T item, Coordinate coordinate) {
+        double latitude = coordinate.getLatitude();
+        double longitude = coordinate.getLongitude();
+        long cell = cellOf(latitude, longitude);
+
+        Entry<T> entry = entries.get(item);
+        if (entry == null) {
+            entry = new Entry<>(item);
+            entries.put(item, entry);
+            cellList(cell).add(entry);
+        } else if (entry.cell != cell) {
+            removeFromCell(entry);
+            cellList(cell).add(entry);
+        }
+        entry.item = item;
+        entry.cell = cell;
+        entry.latitude = latitude;
+        entry.longitude = longitude;
+    }
+
+    /**
+     * @return whether the item was in the index
+     */
+    public synchronized boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        removeFromCell(entry);
+        return true;
+    }
+
+    public synchronized void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param center The center of the query
+     * @param meters The radius of the query
+     * @return the items within the radius, nearest first
+     */
+    public synchronized List<T> within(Coordinate center, double meters) {
+        double latitude = center.getLatitude();
+        double longitude = center.getLongitude();
+        // cells are narrowest at the poleward edge of the query
+        int rings = (int) Math.ceil(meters / getCellWidthMeters(Math.abs(latitude) + meters / METERS_PER_DEGREE));
+
+        List<Entry<T>> found = new ArrayList<>();
+        if (cellsInRings(rings) >= cells.size() || wrapsAround(rings)) {
+            // the query covers more cells than are used, or goes all the way around
+            for (Entry<T> entry : entries.values()) {
+                entry.distance = distance(latitude, longitude, entry.latitude, entry.longitude);
+                if (entry.distance <= meters) {
+                    found.add(entry);
+                }
+            }
+        } else {
+            for (int ring = 0; ring <= rings; ring++) {
+                collectRing(latitude, longitude, ring, meters, found);
+            }
+        }
+        return sortedItems(found, found.size());
+    }
+
+    /**
+     * @param center The center of the query
+     * @param count  The most items to return
+     * @return the items nearest the center, nearest first
+     */
+    public synchronized List<T> nearest(Coordinate center, int count) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+
+        double latitude = center.getLatitude();
+        double longitude = center.getLongitude();
+        List<Entry<T>> found = new ArrayList<>();
+        int visited = 0;
+        for (int ring = 0; visited < entries.size(); ring++) {
+            if (wrapsAround(ring)) {
+                // the ring would meet itself on the other side of the globe
+                scan(latitude, longitude, found);
+                break;
+            }
+
+            int before = found.size();
+            collectRing(latitude, longitude, ring, Double.MAX_VALUE, found);
+            visited += found.size() - before;
+
+            // items in the rings further out are at least this far
+            double ringWidth = Math.min(cellMeters, getCellWidthMeters(Math.abs(latitude) + (ring + 1) * cellDegrees));
+            if (found.size() >= count && kthDistance(found, count) <= ring * ringWidth) {
+                break;
+            }
+            if (cellsInRings(ring) >= cells.size() && visited < entries.size()) {
+                // the items are spread wider than the rings looked at so far, scanning is cheaper
+                scan(latitude, longitude, found);
+                break;
+            }
+        }
+        return sortedItems(found, count);
+    }
+
+    // guarded by this
+    private void scan(double latitude, double longitude, List<Entry<T>> found) {
+        found.clear();
+        for (Entry<T> entry : entries.values()) {
+            entry.distance = distance(latitude, longitude, entry.latitude, entry.longitude);
+            found.add(entry);
+        }
+    }
+
+    // guarded by this
+    private void collectRing(double latitude, double longitude, int ring, double meters, List<Entry<T>> found) {
+        int row = rowOf(latitude);
+        int column = columnOf(longitude);
+        for (int r = row - ring; r <= row + ring; r++) {
+            for (int c = column - ring; c <= column + ring; c++) {
+                // only the cells on the edge of the ring, the inner ones were collected before
+                if (Math.abs(r - row) != ring && Math.abs(c - column) != ring) {
+                    continue;
+                }
+                List<Entry<T>> cell = cells.get(key(r, wrapColumn(c)));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry<T> entry : cell) {
+                    entry.distance = distance(latitude, longitude, entry.latitude, entry.longitude);
+                    if (entry.distance <= meters) {
+                        found.add(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the width of a cell at the latitude, narrower than its height away from the equator
+     */
+    private double getCellWidthMeters(double latitude) {
+        return Math.max(1, columnDegrees * METERS_PER_DEGREE * Math.cos(Math.toRadians(Math.min(89, Math.abs(latitude)))));
+    }
+
+    /**
+     * @return whether a query of this many rings reaches columns it already covered from the
+     * other side
+     */
+    private boolean wrapsAround(int rings) {
+        return 2L * rings + 1 > columns;
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return key(rowOf(latitude), columnOf(longitude));
+    }
+
+    private int rowOf(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int columnOf(double longitude) {
+        return wrapColumn((int) Math.floor((longitude + 180) / columnDegrees));
+    }
+
+    private int wrapColumn(int column) {
+        int wrapped = column % columns;
+        return wrapped < 0 ? wrapped + columns : wrapped;
+    }
+
+    private List<Entry<T>> cellList(long cell) {
+        List<Entry<T>> list = cells.get(cell);
+        if (list == null) {
+            list = new ArrayList<>();
+            cells.put(cell, list);
+        }
+        return list;
+    }
+
+    private void removeFromCell(Entry<T> entry) {
+        List<Entry<T>> list = cells.get(entry.cell);
+        if (list != null) {
+            list.remove(entry);
+            if (list.isEmpty()) {
+                cells.remove(entry.cell);
+            }
+        }
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static long cellsInRings(int rings) {
+        long side = 2L * rings + 1;
+        return side * side;
+    }
+
+    private static <T> double kthDistance(List<Entry<T>> found, int k) {
+        List<Entry<T>> sorted = new ArrayList<>(found);
+        Collections.sort(sorted, BY_DISTANCE);
+        return sorted.get(k - 1).distance;
+    }
+
+    private static <T> List<T> sortedItems(List<Entry<T>> found, int count) {
+        Collections.sort(found, BY_DISTANCE);
+        List<T> items = new ArrayList<>(Math.min(count, found.size()));
+        for (int i = 0; i < found.size() && i < count; i++) {
+            items.add(found.get(i).item);
+        }
+        return items;
+    }
+
+    private static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static final Comparator<Entry<?>> BY_DISTANCE = new Comparator<Entry<?>>() {
+        @Override
+        public int compare(Entry<?> a, Entry<?> b) {
+            return Double.compare(a.distance, b.distance);
+        }
+    };
+
+    private static class Entry<T> {
+        T item;
+        long cell;
+        double latitude;
+        double longitude;
+        // distance to the current query, guarded by the index
+        double distance;
+
+        Entry(T item) {
+            this.item = item;
+        }
+    }
+}
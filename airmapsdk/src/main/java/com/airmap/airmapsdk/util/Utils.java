@@ -176,9 +176,9 @@ public class Utils {
     public static void error(AirMapCallback listener, Exception e) {
         if (e != null && listener != null) {
             if (e.getMessage().toLowerCase().startsWith("unable to resolve host")) {
-                listener.error(new AirMapException("No internet connection"));
+                listener.error(new AirMapException("No internet connection", e));
             } else if (!e.getMessage().toLowerCase().contains("canceled")) { //Not an error if it was canceled
-                listener.error(new AirMapException(e.getMessage()));
+                listener.error(new AirMapException(e.getMessage(), e));
             }
         }
     }
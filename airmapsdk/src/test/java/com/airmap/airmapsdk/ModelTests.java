@@ -1,5 +1,6 @@
 package com.airmap.airmapsdk;
 
+import com.airmap.airmapsdk.models.ModelFactories;
 import com.airmap.airmapsdk.models.aircraft.AirMapAircraft;
 import com.airmap.airmapsdk.models.aircraft.AirMapAircraftManufacturer;
 import com.airmap.airmapsdk.models.aircraft.AirMapAircraftModel;
@@ -21,6 +22,13 @@ import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 
 public class ModelTests {
+    @Test
+    public void ModelFactoriesTest() {
+        assertEquals(AirMapFlight.class, ModelFactories.create(AirMapFlight.class).getClass());
+        assertEquals(AirMapComm.class, ModelFactories.create(AirMapComm.class).getClass());
+        assertFalse(ModelFactories.create(AirMapPilot.class) == ModelFactories.create(AirMapPilot.class));
+    }
+
     @Test
     public void AirMapTrafficTest() throws Exception {
         AirMapTraffic airMapTraffic = new AirMapTraffic();
@@ -0,0 +1,118 @@
+package com.airmap.airmapsdk;
+
+import com.airmap.airmapsdk.networking.services.AirMapRetryPolicy;
+import com.airmap.airmapsdk.util.RetryWithDelay;
+
+import org.junit.Test;
+
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.observers.TestSubscriber;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class RetryTests {
+
+    @Test
+    public void backoffGrowsWithJitterAndIsCapped() {
+        AirMapRetryPolicy policy = new AirMapRetryPolicy().setBackoff(100, 1000, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 100; i++) {
+            long first = policy.getDelayMillis(0);
+            assertTrue("First retry " + first, first >= 50 && first <= 100);
+
+            long third = policy.getDelayMillis(2);
+            assertTrue("Third retry " + third, third >= 200 && third <= 400);
+
+            long capped = policy.getDelayMillis(40);
+            assertTrue("Capped retry " + capped, capped >= 500 && capped <= 1000);
+        }
+    }
+
+    @Test
+    public void onlyTransientFailuresAreRetried() {
+        assertTrue(AirMapRetryPolicy.isRetryable(503));
+        assertTrue(AirMapRetryPolicy.isRetryable(429));
+        assertFalse(AirMapRetryPolicy.isRetryable(400));
+        assertFalse(AirMapRetryPolicy.isRetryable(401));
+
+        assertTrue(AirMapRetryPolicy.isRetryable(new SocketTimeoutException()));
+        assertFalse(AirMapRetryPolicy.isRetryable(new UnknownHostException()));
+    }
+
+    @Test
+    public void callbackErrorsAreRetriedByTheirCause() {
+        // as Utils.error reports network failures to callbacks and RxAirMap
+        assertTrue(AirMapRetryPolicy.isRetryable(new AirMapException("timeout", new SocketTimeoutException("timeout"))));
+        assertFalse(AirMapRetryPolicy.isRetryable(new AirMapException("No internet connection", new UnknownHostException())));
+        // a response that couldn't be parsed, or no cause at all
+        assertFalse(AirMapRetryPolicy.isRetryable(new AirMapException("Expected BEGIN_OBJECT", new IllegalStateException())));
+        assertFalse(AirMapRetryPolicy.isRetryable(new AirMapException("Unknown error")));
+        assertTrue(AirMapRetryPolicy.isRetryable(new AirMapException(503, "Service unavailable")));
+    }
+
+    @Test
+    public void offlineErrorsFromRxAreNotRetried() {
+        AirMapRetryPolicy policy = new AirMapRetryPolicy().setBackoff(1, 1, TimeUnit.MILLISECONDS);
+
+        AtomicInteger attempts = new AtomicInteger();
+        TestSubscriber<Object> subscriber = new TestSubscriber<>();
+        failing(attempts, new AirMapException("No internet connection", new UnknownHostException())).retryWhen(policy.retryWhen()).subscribe(subscriber);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+        subscriber.assertError(AirMapException.class);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void retriesAreLimitedByBudget() {
+        AirMapRetryPolicy policy = new AirMapRetryPolicy()
+                .setMaxRetries(3)
+                .setBackoff(1, 1, TimeUnit.MILLISECONDS)
+                .setBudget(0, 2);
+
+        AtomicInteger attempts = new AtomicInteger();
+        TestSubscriber<Object> subscriber = new TestSubscriber<>();
+        failing(attempts).retryWhen(policy.retryWhen()).subscribe(subscriber);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+        // the budget only had two retries
+        subscriber.assertError(SocketTimeoutException.class);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void retryWithDelayCanBeReused() {
+        RetryWithDelay retry = new RetryWithDelay(3, 1);
+
+        for (int i = 0; i < 2; i++) {
+            AtomicInteger attempts = new AtomicInteger();
+            TestSubscriber<Object> subscriber = new TestSubscriber<>();
+            failing(attempts).retryWhen(retry).subscribe(subscriber);
+            subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+
+            assertEquals("Subscription " + i, 3, attempts.get());
+        }
+    }
+
+    private static Observable<Object> failing(AtomicInteger attempts) {
+        return failing(attempts, new SocketTimeoutException());
+    }
+
+    private static Observable<Object> failing(final AtomicInteger attempts, final Throwable error) {
+        return Observable.create(new Observable.OnSubscribe<Object>() {
+            @Override
+            public void call(Subscriber<? super Object> subscriber) {
+                attempts.incrementAndGet();
+                subscriber.onError(error);
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.airmap.airmapsdk;
+
+import com.airmap.airmapsdk.models.Coordinate;
+import com.airmap.airmapsdk.util.SpatialIndex;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class SpatialIndexTests {
+
+    @Test
+    public void queriesMatchAScan() {
+        Random random = new Random(42);
+        SpatialIndex<Integer> index = new SpatialIndex<>(1000);
+        List<Coordinate> coordinates = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // within about 20km of the center
+            Coordinate coordinate = new Coordinate(34 + (random.nextDouble() - 0.5) * 0.4, -118 + (random.nextDouble() - 0.5) * 0.4);
+            coordinates.add(coordinate);
+            index.put(i, coordinate);
+        }
+
+        for (int query = 0; query < 20; query++) {
+            Coordinate center = new Coordinate(34 + (random.nextDouble() - 0.5) * 0.4, -118 + (random.nextDouble() - 0.5) * 0.4);
+            List<Integer> expected = byDistance(coordinates, center);
+
+            assertEquals(expected.subList(0, 5), index.nearest(center, 5));
+
+            List<Integer> within = index.within(center, 2500);
+            int count = 0;
+            for (Integer i : expected) {
+                if (distance(center, coordinates.get(i)) <= 2500) {
+                    count++;
+                }
+            }
+            assertEquals(expected.subList(0, count), within);
+        }
+    }
+
+    @Test
+    public void queriesCrossTheAntimeridian() {
+        Random random = new Random(7);
+        for (int latitude = 0; latitude <= 75; latitude += 15) {
+            SpatialIndex<Integer> index = new SpatialIndex<>(1000);
+            List<Coordinate> coordinates = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                Coordinate coordinate = nearAntimeridian(random, latitude);
+                coordinates.add(coordinate);
+                index.put(i, coordinate);
+            }
+
+            for (int query = 0; query < 30; query++) {
+                Coordinate center = nearAntimeridian(random, latitude);
+                List<Integer> expected = byDistance(coordinates, center);
+
+                assertEquals("Latitude " + latitude, expected.subList(0, 5), index.nearest(center, 5));
+
+                int count = 0;
+                while (count < expected.size() && distance(center, coordinates.get(expected.get(count))) <= 5000) {
+                    count++;
+                }
+                assertEquals("Latitude " + latitude, expected.subList(0, count), index.within(center, 5000));
+            }
+        }
+    }
+
+    @Test
+    public void movedItemsAreFoundAtTheirNewCoordinate() {
+        SpatialIndex<String> index = new SpatialIndex<>(500);
+        index.put("traffic", new Coordinate(34, -118));
+        index.put("traffic", new Coordinate(34.1, -118));
+
+        assertEquals(1, index.size());
+        assertTrue(index.within(new Coordinate(34, -118), 1000).isEmpty());
+        assertEquals("traffic", index.within(new Coordinate(34.1, -118), 1000).get(0));
+
+        assertTrue(index.remove("traffic"));
+        assertFalse(index.remove("traffic"));
+        assertTrue(index.nearest(new Coordinate(34.1, -118), 1).isEmpty());
+    }
+
+    /**
+     * @return a coordinate within a quarter degree of lon 179.95, on either side of the antimeridian
+     */
+    private static Coordinate nearAntimeridian(Random random, double latitude) {
+        double longitude = 179.95 + (random.nextDouble() - 0.5) * 0.5;
+        if (longitude >= 180) {
+            longitude -= 360;
+        }
+        return new Coordinate(latitude + (random.nextDouble() - 0.5) * 0.5, longitude);
+    }
+
+    private static List<Integer> byDistance(final List<Coordinate> coordinates, final Coordinate center) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < coordinates.size(); i++) {
+            indices.add(i);
+        }
+        Collections.sort(indices, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Double.compare(distance(center, coordinates.get(a)), distance(center, coordinates.get(b)));
+            }
+        });
+        return indices;
+    }
+
+    private static double distance(Coordinate a, Coordinate b) {
+        double deltaLatitude = Math.toRadians(b.getLatitude() - a.getLatitude());
+        double deltaLongitude = Math.toRadians(b.getLongitude() - a.getLongitude());
+        double h = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(a.getLatitude())) * Math.cos(Math.toRadians(b.getLatitude())) * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * 6371000 * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+}
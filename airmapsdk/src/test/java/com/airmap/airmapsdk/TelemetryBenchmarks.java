@@ -0,0 +1,228 @@
+package com.airmap.airmapsdk;
+
+import com.airmap.airmapsdk.models.Telemetry;
+import com.airmap.airmapsdk.networking.telemetry.LocalTelemetrySink;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryCrypto;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryDecoder;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryEncoder;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryMessageType;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryMetrics;
+import com.airmap.airmapsdk.networking.telemetry.UdpTelemetryTransport;
+import com.airmap.airmapsdk.util.Histogram;
+import com.google.protobuf.Message;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Microbenchmarks for the telemetry send path. These print packets/sec so regressions are visible
+ * in the test output, they only assert on correctness.
+ */
+public class TelemetryBenchmarks {
+
+    private static final int WARMUP_PACKETS = 2000;
+    private static final int PACKETS = 20000;
+
+    // roughly a full batch of position, attitude and speed messages
+    private static final int PAYLOAD_SIZE = 240;
+
+    private static final String FLIGHT_ID = "flight|abc123def456ghi789";
+
+    @Test
+    public void cryptoPacketsPerSecond() throws Exception {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        byte[] payload = new byte[PAYLOAD_SIZE];
+        new SecureRandom().nextBytes(payload);
+
+        TelemetryCrypto crypto = new TelemetryCrypto(key);
+
+        runUncached(key, payload, WARMUP_PACKETS);
+        runCached(crypto, payload, WARMUP_PACKETS);
+
+        long start = System.nanoTime();
+        runUncached(key, payload, PACKETS);
+        double uncached = packetsPerSecond(PACKETS, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        runCached(crypto, payload, PACKETS);
+        double cached = packetsPerSecond(PACKETS, System.nanoTime() - start);
+
+        System.out.println(String.format("Telemetry crypto: uncached %.0f packets/sec, cached %.0f packets/sec", uncached, cached));
+
+        // the cached context must still produce payloads the server can decrypt
+        byte[] iv = crypto.nextIv().clone();
+        byte[] encrypted = crypto.encrypt(payload);
+        Cipher decrypt = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        decrypt.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+        assertTrue(Arrays.equals(payload, decrypt.doFinal(encrypted)));
+    }
+
+    @Test
+    public void encoderPacketsPerSecond() throws Exception {
+        List<Message> messages = sampleMessages();
+        TelemetryEncoder encoder = new TelemetryEncoder(TelemetryEncoder.Encryption.NONE, null);
+
+        // the encoder must produce the same bytes as the stream based encoding
+        encoder.begin(1, FLIGHT_ID);
+        for (Message message : messages) {
+            encoder.add(message);
+        }
+        encoder.finish();
+        ByteBuffer packet = ByteBuffer.allocate(encoder.getPacketSize());
+        packet.put(encoder.getHeader()).put(encoder.getPayload());
+        assertTrue(Arrays.equals(encodeWithStreams(1, messages), packet.array()));
+
+        runStreams(messages, WARMUP_PACKETS);
+        runEncoder(encoder, messages, WARMUP_PACKETS);
+
+        long start = System.nanoTime();
+        runStreams(messages, PACKETS);
+        double streams = packetsPerSecond(PACKETS, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        runEncoder(encoder, messages, PACKETS);
+        double buffers = packetsPerSecond(PACKETS, System.nanoTime() - start);
+
+        System.out.println(String.format("Telemetry encoding: streams %.0f packets/sec, pooled buffers %.0f packets/sec", streams, buffers));
+        assertEquals(packet.capacity(), encoder.getPacketSize());
+    }
+
+    @Test
+    public void loopbackPacketsPerSecond() throws Exception {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        List<Message> messages = sampleMessages();
+
+        LocalTelemetrySink sink = new LocalTelemetrySink(key);
+        sink.start();
+        UdpTelemetryTransport transport = new UdpTelemetryTransport(sink.getHost(), sink.getPort());
+        transport.connect();
+        TelemetryEncoder encoder = new TelemetryEncoder(TelemetryEncoder.Encryption.AES256CBC, new TelemetryCrypto(key));
+        TelemetryMetrics metrics = new TelemetryMetrics();
+
+        // the sink must decode exactly what was encoded
+        encoder.begin(1, FLIGHT_ID);
+        for (Message message : messages) {
+            encoder.add(message);
+        }
+        encoder.finish();
+        assertTrue(transport.send(encoder.getHeader(), encoder.getPayload()));
+        TelemetryDecoder.Packet packet = sink.poll(5, TimeUnit.SECONDS);
+        assertEquals(1, packet.getSerialNumber());
+        assertEquals(FLIGHT_ID, packet.getFlightId());
+        assertEquals(messages, packet.getMessages());
+
+        long sent = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < PACKETS; i++) {
+            long encodeStart = System.nanoTime();
+            encoder.begin(i, FLIGHT_ID);
+            for (Message message : messages) {
+                encoder.add(message);
+            }
+            encoder.finish();
+            metrics.onEncoded(encoder.getPacketSize(), System.nanoTime() - encodeStart);
+
+            if (transport.send(encoder.getHeader(), encoder.getPayload())) {
+                sent++;
+            }
+        }
+        long nanos = System.nanoTime() - start;
+
+        // give the sink a moment to drain the socket
+        Thread.sleep(200);
+        transport.close();
+        sink.close();
+
+        Histogram.Snapshot encodeMicros = metrics.getSnapshot().getEncodeMicros();
+        System.out.println(String.format("Telemetry loopback: %.0f packets/sec, %.0f bytes/sec, %d of %d received, p99 encode %dus",
+                packetsPerSecond(PACKETS, nanos), sink.getBytesReceived() / (nanos / 1e9), sink.getPacketsReceived() - 1, sent, encodeMicros.getPercentile(99)));
+        assertEquals(0, sink.getDecodeErrors());
+        assertTrue(sink.getPacketsReceived() > 1);
+    }
+
+    private static List<Message> sampleMessages() {
+        long now = System.currentTimeMillis();
+        return Arrays.<Message>asList(
+                Telemetry.Position.newBuilder().setTimestamp(now).setLatitude(34.0159).setLongitude(-118.4958)
+                        .setAltitudeAgl(50).setAltitudeMsl(120).setHorizontalAccuracy(2).build(),
+                Telemetry.Attitude.newBuilder().setTimestamp(now).setYaw(90).setPitch(1.5f).setRoll(-2.5f).build(),
+                Telemetry.Speed.newBuilder().setTimestamp(now).setVelocityX(4).setVelocityY(1).setVelocityZ(-0.5f).build(),
+                Telemetry.Barometer.newBuilder().setTimestamp(now).setPressure(1013.25f).build());
+    }
+
+    private static void runStreams(List<Message> messages, int packets) throws Exception {
+        for (int i = 0; i < packets; i++) {
+            encodeWithStreams(i, messages);
+        }
+    }
+
+    private static void runEncoder(TelemetryEncoder encoder, List<Message> messages, int packets) throws Exception {
+        for (int i = 0; i < packets; i++) {
+            encoder.begin(i, FLIGHT_ID);
+            for (Message message : messages) {
+                encoder.add(message);
+            }
+            encoder.finish();
+        }
+    }
+
+    // Mirrors the previous unencrypted packet encoding of TelemetryService.Session
+    private static byte[] encodeWithStreams(int serialNumber, List<Message> messages) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream daos = new DataOutputStream(baos);
+        daos.writeInt(serialNumber);
+        daos.writeByte(FLIGHT_ID.length());
+        daos.writeBytes(FLIGHT_ID);
+        daos.writeByte(0);
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        for (Message message : messages) {
+            ByteArrayOutputStream messageBaos = new ByteArrayOutputStream();
+            DataOutputStream messageDaos = new DataOutputStream(messageBaos);
+            messageDaos.writeShort(TelemetryMessageType.fromMessage(message).value);
+            messageDaos.writeShort(message.getSerializedSize());
+            messageDaos.write(message.toByteArray());
+            payload.write(messageBaos.toByteArray());
+        }
+        daos.write(payload.toByteArray());
+        return baos.toByteArray();
+    }
+
+    // Mirrors the previous per-packet behaviour of TelemetryService.Session
+    private static void runUncached(byte[] key, byte[] payload, int packets) throws Exception {
+        for (int i = 0; i < packets; i++) {
+            byte[] iv = new byte[TelemetryCrypto.IV_LENGTH];
+            new SecureRandom().nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+            cipher.doFinal(payload);
+        }
+    }
+
+    private static void runCached(TelemetryCrypto crypto, byte[] payload, int packets) throws Exception {
+        for (int i = 0; i < packets; i++) {
+            crypto.nextIv();
+            crypto.encrypt(payload);
+        }
+    }
+
+    private static double packetsPerSecond(int packets, long nanos) {
+        return packets / (nanos / 1e9);
+    }
+}
@@ -0,0 +1,282 @@
+package com.airmap.airmapsdk;
+
+import com.airmap.airmapsdk.models.Telemetry;
+import com.airmap.airmapsdk.networking.telemetry.CompactPositionCodec;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryMessageType;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryMetrics;
+import com.airmap.airmapsdk.networking.telemetry.TelemetryRatePolicy;
+import com.airmap.airmapsdk.networking.telemetry.TelemetrySampler;
+import com.airmap.airmapsdk.networking.telemetry.TelemetrySlots;
+import com.airmap.airmapsdk.networking.telemetry.TelemetrySpool;
+import com.airmap.airmapsdk.util.Histogram;
+import com.google.protobuf.Message;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import rx.functions.Func1;
+import rx.schedulers.TestScheduler;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class TelemetryTests {
+
+    private TestScheduler scheduler;
+    private TelemetrySlots slots;
+    private List<List<Message>> batches;
+    private boolean socketReady;
+
+    private Func1<List<Message>, Boolean> sender = new Func1<List<Message>, Boolean>() {
+        @Override
+        public Boolean call(List<Message> messages) {
+            batches.add(new ArrayList<>(messages));
+            return socketReady;
+        }
+    };
+
+    @Before
+    public void setup() {
+        scheduler = new TestScheduler();
+        slots = new TelemetrySlots();
+        batches = new ArrayList<>();
+        socketReady = true;
+    }
+
+    @Test
+    public void slotsOnlyKeepLatestValue() {
+        slots.setPosition(1, 10, 20, 0, 0, 0);
+        slots.setPosition(2, 11, 21, 0, 0, 0);
+
+        Message position = slots.take(TelemetryMessageType.POSITION);
+        assertTrue(position.toString().contains("latitude: 11"));
+        assertNull(slots.take(TelemetryMessageType.POSITION));
+        assertNull(slots.take(TelemetryMessageType.ATTITUDE));
+    }
+
+    @Test
+    public void metricsCountSupersededValues() {
+        TelemetryMetrics metrics = new TelemetryMetrics();
+        TelemetrySlots slots = new TelemetrySlots(metrics);
+        slots.setAttitude(1, 0, 0, 0);
+        slots.setAttitude(2, 0, 0, 0);
+        slots.take(TelemetryMessageType.ATTITUDE);
+        slots.setAttitude(3, 0, 0, 0);
+
+        TelemetryMetrics.Snapshot snapshot = metrics.getSnapshot();
+        assertEquals(3, snapshot.getOffered(TelemetryMessageType.ATTITUDE));
+        assertEquals(1, snapshot.getSuperseded(TelemetryMessageType.ATTITUDE));
+        assertEquals(0, snapshot.getOffered(TelemetryMessageType.POSITION));
+    }
+
+    @Test
+    public void metricsHistogramPercentiles() {
+        TelemetryMetrics metrics = new TelemetryMetrics();
+        for (int i = 0; i < 99; i++) {
+            metrics.onEncoded(100, 0);
+        }
+        metrics.onEncoded(1000, 0);
+
+        Histogram.Snapshot packetSize = metrics.getSnapshot().getPacketSize();
+        assertEquals(100, packetSize.getCount());
+        assertEquals(1000, packetSize.getMax());
+        assertEquals(128, packetSize.getPercentile(50));
+        assertEquals(1000, packetSize.getPercentile(100));
+    }
+
+    @Test
+    public void samplerFlushesAtMaxLatency() {
+        TelemetryRatePolicy policy = new TelemetryRatePolicy()
+                .setMaxBatchLatency(1, TimeUnit.SECONDS);
+        TelemetrySampler sampler = new TelemetrySampler(slots, policy, sender, scheduler);
+        sampler.start();
+
+        for (int i = 0; i < 5; i++) {
+            slots.setPosition(i, 10, 20, 0, 0, 0);
+            scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(0, batches.size());
+        scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        assertEquals(1, batches.size());
+        assertEquals(5, batches.get(0).size());
+        sampler.stop();
+    }
+
+    @Test
+    public void samplerSplitsBatchesBySize() {
+        // a position is 43 bytes framed, so only two fit
+        TelemetryRatePolicy policy = new TelemetryRatePolicy()
+                .setMaxBatchBytes(100)
+                .setMaxBatchLatency(10, TimeUnit.SECONDS);
+        TelemetrySampler sampler = new TelemetrySampler(slots, policy, sender, scheduler);
+        sampler.start();
+
+        for (int i = 0; i < 3; i++) {
+            slots.setPosition(System.currentTimeMillis(), 34.0159, -118.4958, 50, 120, 2);
+            scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        sampler.stop();
+    }
+
+    @Test
+    public void samplerDownshiftsWhenSocketBacksUp() {
+        TelemetryRatePolicy policy = new TelemetryRatePolicy()
+                .setMaxBatchBytes(1)
+                .setMaxDownshift(4);
+        TelemetrySampler sampler = new TelemetrySampler(slots, policy, sender, scheduler);
+        sampler.start();
+        socketReady = false;
+
+        for (int i = 0; i < 20; i++) {
+            slots.setPosition(i, 10, 20, 0, 0, 0);
+            scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(4, sampler.getDownshift());
+
+        socketReady = true;
+        for (int i = 0; i < 200; i++) {
+            slots.setPosition(i, 10, 20, 0, 0, 0);
+            scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(1, sampler.getDownshift());
+        sampler.stop();
+    }
+
+    @Test
+    public void ratePolicyFitsMtu() {
+        TelemetryRatePolicy policy = new TelemetryRatePolicy().setMtu(576);
+        // 576 - 48 IP/UDP - 86 header leaves 27 AES blocks
+        assertEquals(27 * 16 - 1, policy.getMaxBatchBytes());
+    }
+
+    @Test
+    public void spoolReplaysInOrderAcrossRestarts() throws Exception {
+        File file = File.createTempFile("telemetry", ".spool");
+        file.deleteOnExit();
+        ByteBuffer packet = ByteBuffer.allocate(16 * 1024);
+
+        // 12 packets of ~3kB overflow a 32kB ring, so it wraps and the oldest three are overwritten
+        TelemetrySpool spool = new TelemetrySpool(file, 32 * 1024, new TelemetryMetrics());
+        for (int i = 0; i < 12; i++) {
+            assertTrue(spool.append(spoolPacket(i, 3000 + i), ByteBuffer.allocate(0)));
+        }
+        assertEquals(9, spool.size());
+
+        long sequence = spool.peek(packet);
+        assertEquals(3, packet.getInt(0));
+        spool.remove(sequence);
+        spool.close();
+
+        spool = new TelemetrySpool(file, 32 * 1024, new TelemetryMetrics());
+        for (int i = 4; i < 12; i++) {
+            sequence = spool.peek(packet);
+            assertEquals(i, packet.getInt(0));
+            assertEquals(3000 + i, packet.remaining());
+            spool.remove(sequence);
+        }
+        assertTrue(spool.isEmpty());
+        assertEquals(-1, spool.peek(packet));
+        spool.close();
+    }
+
+    @Test
+    public void spoolIgnoresStaleRemove() throws Exception {
+        File file = File.createTempFile("telemetry", ".spool");
+        file.deleteOnExit();
+        ByteBuffer packet = ByteBuffer.allocate(16 * 1024);
+
+        TelemetrySpool spool = new TelemetrySpool(file, 16 * 1024, new TelemetryMetrics());
+        spool.append(spoolPacket(0, 8000), ByteBuffer.allocate(0));
+        long sequence = spool.peek(packet);
+
+        // overwrites the peeked packet before it's removed
+        spool.append(spoolPacket(1, 9000), ByteBuffer.allocate(0));
+        spool.remove(sequence);
+
+        assertFalse(spool.isEmpty());
+        spool.peek(packet);
+        assertEquals(1, packet.getInt(0));
+        spool.close();
+    }
+
+    @Test
+    public void spoolWrapsWhenRecordEndsAtCapacity() throws Exception {
+        File file = File.createTempFile("telemetry", ".spool");
+        file.deleteOnExit();
+        ByteBuffer packet = ByteBuffer.allocate(16 * 1024);
+
+        // two records of 4 + 8188 bytes fill a 16kB ring exactly
+        TelemetrySpool spool = new TelemetrySpool(file, 16 * 1024, new TelemetryMetrics());
+        assertTrue(spool.append(spoolPacket(0, 8188), ByteBuffer.allocate(0)));
+        assertTrue(spool.append(spoolPacket(1, 8188), ByteBuffer.allocate(0)));
+        assertTrue(spool.append(spoolPacket(2, 100), ByteBuffer.allocate(0)));
+        assertEquals(2, spool.size());
+
+        long sequence = spool.peek(packet);
+        assertEquals(1, packet.getInt(0));
+        spool.remove(sequence);
+        spool.close();
+
+        spool = new TelemetrySpool(file, 16 * 1024, new TelemetryMetrics());
+        assertTrue(spool.append(spoolPacket(3, 8188), ByteBuffer.allocate(0)));
+        for (int i = 2; i < 4; i++) {
+            sequence = spool.peek(packet);
+            assertEquals(i, packet.getInt(0));
+            spool.remove(sequence);
+        }
+        assertTrue(spool.isEmpty());
+        spool.close();
+    }
+
+    @Test
+    public void compactPositionsRoundTrip() {
+        List<Telemetry.Position> positions = new ArrayList<>();
+        long timestamp = 1500000000000L;
+        int positionBytes = 0;
+        for (int i = 0; i < 10; i++) {
+            // crosses the antimeridian halfway through
+            double longitude = 179.9999990 + i * 0.0000003;
+            Telemetry.Position position = Telemetry.Position.newBuilder()
+                    .setTimestamp(timestamp + i * 200)
+                    .setLatitude(34.0159123 + i * 0.0000051)
+                    .setLongitude(longitude > 180 ? longitude - 360 : longitude)
+                    .setAltitudeAgl(50 + i * 0.25f)
+                    .setAltitudeMsl(120 + i * 0.25f)
+                    .setHorizontalAccuracy(2.5f)
+                    .build();
+            positions.add(position);
+            positionBytes += position.getSerializedSize();
+        }
+
+        Telemetry.CompactPositions compact = CompactPositionCodec.encode(positions);
+        assertTrue(compact.getSerializedSize() * 3 < positionBytes);
+
+        List<Telemetry.Position> decoded = CompactPositionCodec.decode(compact);
+        assertEquals(positions.size(), decoded.size());
+        for (int i = 0; i < positions.size(); i++) {
+            assertEquals(positions.get(i).getTimestamp(), decoded.get(i).getTimestamp());
+            assertEquals(positions.get(i).getLatitude(), decoded.get(i).getLatitude(), 1e-7);
+            assertEquals(positions.get(i).getLongitude(), decoded.get(i).getLongitude(), 1e-7);
+            assertEquals(positions.get(i).getAltitudeAgl(), decoded.get(i).getAltitudeAgl(), 0.01);
+            assertEquals(positions.get(i).getHorizontalAccuracy(), decoded.get(i).getHorizontalAccuracy(), 0.01);
+        }
+    }
+
+    private static ByteBuffer spoolPacket(int serialNumber, int size) {
+        ByteBuffer packet = ByteBuffer.allocate(size);
+        packet.putInt(0, serialNumber);
+        return packet;
+    }
+}
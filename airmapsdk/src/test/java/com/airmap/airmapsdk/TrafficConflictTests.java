@@ -0,0 +1,87 @@
+package com.airmap.airmapsdk;
+
+import com.airmap.airmapsdk.models.Coordinate;
+import com.airmap.airmapsdk.models.traffic.AirMapTraffic;
+import com.airmap.airmapsdk.networking.services.TrafficConflictEngine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class TrafficConflictTests {
+
+    private static final double LATITUDE = 34.0;
+    private static final double LONGITUDE = -118.0;
+    // about 1km north of the ownship
+    private static final double ONE_KM_NORTH = LATITUDE + 0.009;
+
+    @Test
+    public void headOnTrafficIsAConflict() {
+        TrafficConflictEngine engine = hoveringOwnship();
+        // 1km north, heading south at about 100 knots
+        AirMapTraffic incoming = traffic("incoming", ONE_KM_NORTH, LONGITUDE, 100, 180, 330);
+
+        assertEquals(1, engine.evaluate(Arrays.asList(incoming), System.currentTimeMillis()));
+        TrafficConflictEngine.Conflict conflict = engine.getConflict(0);
+        assertSame(incoming, conflict.getTraffic());
+        assertEquals(19.4, conflict.getTimeToCpa(), 0.5);
+        assertTrue("Distance at CPA " + conflict.getHorizontalDistance(), conflict.getHorizontalDistance() < 1);
+    }
+
+    @Test
+    public void divergingAndHighTrafficIsNoConflict() {
+        TrafficConflictEngine engine = hoveringOwnship();
+        AirMapTraffic leaving = traffic("leaving", ONE_KM_NORTH, LONGITUDE, 100, 0, 330);
+        AirMapTraffic high = traffic("high", ONE_KM_NORTH, LONGITUDE, 100, 180, 3000);
+
+        assertEquals(0, engine.evaluate(Arrays.asList(leaving, high), System.currentTimeMillis()));
+    }
+
+    @Test
+    public void conflictsAreRankedByTimeToCpa() {
+        TrafficConflictEngine engine = hoveringOwnship();
+        List<AirMapTraffic> traffic = new ArrayList<>();
+        // more targets than the engine starts out holding, the closest last
+        for (int i = 10; i >= 1; i--) {
+            traffic.add(traffic("target" + i, LATITUDE + 0.0009 * i, LONGITUDE, 100, 180, 330));
+        }
+
+        assertEquals(10, engine.evaluate(traffic, System.currentTimeMillis()));
+        assertEquals("target1", engine.getConflict(0).getTraffic().getId());
+        for (int i = 1; i < 10; i++) {
+            assertTrue(engine.getConflict(i - 1).getTimeToCpa() <= engine.getConflict(i).getTimeToCpa());
+        }
+    }
+
+    @Test
+    public void staleOwnshipIsIgnored() {
+        TrafficConflictEngine engine = hoveringOwnship();
+        AirMapTraffic incoming = traffic("incoming", ONE_KM_NORTH, LONGITUDE, 100, 180, 330);
+
+        long later = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        assertEquals(0, engine.evaluate(Arrays.asList(incoming), later));
+    }
+
+    private static TrafficConflictEngine hoveringOwnship() {
+        TrafficConflictEngine engine = new TrafficConflictEngine();
+        engine.setOwnshipPosition(LATITUDE, LONGITUDE, 100);
+        engine.setOwnshipVelocity(0, 0, 0);
+        return engine;
+    }
+
+    private static AirMapTraffic traffic(String id, double latitude, double longitude, int groundSpeedKt, int trueHeading, double altitudeFeet) {
+        return new AirMapTraffic()
+                .setId(id)
+                .setCoordinate(new Coordinate(latitude, longitude))
+                .setGroundSpeedKt(groundSpeedKt)
+                .setTrueHeading(trueHeading)
+                .setAltitude(altitudeFeet);
+    }
+}
@@ -0,0 +1,225 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.AirMapException;
+import com.airmap.airmapsdk.models.airspace.AirMapAirspace;
+import com.airmap.airmapsdk.networking.callbacks.AirMapCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import rx.schedulers.TestScheduler;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class AirspaceBatcherTests {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final StubBatcher batcher = new StubBatcher(scheduler);
+
+    @Test
+    public void idsWithinTheWindowAreFetchedTogether() {
+        batcher.getAirspaces(Arrays.asList("a", "b"), new Recorder());
+        scheduler.advanceTimeBy(AirspaceBatcher.WINDOW_MILLIS - 1, TimeUnit.MILLISECONDS);
+        assertTrue(batcher.fetches.isEmpty());
+
+        batcher.getAirspaces(Arrays.asList("b", "c"), new Recorder());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList("a", "b", "c")), batcher.fetches);
+
+        // a new window starts with the next lookup
+        batcher.getAirspaces(Arrays.asList("d"), new Recorder());
+        scheduler.advanceTimeBy(AirspaceBatcher.WINDOW_MILLIS - 1, TimeUnit.MILLISECONDS);
+        assertEquals(1, batcher.fetches.size());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("d"), batcher.fetches.get(1));
+    }
+
+    @Test
+    public void idsAreFetchedInChunks() {
+        List<String> ids = ids(0, 120);
+        Recorder recorder = new Recorder();
+        batcher.getAirspaces(ids, recorder);
+        flush();
+
+        assertEquals(3, batcher.fetches.size());
+        assertEquals(ids.subList(0, 50), batcher.fetches.get(0));
+        assertEquals(ids.subList(50, 100), batcher.fetches.get(1));
+        assertEquals(ids.subList(100, 120), batcher.fetches.get(2));
+
+        // the caller completes with the last chunk, in any order
+        complete(2);
+        complete(0);
+        assertNull(recorder.airspaces);
+        complete(1);
+        assertEquals(ids, idsOf(recorder.airspaces));
+    }
+
+    @Test
+    public void idsInFlightAreJoined() {
+        Recorder first = new Recorder();
+        batcher.getAirspaces(Arrays.asList("a", "b"), first);
+        flush();
+
+        Recorder second = new Recorder();
+        batcher.getAirspaces(Arrays.asList("b", "c"), second);
+        flush();
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c")), batcher.fetches);
+
+        complete(1);
+        assertNull(second.airspaces);
+        complete(0);
+        assertEquals(Arrays.asList("a", "b"), idsOf(first.airspaces));
+        assertEquals(Arrays.asList("b", "c"), idsOf(second.airspaces));
+
+        // fetched airspaces are cached
+        Recorder third = new Recorder();
+        batcher.getAirspaces(Arrays.asList("c", "a"), third);
+        assertEquals(Arrays.asList("c", "a"), idsOf(third.airspaces));
+        flush();
+        assertEquals(2, batcher.fetches.size());
+    }
+
+    @Test
+    public void eachCallerGetsItsOwnOrder() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        batcher.getAirspaces(Arrays.asList("c", "unknown", "a", "b"), first);
+        batcher.getAirspaces(Arrays.asList("b", "a"), second);
+        flush();
+
+        batcher.onFetched(batcher.fetches.get(0), airspaces("a", "b", "c"));
+        // ids the server doesn't know are left out
+        assertEquals(Arrays.asList("c", "a", "b"), idsOf(first.airspaces));
+        assertEquals(Arrays.asList("b", "a"), idsOf(second.airspaces));
+    }
+
+    @Test
+    public void aFailedChunkFailsEveryCallerThatAskedForIt() {
+        Recorder all = new Recorder();
+        Recorder second = new Recorder();
+        Recorder first = new Recorder();
+        batcher.getAirspaces(ids(0, 60), all);
+        batcher.getAirspaces(ids(55, 56), second);
+        batcher.getAirspaces(ids(5, 6), first);
+        flush();
+        assertEquals(2, batcher.fetches.size());
+
+        AirMapException error = new AirMapException("Server error");
+        batcher.onFetchFailed(batcher.fetches.get(1), error);
+        assertSame(error, all.error);
+        assertSame(error, second.error);
+        assertNull(first.error);
+        assertNull(first.airspaces);
+
+        complete(0);
+        assertEquals(ids(5, 6), idsOf(first.airspaces));
+        // a failed caller isn't completed again
+        assertNull(all.airspaces);
+        assertEquals(1, all.calls);
+    }
+
+    @Test
+    public void cancelDetachesOnlyThatCaller() {
+        Recorder canceled = new Recorder();
+        Recorder other = new Recorder();
+        Call call = batcher.getAirspaces(Arrays.asList("a", "b"), canceled);
+        batcher.getAirspaces(Arrays.asList("a"), other);
+        flush();
+
+        call.cancel();
+        assertTrue(call.isCanceled());
+        complete(0);
+        assertEquals(0, canceled.calls);
+        assertEquals(Arrays.asList("a"), idsOf(other.airspaces));
+
+        // the canceled caller's ids were still fetched and cached
+        Recorder later = new Recorder();
+        batcher.getAirspaces(Arrays.asList("b"), later);
+        assertEquals(Arrays.asList("b"), idsOf(later.airspaces));
+    }
+
+    private void flush() {
+        scheduler.advanceTimeBy(AirspaceBatcher.WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Completes the fetch with an airspace for every id
+     */
+    private void complete(int fetch) {
+        List<String> ids = batcher.fetches.get(fetch);
+        batcher.onFetched(ids, airspaces(ids.toArray(new String[ids.size()])));
+    }
+
+    private static List<String> ids(int from, int to) {
+        List<String> ids = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ids.add("airspace" + i);
+        }
+        return ids;
+    }
+
+    private static List<AirMapAirspace> airspaces(String... ids) {
+        List<AirMapAirspace> airspaces = new ArrayList<>();
+        for (String id : ids) {
+            AirMapAirspace airspace = new AirMapAirspace();
+            airspace.setAirspaceId(id);
+            airspaces.add(airspace);
+        }
+        return airspaces;
+    }
+
+    private static List<String> idsOf(List<AirMapAirspace> airspaces) {
+        List<String> ids = new ArrayList<>();
+        for (AirMapAirspace airspace : airspaces) {
+            ids.add(airspace.getAirspaceId());
+        }
+        return ids;
+    }
+
+    /**
+     * Records the fetched chunks instead of requesting them
+     */
+    private static class StubBatcher extends AirspaceBatcher {
+        final List<List<String>> fetches = new ArrayList<>();
+
+        StubBatcher(TestScheduler scheduler) {
+            super("https://api.airmap.com/airspace/v2/", scheduler);
+        }
+
+        @Override
+        void fetch(List<String> ids) {
+            fetches.add(ids);
+        }
+    }
+
+    private static class Recorder extends AirMapCallback<List<AirMapAirspace>> {
+        List<AirMapAirspace> airspaces;
+        AirMapException error;
+        int calls;
+
+        @Override
+        protected void onSuccess(List<AirMapAirspace> response) {
+            airspaces = response;
+            calls++;
+        }
+
+        @Override
+        protected void onError(AirMapException e) {
+            error = e;
+            calls++;
+        }
+
+        @Override
+        protected boolean isPostedToMainThread() {
+            return false;
+        }
+    }
+}
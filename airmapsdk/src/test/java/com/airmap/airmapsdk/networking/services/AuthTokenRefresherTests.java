@@ -0,0 +1,200 @@
+package com.airmap.airmapsdk.networking.services;
+
+import org.jose4j.base64url.Base64Url;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.schedulers.TestScheduler;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class AuthTokenRefresherTests {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final FakeAuth auth = new FakeAuth();
+    private final CountingRefresher refresher = new CountingRefresher(auth, scheduler);
+
+    @Test
+    public void expiryIsDecodedOncePerToken() {
+        auth.token = token(TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(auth.token, refresher.getFreshToken());
+            assertTrue(refresher.isValid(auth.token));
+        }
+        assertEquals(1, refresher.decodes.get());
+
+        auth.token = token(TimeUnit.HOURS.toMillis(2));
+        refresher.getFreshToken();
+        assertEquals(2, refresher.decodes.get());
+        assertEquals(0, auth.refreshes.get());
+    }
+
+    @Test
+    public void tokensAboutToExpireAreRefreshedInTheBackground() {
+        String expiring = token(TimeUnit.MINUTES.toMillis(1));
+        auth.token = expiring;
+        auth.nextToken = token(TimeUnit.HOURS.toMillis(1));
+
+        // requests keep using the token until the refresh is done, which only runs once
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expiring, refresher.getFreshToken());
+        }
+        assertEquals(0, auth.refreshes.get());
+
+        scheduler.triggerActions();
+        assertEquals(1, auth.refreshes.get());
+        assertEquals(auth.nextToken, refresher.getFreshToken());
+    }
+
+    @Test
+    public void tokensAreRefreshedTwoMinutesEarly() {
+        auth.token = token(AuthTokenRefresher.REFRESH_WINDOW_MILLIS + TimeUnit.SECONDS.toMillis(10));
+        auth.nextToken = token(TimeUnit.HOURS.toMillis(1));
+
+        refresher.getFreshToken();
+        scheduler.triggerActions();
+        assertEquals(0, auth.refreshes.get());
+
+        scheduler.advanceTimeBy(11, TimeUnit.SECONDS);
+        refresher.getFreshToken();
+        scheduler.triggerActions();
+        assertEquals(1, auth.refreshes.get());
+    }
+
+    @Test
+    public void expiredTokensAreRefreshedBeforeUse() {
+        auth.token = token(-1);
+        auth.nextToken = token(TimeUnit.HOURS.toMillis(1));
+        assertFalse(refresher.isValid(auth.token));
+
+        assertEquals(auth.nextToken, refresher.getFreshToken());
+        assertEquals(1, auth.refreshes.get());
+    }
+
+    @Test
+    public void failedRefreshesAreNotRetriedForThirtySeconds() {
+        String expired = token(-1);
+        auth.token = expired;
+        // the refresh fails, the token stays the same
+        auth.nextToken = expired;
+
+        assertEquals(expired, refresher.getFreshToken());
+        assertEquals(expired, refresher.getFreshToken());
+        assertEquals(1, auth.refreshes.get());
+
+        scheduler.advanceTimeBy(29, TimeUnit.SECONDS);
+        refresher.getFreshToken();
+        assertEquals(1, auth.refreshes.get());
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        auth.nextToken = token(TimeUnit.HOURS.toMillis(1));
+        assertEquals(auth.nextToken, refresher.getFreshToken());
+        assertEquals(2, auth.refreshes.get());
+    }
+
+    @Test
+    public void concurrentCallersShareOneRefresh() throws InterruptedException {
+        auth.token = token(-1);
+        auth.nextToken = token(TimeUnit.HOURS.toMillis(1));
+        // keeps the refresh running while the other callers arrive
+        auth.refreshMillis = 100;
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<String> tokens = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    String token = refresher.getFreshToken();
+                    synchronized (tokens) {
+                        tokens.add(token);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertEquals(1, auth.refreshes.get());
+        assertEquals(8, tokens.size());
+        for (String token : tokens) {
+            assertEquals(auth.nextToken, token);
+        }
+    }
+
+    /**
+     * @return an unsigned token that expires this long after the scheduler's now
+     */
+    private String token(long expiresInMillis) {
+        long expiry = (scheduler.now() + expiresInMillis) / 1000;
+        return Base64Url.encodeUtf8ByteRepresentation("{\"alg\":\"none\"}") + "."
+                + Base64Url.encodeUtf8ByteRepresentation("{\"sub\":\"pilot\",\"exp\":" + expiry + "}") + ".";
+    }
+
+    private static class FakeAuth {
+        final AtomicInteger refreshes = new AtomicInteger();
+        volatile String token;
+        volatile String nextToken;
+        volatile long refreshMillis;
+
+        Func0<String> tokenSource() {
+            return new Func0<String>() {
+                @Override
+                public String call() {
+                    return token;
+                }
+            };
+        }
+
+        Action0 refresh() {
+            return new Action0() {
+                @Override
+                public void call() {
+                    refreshes.incrementAndGet();
+                    if (refreshMillis > 0) {
+                        try {
+                            Thread.sleep(refreshMillis);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    token = nextToken;
+                }
+            };
+        }
+    }
+
+    private static class CountingRefresher extends AuthTokenRefresher {
+        final AtomicInteger decodes = new AtomicInteger();
+
+        CountingRefresher(FakeAuth auth, TestScheduler scheduler) {
+            super(auth.tokenSource(), auth.refresh(), scheduler);
+        }
+
+        @Override
+        long decodeExpiryMillis(String token) {
+            decodes.incrementAndGet();
+            return super.decodeExpiryMillis(token);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.airmap.airmapsdk.networking.services;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class CoalescedCallsTests {
+
+    private static final String URL = "https://api.airmap.com/status/v2/point";
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private final CoalescedCalls coalescedCalls = new CoalescedCalls();
+    private final FakeClient client = new FakeClient();
+
+    @Test
+    public void everyWaiterGetsACopyOfTheBody() throws IOException {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        Recorder third = new Recorder();
+        coalescedCalls.enqueue(client, get(), first);
+        coalescedCalls.enqueue(client, get(), second);
+        coalescedCalls.enqueue(client, get(), third);
+        assertEquals(1, client.calls.size());
+
+        client.calls.get(0).respond("{\"status\":\"success\"}");
+        assertEquals("{\"status\":\"success\"}", first.body);
+        assertEquals("{\"status\":\"success\"}", second.body);
+        assertEquals("{\"status\":\"success\"}", third.body);
+    }
+
+    @Test
+    public void differentBodiesAreNotCoalesced() {
+        coalescedCalls.enqueue(client, post("{\"a\":1}"), new Recorder());
+        coalescedCalls.enqueue(client, post("{\"a\":2}"), new Recorder());
+        coalescedCalls.enqueue(client, post("{\"a\":1}"), new Recorder());
+        assertEquals(2, client.calls.size());
+    }
+
+    @Test
+    public void theSharedCallIsCanceledOnceEveryWaiterAbandonedIt() throws IOException {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        Call firstCall = coalescedCalls.enqueue(client, get(), first);
+        Call secondCall = coalescedCalls.enqueue(client, get(), second);
+        FakeCall shared = client.calls.get(0);
+
+        firstCall.cancel();
+        assertTrue(firstCall.isCanceled());
+        assertFalse(shared.isCanceled());
+
+        secondCall.cancel();
+        assertTrue(shared.isCanceled());
+
+        // an abandoned call isn't joined
+        coalescedCalls.enqueue(client, get(), new Recorder());
+        assertEquals(2, client.calls.size());
+    }
+
+    @Test
+    public void aCanceledWaiterDoesNotGetTheResponse() throws IOException {
+        Recorder canceled = new Recorder();
+        Recorder waiting = new Recorder();
+        Call canceledCall = coalescedCalls.enqueue(client, get(), canceled);
+        coalescedCalls.enqueue(client, get(), waiting);
+        canceledCall.cancel();
+        FakeCall shared = client.calls.get(0);
+        assertFalse(shared.isCanceled());
+
+        shared.respond("{}");
+        assertNull(canceled.body);
+        assertNotNull(canceled.failure);
+        assertEquals("{}", waiting.body);
+    }
+
+    @Test
+    public void aLateJoinerStartsAFreshCall() throws IOException {
+        Recorder first = new Recorder();
+        coalescedCalls.enqueue(client, get(), first);
+        client.calls.get(0).respond("{\"n\":1}");
+        assertEquals("{\"n\":1}", first.body);
+
+        Recorder late = new Recorder();
+        coalescedCalls.enqueue(client, get(), late);
+        assertEquals(2, client.calls.size());
+        assertNull(late.body);
+
+        client.calls.get(1).respond("{\"n\":2}");
+        assertEquals("{\"n\":2}", late.body);
+    }
+
+    @Test
+    public void failuresReachEveryWaiter() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        coalescedCalls.enqueue(client, get(), first);
+        coalescedCalls.enqueue(client, get(), second);
+
+        IOException e = new IOException("timeout");
+        client.calls.get(0).fail(e);
+        assertEquals(e, first.failure);
+        assertEquals(e, second.failure);
+    }
+
+    private static Request get() {
+        return new Request.Builder().url(URL).get().build();
+    }
+
+    private static Request post(String body) {
+        return new Request.Builder().url(URL).post(RequestBody.create(JSON, body)).build();
+    }
+
+    private static class FakeClient implements Call.Factory {
+        final List<FakeCall> calls = new ArrayList<>();
+
+        @Override
+        public Call newCall(Request request) {
+            FakeCall call = new FakeCall(request);
+            calls.add(call);
+            return call;
+        }
+    }
+
+    /**
+     * A call that is answered by the test
+     */
+    private static class FakeCall implements Call {
+        private final Request request;
+        private Callback callback;
+        private boolean canceled;
+
+        FakeCall(Request request) {
+            this.request = request;
+        }
+
+        void respond(String body) throws IOException {
+            callback.onResponse(this, new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(JSON, body))
+                    .build());
+        }
+
+        void fail(IOException e) {
+            callback.onFailure(this, e);
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback responseCallback) {
+            callback = responseCallback;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return callback != null;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call clone() {
+            return new FakeCall(request);
+        }
+    }
+
+    private static class Recorder implements Callback {
+        String body;
+        IOException failure;
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            failure = e;
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+            body = response.body().string();
+        }
+    }
+}
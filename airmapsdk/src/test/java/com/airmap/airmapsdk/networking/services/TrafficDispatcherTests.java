@@ -0,0 +1,186 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.models.traffic.AirMapTraffic;
+import com.airmap.airmapsdk.networking.callbacks.AirMapTrafficListener;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import rx.schedulers.TestScheduler;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+public class TrafficDispatcherTests {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final Recorder listener = new Recorder();
+    private final TrafficDispatcher dispatcher = new TrafficDispatcher(
+            new CopyOnWriteArrayList<AirMapTrafficListener>(Collections.singletonList(listener)), new TestScheduler());
+
+    @Before
+    public void setUp() {
+        dispatcher.setScheduler(scheduler);
+    }
+
+    @Test
+    public void changesAreDeliveredOncePerFrame() {
+        dispatcher.added(list(traffic("A")));
+        dispatcher.added(list(traffic("B")));
+        scheduler.advanceTimeBy(TrafficDispatcher.DEFAULT_FRAME_MILLIS - 1, TimeUnit.MILLISECONDS);
+        assertTrue(listener.events.isEmpty());
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("add A B"), listener.events);
+
+        // the next change starts a new frame
+        dispatcher.updated(list(traffic("A")));
+        scheduler.advanceTimeBy(TrafficDispatcher.DEFAULT_FRAME_MILLIS, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("add A B", "update A"), listener.events);
+    }
+
+    @Test
+    public void addedThenRemovedCancelsOut() {
+        AirMapTraffic target = traffic("A");
+        dispatcher.added(list(target));
+        dispatcher.updated(list(target));
+        dispatcher.removed(list(target));
+        frame();
+        assertTrue(listener.events.isEmpty());
+    }
+
+    @Test
+    public void removedThenAddedIsAnUpdate() {
+        AirMapTraffic removed = traffic("A");
+        AirMapTraffic added = traffic("A");
+        dispatcher.removed(list(removed));
+        dispatcher.added(list(added));
+        frame();
+        assertEquals(Arrays.asList("update A"), listener.events);
+        assertSame(added, listener.lastUpdated.get(0));
+    }
+
+    @Test
+    public void updatedThenRemovedIsARemove() {
+        AirMapTraffic target = traffic("A");
+        dispatcher.updated(list(target));
+        dispatcher.removed(list(target));
+        frame();
+        assertEquals(Arrays.asList("remove A"), listener.events);
+    }
+
+    @Test
+    public void theLatestStateIsDelivered() {
+        AirMapTraffic first = traffic("A");
+        AirMapTraffic second = traffic("A");
+        AirMapTraffic later = traffic("A");
+        dispatcher.updated(list(first));
+        dispatcher.updated(list(second));
+        frame();
+        assertEquals(Arrays.asList("update A"), listener.events);
+        assertSame(second, listener.lastUpdated.get(0));
+
+        // an update of traffic added in the same frame is still an add
+        dispatcher.added(list(traffic("B")));
+        AirMapTraffic updated = traffic("B");
+        dispatcher.updated(list(updated));
+        dispatcher.updated(list(later));
+        frame();
+        assertEquals(Arrays.asList("update A", "add B", "update A"), listener.events);
+        assertSame(updated, listener.lastAdded.get(0));
+        assertSame(later, listener.lastUpdated.get(0));
+    }
+
+    @Test
+    public void addedAreDeliveredBeforeUpdatedBeforeRemoved() {
+        dispatcher.removed(list(traffic("C")));
+        dispatcher.updated(list(traffic("B")));
+        dispatcher.added(list(traffic("A")));
+        frame();
+        assertEquals(Arrays.asList("add A", "update B", "remove C"), listener.events);
+
+        try {
+            listener.lastAdded.add(traffic("D"));
+            fail("Listeners can change the delivered lists");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void pendingChangesMoveToTheNewScheduler() {
+        dispatcher.added(list(traffic("A")));
+        TestScheduler other = new TestScheduler();
+        dispatcher.setScheduler(other);
+
+        frame();
+        assertTrue(listener.events.isEmpty());
+        other.advanceTimeBy(TrafficDispatcher.DEFAULT_FRAME_MILLIS, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList("add A"), listener.events);
+    }
+
+    @Test
+    public void theFrameIntervalCanBeChanged() {
+        dispatcher.setFrameInterval(1, TimeUnit.SECONDS);
+        dispatcher.added(list(traffic("A")));
+        frame();
+        assertTrue(listener.events.isEmpty());
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("add A"), listener.events);
+    }
+
+    private void frame() {
+        scheduler.advanceTimeBy(TrafficDispatcher.DEFAULT_FRAME_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static AirMapTraffic traffic(String id) {
+        return new AirMapTraffic().setId(id);
+    }
+
+    private static List<AirMapTraffic> list(AirMapTraffic... traffic) {
+        return Arrays.asList(traffic);
+    }
+
+    /**
+     * Records each delivery as its kind followed by the traffic ids
+     */
+    private static class Recorder implements AirMapTrafficListener {
+        final List<String> events = new ArrayList<>();
+        List<AirMapTraffic> lastAdded;
+        List<AirMapTraffic> lastUpdated;
+
+        @Override
+        public void onAddTraffic(List<AirMapTraffic> added) {
+            lastAdded = added;
+            record("add", added);
+        }
+
+        @Override
+        public void onUpdateTraffic(List<AirMapTraffic> updated) {
+            lastUpdated = updated;
+            record("update", updated);
+        }
+
+        @Override
+        public void onRemoveTraffic(List<AirMapTraffic> removed) {
+            record("remove", removed);
+        }
+
+        private void record(String kind, List<AirMapTraffic> traffic) {
+            StringBuilder event = new StringBuilder(kind);
+            for (AirMapTraffic target : traffic) {
+                event.append(' ').append(target.getId());
+            }
+            events.add(event.toString());
+        }
+    }
+}
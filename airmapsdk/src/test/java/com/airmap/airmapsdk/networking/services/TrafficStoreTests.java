@@ -0,0 +1,87 @@
+package com.airmap.airmapsdk.networking.services;
+
+import com.airmap.airmapsdk.models.Coordinate;
+import com.airmap.airmapsdk.models.traffic.AirMapTraffic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import rx.functions.Action1;
+import rx.schedulers.TestScheduler;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class TrafficStoreTests {
+
+    private static final long T0 = 1500000000000L;
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final List<AirMapTraffic> expired = new ArrayList<>();
+    private final TrafficStore store = new TrafficStore(scheduler, new Action1<List<AirMapTraffic>>() {
+        @Override
+        public void call(List<AirMapTraffic> traffic) {
+            expired.addAll(traffic);
+        }
+    });
+
+    @Test
+    public void updatedTrafficOutlivesItsFirstExpiry() {
+        assertTrue(store.put(traffic("N123", T0)));
+        AirMapTraffic update = traffic("N123", T0 + TimeUnit.SECONDS.toMillis(29));
+        assertFalse(store.put(update));
+
+        // the first arrival's expiry is due, the update's isn't
+        assertTrue(store.removeExpired(T0 + TimeUnit.SECONDS.toMillis(31)).isEmpty());
+        assertEquals(1, store.size());
+        assertSame(update, store.snapshot().get(0));
+
+        List<AirMapTraffic> removed = store.removeExpired(T0 + TimeUnit.SECONDS.toMillis(60));
+        assertEquals(1, removed.size());
+        assertSame(update, removed.get(0));
+        assertEquals(0, store.size());
+        assertTrue(store.snapshot().isEmpty());
+    }
+
+    @Test
+    public void trafficExpiresWithoutBeingAsked() {
+        AirMapTraffic first = traffic("N123", scheduler.now());
+        store.put(first);
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        AirMapTraffic second = traffic("N456", scheduler.now());
+        store.put(second);
+        AirMapTraffic update = traffic("N456", scheduler.now() + TimeUnit.SECONDS.toMillis(10));
+        store.put(update);
+
+        scheduler.advanceTimeBy(TrafficStore.EXPIRY_MILLIS - TimeUnit.SECONDS.toMillis(10), TimeUnit.MILLISECONDS);
+        assertTrue(expired.isEmpty());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(1, expired.size());
+        assertSame(first, expired.get(0));
+
+        // the update outlives the second arrival's expiry
+        scheduler.advanceTimeBy(TimeUnit.SECONDS.toMillis(10), TimeUnit.MILLISECONDS);
+        assertEquals(1, store.size());
+        scheduler.advanceTimeBy(TimeUnit.SECONDS.toMillis(10), TimeUnit.MILLISECONDS);
+        assertEquals(2, expired.size());
+        assertSame(update, expired.get(1));
+        assertEquals(0, store.size());
+
+        // nothing is left to check
+        scheduler.advanceTimeBy(1, TimeUnit.HOURS);
+        assertEquals(2, expired.size());
+    }
+
+    private static AirMapTraffic traffic(String id, long incomingTime) {
+        return new AirMapTraffic()
+                .setId(id)
+                .setCoordinate(new Coordinate(34, -118))
+                .setIncomingTime(new Date(incomingTime));
+    }
+}